@@ -0,0 +1,154 @@
+package jogo8.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import jogo8.model.Busca;
+import jogo8.model.impl.BuscaAmplitude;
+import jogo8.model.impl.BuscaBidirecional;
+import jogo8.model.impl.BuscaProfundidade;
+import jogo8.model.impl.BuscaProfundidadeIterativa;
+import jogo8.model.impl.BuscaProfundidadeLimitada;
+import jogo8.model.impl.jogo8.BancoPadroes;
+import jogo8.model.impl.jogo8.BuscaARAEstrela;
+import jogo8.model.impl.jogo8.BuscaAmplitudeParalela;
+import jogo8.model.impl.jogo8.BuscaHDAEstrela;
+import jogo8.model.impl.jogo8.BuscaIDAEstrela;
+import jogo8.model.impl.jogo8.HeuristicaBancoPadroes;
+import jogo8.model.impl.jogo8.HeuristicaConflitoLinear;
+import jogo8.model.impl.jogo8.HeuristicaDistanciaCaminhada;
+import jogo8.model.impl.jogo8.HeuristicaManhattan;
+import jogo8.model.impl.jogo8.HeuristicaPosicaoIncorretas;
+import jogo8.model.impl.jogo8.Jogo8;
+import jogo8.model.impl.jogo8.TabelaDistancias;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Mede a execucao completa de cada {@link Busca} sobre um grupo do corpus do
+ * Jogo do 8. Cada operacao e a resolucao de uma instancia, incluindo a
+ * construcao da busca. A opcao <code>tabela</code> mede a resolucao pela
+ * {@link TabelaDistancias}, gerada na preparacao.
+ * 
+ * @author Jonathan Henrique de Souza
+ * 
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@OperationsPerInvocation(Corpus.INSTANCIAS_POR_GRUPO)
+public class BuscaBenchmark {
+
+	/**
+	 * Busca medida.
+	 */
+	@Param({ "amplitude", "profundidade", "posicoes", "manhattan", "bancopadroes", "idaestrela", "amplitudeparalela", "hdaestrela", "bidirecional", "profundidadelimitada", "aprofundamentoiterativo", "araestrela", "tabela", "conflitolinear", "caminhada" })
+	public String busca;
+
+	/**
+	 * Profundidade da solucao otima das instancias.
+	 */
+	@Param({ "8", "14", "20" })
+	public int profundidade;
+
+	private Jogo8 estadoFinal;
+
+	private Jogo8[] estados;
+
+	/**
+	 * Bancos de padroes 4-4 do Jogo do 8, utilizados pela busca
+	 * <code>bancopadroes</code>.
+	 */
+	private BancoPadroes[] bancos;
+
+	/**
+	 * Tabela de distancias do Jogo do 8, utilizada pela opcao
+	 * <code>tabela</code>.
+	 */
+	private TabelaDistancias tabela;
+
+	@Setup
+	public void preparar() {
+		List<Integer[][]> instancias = Corpus.gerar(Jogo8.DIMENSAO_PADRAO, profundidade);
+		estadoFinal = new Jogo8(null, Corpus.criarEstadoFinal(Jogo8.DIMENSAO_PADRAO));
+
+		estados = new Jogo8[instancias.size()];
+
+		for (int i = 0; i < estados.length; i++) {
+			estados[i] = new Jogo8(null, instancias.get(i));
+		}
+
+		if ("bancopadroes".equals(busca)) {
+			bancos = new BancoPadroes[] { BancoPadroes.gerar(estadoFinal, new int[] { 1, 2, 3, 4 }), BancoPadroes.gerar(estadoFinal, new int[] { 5, 6, 7, 8 }) };
+		}
+
+		if ("tabela".equals(busca)) {
+			tabela = TabelaDistancias.gerar(estadoFinal);
+		}
+	}
+
+	@Benchmark
+	public void executar(Blackhole blackhole) {
+		if (tabela != null) {
+			for (Jogo8 estado : estados) {
+				blackhole.consume(tabela.resolver(estado));
+			}
+			return;
+		}
+
+		for (Jogo8 estado : estados) {
+			blackhole.consume(criarBusca(estado).executar());
+		}
+	}
+
+	private Busca criarBusca(Jogo8 estadoInicial) {
+		if ("amplitude".equals(busca)) {
+			return new BuscaAmplitude(estadoInicial, estadoFinal);
+		} else if ("profundidade".equals(busca)) {
+			return new BuscaProfundidade(estadoInicial, estadoFinal);
+		} else if ("posicoes".equals(busca)) {
+			return new HeuristicaPosicaoIncorretas(estadoInicial, estadoFinal);
+		} else if ("manhattan".equals(busca)) {
+			return new HeuristicaManhattan(estadoInicial, estadoFinal);
+		} else if ("bancopadroes".equals(busca)) {
+			return new HeuristicaBancoPadroes(estadoInicial, estadoFinal, bancos);
+		} else if ("idaestrela".equals(busca)) {
+			return new BuscaIDAEstrela(new HeuristicaManhattan(estadoInicial, estadoFinal));
+		} else if ("amplitudeparalela".equals(busca)) {
+			return new BuscaAmplitudeParalela(estadoInicial, estadoFinal, Runtime.getRuntime().availableProcessors());
+		} else if ("hdaestrela".equals(busca)) {
+			return new BuscaHDAEstrela(new HeuristicaManhattan(estadoInicial, estadoFinal), Runtime.getRuntime().availableProcessors());
+		} else if ("bidirecional".equals(busca)) {
+			return new BuscaBidirecional(estadoInicial, estadoFinal);
+		} else if ("profundidadelimitada".equals(busca)) {
+			// Limitada a profundidade da solucao otima das instancias
+			return new BuscaProfundidadeLimitada(estadoInicial, estadoFinal, profundidade);
+		} else if ("aprofundamentoiterativo".equals(busca)) {
+			return new BuscaProfundidadeIterativa(estadoInicial, estadoFinal);
+		} else if ("araestrela".equals(busca)) {
+			return new BuscaARAEstrela(new HeuristicaManhattan(estadoInicial, estadoFinal));
+		} else if ("conflitolinear".equals(busca)) {
+			return new HeuristicaConflitoLinear(estadoInicial, estadoFinal);
+		} else if ("caminhada".equals(busca)) {
+			return new HeuristicaDistanciaCaminhada(estadoInicial, estadoFinal);
+		}
+
+		throw new IllegalArgumentException("Busca desconhecida: " + busca);
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,111 @@
+package jogo8.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import jogo8.model.Estado;
+import jogo8.model.impl.jogo8.HeuristicaManhattan;
+import jogo8.model.impl.jogo8.Jogo8;
+import jogo8.util.MatrizUtils;
+
+/**
+ * Conjunto fixo de instancias do Jogo do 8 utilizado pelos benchmarks. As
+ * instancias sao geradas por caminhadas aleatorias a partir do estado final,
+ * com semente fixa, e agrupadas pela profundidade da solucao otima. Assim,
+ * todas as execucoes medem exatamente os mesmos tabuleiros.
+ * 
+ * @author Jonathan Henrique de Souza
+ * 
+ */
+public final class Corpus {
+
+	/**
+	 * Semente utilizada na geracao das instancias.
+	 */
+	public static final long SEMENTE = 0x4A6F676F38L;
+
+	/**
+	 * Quantidade de instancias de cada grupo.
+	 */
+	public static final int INSTANCIAS_POR_GRUPO = 8;
+
+	private Corpus() {
+	}
+
+	/**
+	 * Retorna o estado final utilizado por todas as instancias do corpus.
+	 * 
+	 * @param dimensao
+	 *            A dimensao do tabuleiro.
+	 * @return Uma nova matriz com o estado final.
+	 */
+	public static Integer[][] criarEstadoFinal(int dimensao) {
+		return MatrizUtils.criarEstadoFinal(dimensao);
+	}
+
+	/**
+	 * Gera as instancias de um grupo. Para a mesma dimensao e profundidade, o
+	 * resultado e sempre o mesmo.
+	 * 
+	 * @param dimensao
+	 *            A dimensao do tabuleiro.
+	 * @param profundidade
+	 *            A profundidade da solucao otima de todas as instancias.
+	 * @return As matrizes iniciais do grupo.
+	 */
+	public static List<Integer[][]> gerar(int dimensao, int profundidade) {
+		Jogo8 estadoFinal = new Jogo8(null, Corpus.criarEstadoFinal(dimensao));
+
+		// A semente depende do grupo para que grupos diferentes nao
+		// compartilhem o inicio da sequencia
+		Random random = new Random(SEMENTE ^ (dimensao * 31L + profundidade));
+
+		List<Integer[][]> instancias = new ArrayList<Integer[][]>(INSTANCIAS_POR_GRUPO);
+
+		while (instancias.size() < INSTANCIAS_POR_GRUPO) {
+			// Caminhar entre 1x e 3x a profundidade desejada
+			int passos = profundidade + random.nextInt(2 * profundidade + 1);
+			Integer[][] matriz = Corpus.caminhar(estadoFinal, passos, random).getMatriz();
+
+			if (Corpus.calcularProfundidade(matriz, estadoFinal) == profundidade) {
+				instancias.add(matriz);
+			}
+		}
+
+		return instancias;
+	}
+
+	/**
+	 * Realiza uma caminhada aleatoria sem desfazer o movimento anterior.
+	 */
+	private static Jogo8 caminhar(Jogo8 origem, int passos, Random random) {
+		Jogo8 atual = origem;
+		int posVazioAnterior = -1;
+
+		for (int i = 0; i < passos; i++) {
+			List<Estado> filhos = new ArrayList<Estado>(atual.aplicarOperadores());
+			Jogo8 proximo;
+
+			do {
+				proximo = (Jogo8) filhos.get(random.nextInt(filhos.size()));
+			} while (proximo.getPosVazio() == posVazioAnterior);
+
+			posVazioAnterior = atual.getPosVazio();
+			atual = proximo;
+		}
+
+		return atual;
+	}
+
+	/**
+	 * Calcula a profundidade da solucao otima com A* e a distancia Manhattan.
+	 */
+	private static int calcularProfundidade(Integer[][] matriz, Jogo8 estadoFinal) {
+		Jogo8 inicial = new Jogo8(null, matriz);
+		Jogo8 solucao = (Jogo8) new HeuristicaManhattan(inicial, estadoFinal).executar();
+
+		return solucao.getFuncaoG();
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,89 @@
+package jogo8.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import jogo8.model.impl.jogo8.Jogo8;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Mede as operacoes basicas de um {@link Jogo8}: geracao de sucessores,
+ * <code>hashCode</code> e <code>equals</code>.
+ * 
+ * @author Jonathan Henrique de Souza
+ * 
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@OperationsPerInvocation(Corpus.INSTANCIAS_POR_GRUPO)
+public class EstadoBenchmark {
+
+	/**
+	 * Dimensao do tabuleiro.
+	 */
+	@Param({ "3", "4" })
+	public int dimensao;
+
+	/**
+	 * Estados medidos.
+	 */
+	private Jogo8[] estados;
+
+	/**
+	 * Copias independentes de {@link #estados}, utilizadas pelo
+	 * <code>equals</code>.
+	 */
+	private Jogo8[] copias;
+
+	@Setup
+	public void preparar() {
+		List<Integer[][]> instancias = Corpus.gerar(dimensao, 12);
+
+		estados = new Jogo8[instancias.size()];
+		copias = new Jogo8[instancias.size()];
+
+		for (int i = 0; i < estados.length; i++) {
+			estados[i] = new Jogo8(null, instancias.get(i));
+			copias[i] = new Jogo8(null, instancias.get(i));
+		}
+	}
+
+	@Benchmark
+	public void aplicarOperadores(Blackhole blackhole) {
+		for (Jogo8 estado : estados) {
+			blackhole.consume(estado.aplicarOperadores());
+		}
+	}
+
+	@Benchmark
+	public void hashCode(Blackhole blackhole) {
+		for (Jogo8 estado : estados) {
+			blackhole.consume(estado.hashCode());
+		}
+	}
+
+	@Benchmark
+	public void equals(Blackhole blackhole) {
+		for (int i = 0; i < estados.length; i++) {
+			blackhole.consume(estados[i].equals(copias[i]));
+		}
+	}
+
+}
\ No newline at end of file
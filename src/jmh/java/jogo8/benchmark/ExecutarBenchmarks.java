@@ -0,0 +1,39 @@
+package jogo8.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Executa os benchmarks com o profiler de GC habilitado, para que cada
+ * resultado informe tanto a vazao quanto a taxa de alocacao
+ * (<code>gc.alloc.rate.norm</code>). Os argumentos sao os mesmos aceitos pela
+ * linha de comando do JMH, por exemplo <code>BuscaBenchmark -p
+ * busca=manhattan</code>.
+ * 
+ * @author Jonathan Henrique de Souza
+ * 
+ */
+public class ExecutarBenchmarks {
+
+	/**
+	 * Metodo responsavel pela execucao dos benchmarks.
+	 * 
+	 * @param args
+	 *            Os argumentos do JMH.
+	 * @throws CommandLineOptionException
+	 *             Caso algum argumento seja invalido.
+	 * @throws RunnerException
+	 *             Caso ocorra um erro na execucao.
+	 */
+	public static void main(String[] args) throws CommandLineOptionException, RunnerException {
+		Options opcoes = new OptionsBuilder().parent(new CommandLineOptions(args)).addProfiler(GCProfiler.class).build();
+
+		new Runner(opcoes).run();
+	}
+
+}
\ No newline at end of file
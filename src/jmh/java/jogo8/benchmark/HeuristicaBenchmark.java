@@ -0,0 +1,118 @@
+package jogo8.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import jogo8.model.BuscaHeuristica;
+import jogo8.model.Estado;
+import jogo8.model.impl.jogo8.HeuristicaConflitoLinear;
+import jogo8.model.impl.jogo8.HeuristicaDistanciaCaminhada;
+import jogo8.model.impl.jogo8.HeuristicaManhattan;
+import jogo8.model.impl.jogo8.HeuristicaPosicaoIncorretas;
+import jogo8.model.impl.jogo8.Jogo8;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Mede o calculo da funcao H das heuristicas. O calculo completo e feito em
+ * estados sem pai; o incremental, em filhos cujo pai ja possui a funcao H.
+ * 
+ * @author Jonathan Henrique de Souza
+ * 
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@OperationsPerInvocation(Corpus.INSTANCIAS_POR_GRUPO)
+public class HeuristicaBenchmark {
+
+	/**
+	 * Heuristica medida.
+	 */
+	@Param({ "manhattan", "posicoes", "conflitolinear", "caminhada" })
+	public String heuristica;
+
+	/**
+	 * Dimensao do tabuleiro.
+	 */
+	@Param({ "3", "4" })
+	public int dimensao;
+
+	private BuscaHeuristica busca;
+
+	/**
+	 * Estados sem pai.
+	 */
+	private Jogo8[] estados;
+
+	/**
+	 * Um filho de cada estado de {@link #estados}.
+	 */
+	private Jogo8[] filhos;
+
+	@Setup
+	public void preparar() {
+		List<Integer[][]> instancias = Corpus.gerar(dimensao, 12);
+		Jogo8 estadoFinal = new Jogo8(null, Corpus.criarEstadoFinal(dimensao));
+
+		estados = new Jogo8[instancias.size()];
+		filhos = new Jogo8[instancias.size()];
+
+		for (int i = 0; i < estados.length; i++) {
+			estados[i] = new Jogo8(null, instancias.get(i));
+		}
+
+		busca = HeuristicaBenchmark.criarHeuristica(heuristica, estados[0], estadoFinal);
+
+		for (int i = 0; i < estados.length; i++) {
+			estados[i].setFuncaoH(busca.funcaoH(estados[i]));
+
+			Estado filho = estados[i].aplicarOperadores().iterator().next();
+			filhos[i] = (Jogo8) filho;
+		}
+	}
+
+	@Benchmark
+	public void funcaoHCompleta(Blackhole blackhole) {
+		for (Jogo8 estado : estados) {
+			blackhole.consume(busca.funcaoH(estado));
+		}
+	}
+
+	@Benchmark
+	public void funcaoHIncremental(Blackhole blackhole) {
+		for (Jogo8 filho : filhos) {
+			blackhole.consume(busca.funcaoH(filho));
+		}
+	}
+
+	private static BuscaHeuristica criarHeuristica(String nome, Jogo8 estadoInicial, Jogo8 estadoFinal) {
+		if ("manhattan".equals(nome)) {
+			return new HeuristicaManhattan(estadoInicial, estadoFinal);
+		} else if ("posicoes".equals(nome)) {
+			return new HeuristicaPosicaoIncorretas(estadoInicial, estadoFinal);
+		} else if ("conflitolinear".equals(nome)) {
+			return new HeuristicaConflitoLinear(estadoInicial, estadoFinal);
+		} else if ("caminhada".equals(nome)) {
+			return new HeuristicaDistanciaCaminhada(estadoInicial, estadoFinal);
+		}
+
+		throw new IllegalArgumentException("Heuristica desconhecida: " + nome);
+	}
+
+}
\ No newline at end of file
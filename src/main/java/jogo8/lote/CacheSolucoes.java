@@ -0,0 +1,377 @@
+package jogo8.lote;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import jogo8.model.impl.jogo8.Jogo8;
+import jogo8.model.impl.jogo8.SimetriaJogo8;
+import jogo8.util.HashUtils;
+
+/**
+ * Cache das solucoes ja encontradas, compartilhado pelas threads do
+ * {@link ResolvedorLote}. Cada entrada e indexada pelos codigos dos estados
+ * inicial e final e guarda apenas os movimentos da solucao (ver
+ * {@link Jogo8#obterMovimentosCaminho()}).
+ * <p>
+ * Ao armazenar uma solucao, tambem sao indexados os estados intermediarios do
+ * caminho: o restante do caminho a partir de um estado intermediario e uma
+ * solucao para ele, otima se a solucao original for otima. Todas essas
+ * entradas compartilham o mesmo vetor de movimentos, mas cada uma ocupa uma
+ * posicao da capacidade.
+ * <p>
+ * As entradas sao removidas na ordem do acesso mais antigo (LRU) quando a
+ * capacidade e excedida, e expiram apos o tempo de vida informado.
+ * <p>
+ * Com as simetrias do estado final (ver {@link #setSimetria(SimetriaJogo8)}),
+ * as entradas sao indexadas pelo codigo canonico do estado inicial, de forma
+ * que estados simetricos compartilham a mesma entrada; os movimentos sao
+ * convertidos para a orientacao do estado consultado. Apenas estados com codigo
+ * (tabuleiros de ate 4x4) sao armazenados. Todos os metodos sao sincronizados.
+ * 
+ * @author Jonathan Henrique de Souza
+ * 
+ */
+public class CacheSolucoes implements CacheSolucoesMBean {
+
+	/**
+	 * Quantidade maxima de entradas.
+	 */
+	private final int capacidade;
+
+	/**
+	 * Tempo de vida das entradas, em nanossegundos.
+	 */
+	private final long tempoVida;
+
+	/**
+	 * Entradas na ordem do acesso mais antigo para o mais recente.
+	 */
+	private final Map<Chave, Entrada> entradas;
+
+	/**
+	 * Simetrias do estado final, ou <code>null</code> se nao utilizadas.
+	 */
+	private SimetriaJogo8 simetria;
+
+	/**
+	 * Quantidade de consultas respondidas.
+	 */
+	private long acertos;
+
+	/**
+	 * Quantidade de consultas nao respondidas.
+	 */
+	private long falhas;
+
+	/**
+	 * Quantidade de entradas removidas por falta de espaco ou expiradas.
+	 */
+	private long remocoes;
+
+	/**
+	 * Constroi um novo cache, sem tempo de vida.
+	 * 
+	 * @param capacidade
+	 *            A quantidade maxima de entradas.
+	 */
+	public CacheSolucoes(int capacidade) {
+		this(capacidade, Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * Constroi um novo cache.
+	 * 
+	 * @param capacidade
+	 *            A quantidade maxima de entradas.
+	 * @param tempoVida
+	 *            O tempo de vida de cada entrada, a partir do momento em que e
+	 *            armazenada.
+	 * @param unidade
+	 *            A unidade do tempo de vida.
+	 */
+	public CacheSolucoes(int capacidade, long tempoVida, TimeUnit unidade) {
+		if (capacidade < 1) {
+			throw new IllegalArgumentException("capacidade < 1");
+		}
+
+		if (tempoVida <= 0) {
+			throw new IllegalArgumentException("tempoVida <= 0");
+		}
+
+		this.capacidade = capacidade;
+		this.tempoVida = unidade.toNanos(tempoVida);
+
+		entradas = new LinkedHashMap<Chave, Entrada>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Chave, Entrada> maisAntiga) {
+				if (size() > CacheSolucoes.this.capacidade) {
+					remocoes++;
+					return true;
+				}
+
+				return false;
+			}
+		};
+	}
+
+	/**
+	 * Consulta a solucao de um estado.
+	 * 
+	 * @param estadoInicial
+	 *            O estado inicial.
+	 * @param estadoFinal
+	 *            O estado final.
+	 * @return Os movimentos da solucao ou <code>null</code> se a solucao nao
+	 *         estiver no cache.
+	 */
+	public synchronized int[] consultar(Jogo8 estadoInicial, Jogo8 estadoFinal) {
+		Entrada entrada = null;
+		int simetriaConsulta = 0;
+
+		if (estadoInicial.possuiCodigo()) {
+			long codigo = estadoInicial.getCodigo();
+
+			if (isSimetrico(estadoFinal.getCodigo())) {
+				simetriaConsulta = simetria.obterSimetriaCanonica(codigo);
+				codigo = simetria.transformar(simetriaConsulta, codigo);
+			}
+
+			Chave chave = new Chave(codigo, estadoFinal.getCodigo());
+			entrada = entradas.get(chave);
+
+			// Remover a entrada se tiver expirado
+			if (entrada != null && System.nanoTime() - entrada.expiracao > 0) {
+				entradas.remove(chave);
+				remocoes++;
+				entrada = null;
+			}
+		}
+
+		if (entrada == null) {
+			falhas++;
+			return null;
+		}
+
+		acertos++;
+
+		int[] movimentos = new int[entrada.movimentos.length - entrada.inicio];
+		System.arraycopy(entrada.movimentos, entrada.inicio, movimentos, 0, movimentos.length);
+
+		if (entrada.simetria == 0 && simetriaConsulta == 0) {
+			return movimentos;
+		}
+
+		// Levar os movimentos armazenados para a orientacao canonica e dela
+		// para a orientacao do estado consultado
+		for (int i = 0; i < movimentos.length; i++) {
+			movimentos[i] = simetria.transformarMovimento(entrada.simetria, movimentos[i]);
+		}
+
+		return simetria.restaurarMovimentos(simetriaConsulta, movimentos);
+	}
+
+	/**
+	 * Consulta a solucao de um estado e cria os estados do caminho.
+	 * 
+	 * @param estadoInicial
+	 *            O estado inicial.
+	 * @param estadoFinal
+	 *            O estado final.
+	 * @return O estado final, ligado aos estados anteriores do caminho ate o
+	 *         estado inicial, ou <code>null</code> se a solucao nao estiver
+	 *         no cache.
+	 */
+	public Jogo8 consultarSolucao(Jogo8 estadoInicial, Jogo8 estadoFinal) {
+		int[] movimentos = consultar(estadoInicial, estadoFinal);
+
+		if (movimentos == null) {
+			return null;
+		}
+
+		Jogo8 atual = estadoInicial;
+
+		for (int movimento : movimentos) {
+			atual = atual.criarSucessor(movimento);
+		}
+
+		return atual;
+	}
+
+	/**
+	 * Armazena uma solucao e os restantes do caminho a partir de cada estado
+	 * intermediario. Entradas ja existentes so sao substituidas por caminhos
+	 * mais curtos.
+	 * 
+	 * @param solucao
+	 *            O estado final encontrado, cujos pais levam ao estado
+	 *            inicial.
+	 */
+	public void armazenar(Jogo8 solucao) {
+		if (!solucao.possuiCodigo()) {
+			return;
+		}
+
+		int[] movimentos = solucao.obterMovimentosCaminho();
+		long codigoFinal = solucao.getCodigo();
+
+		synchronized (this) {
+			// Codigos dos estados do caminho e, com simetrias, a simetria que
+			// leva cada estado ao seu representante canonico
+			boolean simetrico = isSimetrico(codigoFinal);
+			long[] codigos = new long[movimentos.length];
+			int[] simetrias = new int[movimentos.length];
+			Jogo8 estado = solucao.getPai();
+
+			for (int i = movimentos.length - 1; i >= 0; i--) {
+				codigos[i] = estado.getCodigo();
+
+				if (simetrico) {
+					simetrias[i] = simetria.obterSimetriaCanonica(codigos[i]);
+					codigos[i] = simetria.transformar(simetrias[i], codigos[i]);
+				}
+
+				estado = estado.getPai();
+			}
+
+			long expiracao = calcularExpiracao();
+
+			// Do estado mais proximo do final para o inicial, de forma que o
+			// estado inicial seja o acesso mais recente
+			for (int i = movimentos.length - 1; i >= 0; i--) {
+				Chave chave = new Chave(codigos[i], codigoFinal);
+				Entrada existente = entradas.get(chave);
+
+				if (existente == null || existente.movimentos.length - existente.inicio > movimentos.length - i || System.nanoTime() - existente.expiracao > 0) {
+					entradas.put(chave, new Entrada(movimentos, i, simetrias[i], expiracao));
+				}
+			}
+		}
+	}
+
+	/**
+	 * Verifica se as simetrias devem ser utilizadas para um estado final.
+	 * 
+	 * @param codigoFinal
+	 *            O codigo do estado final.
+	 * @return <code>true</code> se as simetrias pertencem ao estado final.
+	 */
+	private boolean isSimetrico(long codigoFinal) {
+		return simetria != null && simetria.getCodigoFinal() == codigoFinal;
+	}
+
+	/**
+	 * Altera as simetrias utilizadas para indexar as entradas. As entradas
+	 * existentes sao removidas.
+	 * 
+	 * @param simetria
+	 *            As simetrias do estado final, ou <code>null</code> para
+	 *            indexar as entradas pelo codigo do estado inicial. Solucoes
+	 *            de outros estados finais sao indexadas sem simetrias.
+	 */
+	public synchronized void setSimetria(SimetriaJogo8 simetria) {
+		this.simetria = simetria;
+		entradas.clear();
+	}
+
+	/**
+	 * Calcula o instante de expiracao de uma entrada armazenada agora.
+	 * 
+	 * @return O instante de expiracao, na escala de {@link System#nanoTime()}.
+	 */
+	private long calcularExpiracao() {
+		long agora = System.nanoTime();
+
+		// Evitar estouro quando nao ha tempo de vida
+		return tempoVida > Long.MAX_VALUE / 2 ? agora + Long.MAX_VALUE / 2 : agora + tempoVida;
+	}
+
+	@Override
+	public synchronized void limpar() {
+		entradas.clear();
+	}
+
+	@Override
+	public synchronized long getAcertos() {
+		return acertos;
+	}
+
+	@Override
+	public synchronized long getFalhas() {
+		return falhas;
+	}
+
+	@Override
+	public synchronized long getRemocoes() {
+		return remocoes;
+	}
+
+	@Override
+	public synchronized int getTamanho() {
+		return entradas.size();
+	}
+
+	@Override
+	public int getCapacidade() {
+		return capacidade;
+	}
+
+	/**
+	 * Chave de uma entrada: os codigos dos estados inicial e final.
+	 */
+	private static class Chave {
+
+		private final long inicial;
+
+		private final long fim;
+
+		Chave(long inicial, long fim) {
+			this.inicial = inicial;
+			this.fim = fim;
+		}
+
+		@Override
+		public int hashCode() {
+			return HashUtils.misturar(inicial * 31 + fim);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof Chave)) {
+				return false;
+			}
+
+			Chave outra = (Chave) obj;
+
+			return inicial == outra.inicial && fim == outra.fim;
+		}
+
+	}
+
+	/**
+	 * Solucao armazenada: os movimentos a partir de uma posicao de um vetor
+	 * compartilhado e a simetria que leva o estado daquela posicao ao
+	 * representante canonico da chave (0 sem simetrias).
+	 */
+	private static class Entrada {
+
+		private final int[] movimentos;
+
+		private final int inicio;
+
+		private final int simetria;
+
+		private final long expiracao;
+
+		Entrada(int[] movimentos, int inicio, int simetria, long expiracao) {
+			this.movimentos = movimentos;
+			this.inicio = inicio;
+			this.simetria = simetria;
+			this.expiracao = expiracao;
+		}
+
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,42 @@
+package jogo8.lote;
+
+/**
+ * Interface de gerenciamento (JMX) do {@link CacheSolucoes}.
+ * 
+ * @author Jonathan Henrique de Souza
+ * 
+ */
+public interface CacheSolucoesMBean {
+
+	/**
+	 * @return A quantidade de consultas respondidas pelo cache.
+	 */
+	long getAcertos();
+
+	/**
+	 * @return A quantidade de consultas nao respondidas pelo cache.
+	 */
+	long getFalhas();
+
+	/**
+	 * @return A quantidade de entradas removidas por falta de espaco ou por
+	 *         terem expirado.
+	 */
+	long getRemocoes();
+
+	/**
+	 * @return A quantidade de entradas armazenadas.
+	 */
+	int getTamanho();
+
+	/**
+	 * @return A quantidade maxima de entradas.
+	 */
+	int getCapacidade();
+
+	/**
+	 * Remove todas as entradas, mantendo os contadores.
+	 */
+	void limpar();
+
+}
\ No newline at end of file
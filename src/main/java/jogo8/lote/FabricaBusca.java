@@ -0,0 +1,27 @@
+package jogo8.lote;
+
+import jogo8.model.Busca;
+import jogo8.model.impl.jogo8.Jogo8;
+
+/**
+ * Cria as buscas utilizadas pelo {@link ResolvedorLote}. Cada thread do
+ * resolvedor cria uma unica busca e a reaproveita para todas as instancias
+ * que resolver (ver {@link Busca#setEstadoInicial(jogo8.model.Estado)}).
+ * 
+ * @author Jonathan Henrique de Souza
+ * 
+ */
+public interface FabricaBusca {
+
+	/**
+	 * Cria uma nova busca.
+	 * 
+	 * @param estadoInicial
+	 *            O estado inicial da busca.
+	 * @param estadoFinal
+	 *            O estado final que a busca devera encontrar.
+	 * @return A busca criada.
+	 */
+	Busca criar(Jogo8 estadoInicial, Jogo8 estadoFinal);
+
+}
\ No newline at end of file
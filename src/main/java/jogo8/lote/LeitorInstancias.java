@@ -0,0 +1,97 @@
+package jogo8.lote;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import jogo8.util.MatrizUtils;
+
+/**
+ * Le, sob demanda, as instancias de um arquivo texto. Cada linha contem uma
+ * instancia no formato de {@link MatrizUtils#lerMatriz(String)}. Linhas em
+ * branco e linhas iniciadas por <code>#</code> sao ignoradas.
+ * 
+ * @author Jonathan Henrique de Souza
+ * 
+ */
+public class LeitorInstancias implements Iterator<Integer[][]> {
+
+	/**
+	 * Leitor do arquivo.
+	 */
+	private final BufferedReader leitor;
+
+	/**
+	 * Proxima linha valida, ou <code>null</code> se ainda nao foi lida.
+	 */
+	private String proximaLinha;
+
+	/**
+	 * Numero da ultima linha lida, utilizado nas mensagens de erro.
+	 */
+	private long numeroLinha;
+
+	/**
+	 * Constroi um novo leitor.
+	 * 
+	 * @param leitor
+	 *            O leitor do arquivo. Nao e fechado por esta classe.
+	 */
+	public LeitorInstancias(BufferedReader leitor) {
+		this.leitor = leitor;
+	}
+
+	@Override
+	public boolean hasNext() {
+		if (proximaLinha != null) {
+			return true;
+		}
+
+		try {
+			String linha;
+
+			while ((linha = leitor.readLine()) != null) {
+				numeroLinha++;
+				linha = linha.trim();
+
+				if (!linha.isEmpty() && !linha.startsWith("#")) {
+					proximaLinha = linha;
+					return true;
+				}
+			}
+		} catch (IOException e) {
+			throw new IllegalStateException("Erro ao ler a linha " + (numeroLinha + 1), e);
+		}
+
+		return false;
+	}
+
+	/**
+	 * Retorna a proxima instancia.
+	 * 
+	 * @throws IllegalArgumentException
+	 *             Caso a linha nao contenha uma matriz valida.
+	 */
+	@Override
+	public Integer[][] next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+
+		String linha = proximaLinha;
+		proximaLinha = null;
+
+		try {
+			return MatrizUtils.lerMatriz(linha);
+		} catch (IllegalArgumentException e) {
+			throw new IllegalArgumentException("Linha " + numeroLinha + ": " + e.getMessage(), e);
+		}
+	}
+
+	@Override
+	public void remove() {
+		throw new UnsupportedOperationException();
+	}
+
+}
\ No newline at end of file
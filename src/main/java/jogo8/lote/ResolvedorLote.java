@@ -0,0 +1,302 @@
+package jogo8.lote;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import jogo8.model.Busca;
+import jogo8.model.Estado;
+import jogo8.model.EstatisticasBusca;
+import jogo8.model.impl.jogo8.Jogo8;
+
+/**
+ * Resolve, em paralelo, um lote de instancias independentes com o mesmo
+ * estado final. As instancias sao lidas sob demanda e no maximo
+ * {@link #getJanela()} instancias ficam em andamento (ou aguardando para serem
+ * entregues) ao mesmo tempo, de forma que a memoria utilizada nao depende do
+ * tamanho do lote.
+ * <p>
+ * Cada thread cria uma unica busca e a reaproveita em todas as instancias que
+ * resolver, evitando realocar as listas aberta e fechada a cada instancia.
+ * <p>
+ * Opcionalmente, as solucoes podem ser guardadas em um {@link CacheSolucoes}
+ * (ver {@link #setCache(CacheSolucoes)}), de forma que instancias repetidas
+ * sejam respondidas sem executar a busca.
+ * 
+ * @author Jonathan Henrique de Souza
+ * 
+ */
+public class ResolvedorLote {
+
+	/**
+	 * Cria as buscas de cada thread.
+	 */
+	private final FabricaBusca fabrica;
+
+	/**
+	 * O estado final de todas as instancias.
+	 */
+	private final Jogo8 estadoFinal;
+
+	/**
+	 * Quantidade de threads.
+	 */
+	private final int threads;
+
+	/**
+	 * Quantidade maxima de instancias em andamento.
+	 */
+	private final int janela;
+
+	/**
+	 * Se <code>true</code>, os resultados sao entregues na ordem da entrada;
+	 * caso contrario, na ordem em que forem concluidos.
+	 */
+	private final boolean manterOrdem;
+
+	/**
+	 * Cache das solucoes encontradas, ou <code>null</code> se nao utilizado.
+	 */
+	private volatile CacheSolucoes cache;
+
+	/**
+	 * Busca reaproveitada por cada thread.
+	 */
+	private final ThreadLocal<Busca> buscas = new ThreadLocal<Busca>() {
+		@Override
+		protected Busca initialValue() {
+			return fabrica.criar(estadoFinal, estadoFinal);
+		}
+	};
+
+	/**
+	 * Constroi um novo resolvedor.
+	 * 
+	 * @param fabrica
+	 *            Cria as buscas de cada thread.
+	 * @param estadoFinal
+	 *            O estado final de todas as instancias.
+	 * @param threads
+	 *            A quantidade de threads.
+	 * @param janela
+	 *            A quantidade maxima de instancias em andamento. Deve ser
+	 *            maior ou igual a quantidade de threads para que todas sejam
+	 *            utilizadas.
+	 * @param manterOrdem
+	 *            <code>true</code> para entregar os resultados na ordem da
+	 *            entrada, <code>false</code> para entrega-los na ordem em que
+	 *            forem concluidos.
+	 */
+	public ResolvedorLote(FabricaBusca fabrica, Jogo8 estadoFinal, int threads, int janela, boolean manterOrdem) {
+		if (threads < 1) {
+			throw new IllegalArgumentException("threads < 1");
+		}
+
+		if (janela < 1) {
+			throw new IllegalArgumentException("janela < 1");
+		}
+
+		this.fabrica = fabrica;
+		this.estadoFinal = estadoFinal;
+		this.threads = threads;
+		this.janela = janela;
+		this.manterOrdem = manterOrdem;
+	}
+
+	/**
+	 * Resolve todas as instancias, entregando os resultados a saida.
+	 * 
+	 * @param instancias
+	 *            As matrizes iniciais das instancias.
+	 * @param saida
+	 *            Recebe os resultados.
+	 * @return A quantidade de instancias resolvidas.
+	 * @throws InterruptedException
+	 *             Caso a thread seja interrompida enquanto aguarda os
+	 *             resultados.
+	 * @throws IllegalStateException
+	 *             Caso a resolucao de alguma instancia falhe.
+	 */
+	public long resolver(Iterator<Integer[][]> instancias, SaidaLote saida) throws InterruptedException {
+		BlockingQueue<Object> concluidos = new LinkedBlockingQueue<Object>();
+
+		// Resultados concluidos fora de ordem, aguardando os anteriores
+		Map<Long, ResultadoInstancia> pendentes = new HashMap<Long, ResultadoInstancia>();
+
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+		long enviadas = 0;
+		long entregues = 0;
+		int emAndamento = 0;
+
+		try {
+			while (true) {
+				// Completar a janela
+				while (emAndamento < janela && instancias.hasNext()) {
+					executor.execute(new Tarefa(enviadas++, instancias.next(), concluidos));
+					emAndamento++;
+				}
+
+				if (emAndamento == 0) {
+					return entregues;
+				}
+
+				Object concluido = concluidos.take();
+
+				if (concluido instanceof Falha) {
+					Falha falha = (Falha) concluido;
+					throw new IllegalStateException("Falha ao resolver a instancia " + falha.indice, falha.causa);
+				}
+
+				ResultadoInstancia resultado = (ResultadoInstancia) concluido;
+
+				if (!manterOrdem) {
+					saida.receber(resultado);
+					entregues++;
+					emAndamento--;
+					continue;
+				}
+
+				// Entregar todos os resultados que ja estao na ordem
+				pendentes.put(resultado.getIndice(), resultado);
+
+				while ((resultado = pendentes.remove(entregues)) != null) {
+					saida.receber(resultado);
+					entregues++;
+					emAndamento--;
+				}
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Resolve uma instancia com a busca da thread atual.
+	 * 
+	 * @param indice
+	 *            A posicao da instancia na entrada.
+	 * @param matriz
+	 *            A matriz inicial.
+	 * @return O resultado.
+	 */
+	private ResultadoInstancia resolver(long indice, Integer[][] matriz) {
+		Jogo8 estadoInicial = new Jogo8(null, matriz);
+
+		long inicio = System.nanoTime();
+
+		// Consultar o cache antes de executar a busca
+		CacheSolucoes cache = this.cache;
+
+		if (cache != null) {
+			Jogo8 solucao = cache.consultarSolucao(estadoInicial, estadoFinal);
+
+			if (solucao != null) {
+				return new ResultadoInstancia(indice, solucao, 0, 0, System.nanoTime() - inicio);
+			}
+		}
+
+		Busca busca = buscas.get();
+		busca.setEstadoInicial(estadoInicial);
+
+		Estado solucao = busca.executar();
+
+		long tempo = System.nanoTime() - inicio;
+
+		if (cache != null && solucao instanceof Jogo8) {
+			cache.armazenar((Jogo8) solucao);
+		}
+
+		EstatisticasBusca estatisticas = busca.getEstatisticas();
+
+		return new ResultadoInstancia(indice, solucao, estatisticas.getNosExpandidos(), estatisticas.getNosGerados(), tempo);
+	}
+
+	/**
+	 * Retorna o valor do atributo cache
+	 * 
+	 * @return O valor do atributo cache
+	 */
+	public CacheSolucoes getCache() {
+		return cache;
+	}
+
+	/**
+	 * Altera o valor do atributo cache
+	 * 
+	 * @param cache
+	 *            O cache das solucoes, ou <code>null</code> para sempre
+	 *            executar a busca
+	 */
+	public void setCache(CacheSolucoes cache) {
+		this.cache = cache;
+	}
+
+	/**
+	 * Retorna o valor do atributo threads
+	 * 
+	 * @return O valor do atributo threads
+	 */
+	public int getThreads() {
+		return threads;
+	}
+
+	/**
+	 * Retorna o valor do atributo janela
+	 * 
+	 * @return O valor do atributo janela
+	 */
+	public int getJanela() {
+		return janela;
+	}
+
+	/**
+	 * Resolucao de uma instancia. O resultado, ou a falha, e colocado na fila
+	 * de concluidos.
+	 */
+	private class Tarefa implements Runnable {
+
+		private final long indice;
+
+		private final Integer[][] matriz;
+
+		private final BlockingQueue<Object> concluidos;
+
+		Tarefa(long indice, Integer[][] matriz, BlockingQueue<Object> concluidos) {
+			this.indice = indice;
+			this.matriz = matriz;
+			this.concluidos = concluidos;
+		}
+
+		@Override
+		public void run() {
+			try {
+				concluidos.add(resolver(indice, matriz));
+			} catch (RuntimeException e) {
+				concluidos.add(new Falha(indice, e));
+			}
+		}
+
+	}
+
+	/**
+	 * Falha na resolucao de uma instancia.
+	 */
+	private static class Falha {
+
+		private final long indice;
+
+		private final RuntimeException causa;
+
+		Falha(long indice, RuntimeException causa) {
+			this.indice = indice;
+			this.causa = causa;
+		}
+
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,153 @@
+package jogo8.lote;
+
+import jogo8.model.Estado;
+
+/**
+ * Resultado e estatisticas da resolucao de uma instancia do lote.
+ * 
+ * @author Jonathan Henrique de Souza
+ * 
+ */
+public class ResultadoInstancia {
+
+	/**
+	 * Posicao da instancia na entrada, a partir de 0.
+	 */
+	private final long indice;
+
+	/**
+	 * O estado final encontrado, cujos pais levam ao estado inicial, ou
+	 * <code>null</code> se a instancia nao possui solucao.
+	 */
+	private final Estado solucao;
+
+	/**
+	 * Quantidade de movimentos da solucao.
+	 */
+	private final int profundidade;
+
+	/**
+	 * Quantidade de estados expandidos pela busca.
+	 */
+	private final long nosExpandidos;
+
+	/**
+	 * Quantidade de sucessores gerados pela busca.
+	 */
+	private final long nosGerados;
+
+	/**
+	 * Tempo de execucao da busca, em nanossegundos.
+	 */
+	private final long tempo;
+
+	/**
+	 * Constroi um novo resultado.
+	 * 
+	 * @param indice
+	 *            A posicao da instancia na entrada.
+	 * @param solucao
+	 *            O estado final encontrado ou <code>null</code>.
+	 * @param nosExpandidos
+	 *            A quantidade de estados expandidos.
+	 * @param nosGerados
+	 *            A quantidade de sucessores gerados.
+	 * @param tempo
+	 *            O tempo de execucao, em nanossegundos.
+	 */
+	public ResultadoInstancia(long indice, Estado solucao, long nosExpandidos, long nosGerados, long tempo) {
+		this.indice = indice;
+		this.solucao = solucao;
+		this.profundidade = ResultadoInstancia.contarMovimentos(solucao);
+		this.nosExpandidos = nosExpandidos;
+		this.nosGerados = nosGerados;
+		this.tempo = tempo;
+	}
+
+	/**
+	 * Conta os movimentos de uma solucao percorrendo seus pais.
+	 * 
+	 * @param solucao
+	 *            A solucao.
+	 * @return A quantidade de movimentos ou -1 se nao houver solucao.
+	 */
+	private static int contarMovimentos(Estado solucao) {
+		if (solucao == null) {
+			return -1;
+		}
+
+		int movimentos = 0;
+
+		for (Estado estado = solucao.getPai(); estado != null; estado = estado.getPai()) {
+			movimentos++;
+		}
+
+		return movimentos;
+	}
+
+	/**
+	 * Retorna o valor do atributo indice
+	 * 
+	 * @return O valor do atributo indice
+	 */
+	public long getIndice() {
+		return indice;
+	}
+
+	/**
+	 * Retorna o valor do atributo solucao
+	 * 
+	 * @return O valor do atributo solucao
+	 */
+	public Estado getSolucao() {
+		return solucao;
+	}
+
+	/**
+	 * Verifica se a instancia possui solucao.
+	 * 
+	 * @return <code>true</code> se a busca encontrou o estado final,
+	 *         <code>false</code> caso contrario.
+	 */
+	public boolean isResolvida() {
+		return solucao != null;
+	}
+
+	/**
+	 * Retorna o valor do atributo profundidade
+	 * 
+	 * @return O valor do atributo profundidade, ou -1 se a instancia nao
+	 *         possui solucao
+	 */
+	public int getProfundidade() {
+		return profundidade;
+	}
+
+	/**
+	 * Retorna o valor do atributo nosExpandidos
+	 * 
+	 * @return O valor do atributo nosExpandidos
+	 */
+	public long getNosExpandidos() {
+		return nosExpandidos;
+	}
+
+	/**
+	 * Retorna o valor do atributo nosGerados
+	 * 
+	 * @return O valor do atributo nosGerados
+	 */
+	public long getNosGerados() {
+		return nosGerados;
+	}
+
+	/**
+	 * Retorna o valor do atributo tempo
+	 * 
+	 * @return O tempo de execucao, em nanossegundos
+	 */
+	public long getTempo() {
+		return tempo;
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,22 @@
+package jogo8.lote;
+
+/**
+ * Recebe os resultados de um {@link ResolvedorLote}. Os resultados sao
+ * entregues sempre pela thread que chamou
+ * {@link ResolvedorLote#resolver(java.util.Iterator, SaidaLote)}, portanto as
+ * implementacoes nao precisam ser sincronizadas.
+ * 
+ * @author Jonathan Henrique de Souza
+ * 
+ */
+public interface SaidaLote {
+
+	/**
+	 * Recebe o resultado de uma instancia.
+	 * 
+	 * @param resultado
+	 *            O resultado.
+	 */
+	void receber(ResultadoInstancia resultado);
+
+}
\ No newline at end of file
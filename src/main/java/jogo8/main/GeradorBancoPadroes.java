@@ -0,0 +1,123 @@
+package jogo8.main;
+
+import java.io.File;
+import java.io.IOException;
+
+import jogo8.model.impl.jogo8.BancoPadroes;
+import jogo8.model.impl.jogo8.Jogo8;
+import jogo8.util.MatrizUtils;
+
+/**
+ * Aplicativo que gera e grava em arquivo os bancos de padroes utilizados pela
+ * {@link jogo8.model.impl.jogo8.HeuristicaBancoPadroes}.
+ * <p>
+ * Uso: <code>GeradorBancoPadroes &lt;espiral|ordenado&gt; &lt;dimensao&gt;
+ * &lt;diretorio&gt; &lt;grupo&gt; [&lt;grupo&gt; ...]</code>, onde cada grupo
+ * e uma lista de pecas separadas por virgula. Exemplo, para o Jogo do 15 com
+ * grupos 6-6-3: <code>ordenado 4 pdb 1,5,6,9,10,13 7,8,11,12,14,15 2,3,4</code>
+ * 
+ * @author Jonathan Henrique de Souza
+ * 
+ */
+public class GeradorBancoPadroes {
+
+	/**
+	 * Metodo responsavel pela execucao do aplicativo.
+	 * 
+	 * @param args
+	 *            O tipo do estado final, a dimensao do tabuleiro, o diretorio
+	 *            de saida e os grupos de pecas.
+	 * @throws IOException
+	 *             Caso ocorra um erro ao gravar os arquivos.
+	 */
+	public static void main(String[] args) throws IOException {
+		if (args.length < 4) {
+			System.out.println("Uso: GeradorBancoPadroes <espiral|ordenado> <dimensao> <diretorio> <grupo> [<grupo> ...]");
+			System.out.println("Exemplo: GeradorBancoPadroes ordenado 4 pdb 1,5,6,9,10,13 7,8,11,12,14,15 2,3,4");
+			System.exit(1);
+		}
+
+		int dimensao = Integer.parseInt(args[1]);
+		Jogo8 estadoFinal = new Jogo8(null, GeradorBancoPadroes.criarEstadoFinal(args[0], dimensao));
+
+		File diretorio = new File(args[2]);
+		if (!diretorio.isDirectory() && !diretorio.mkdirs()) {
+			throw new IOException("Nao foi possivel criar o diretorio " + diretorio);
+		}
+
+		for (int i = 3; i < args.length; i++) {
+			int[] pecas = GeradorBancoPadroes.lerGrupo(args[i]);
+
+			System.out.println("Gerando grupo " + args[i] + "...");
+
+			// Obter inicio
+			long inicio = System.currentTimeMillis();
+
+			BancoPadroes banco = BancoPadroes.gerar(estadoFinal, pecas);
+
+			File arquivo = new File(diretorio, GeradorBancoPadroes.nomeArquivo(dimensao, pecas));
+			banco.salvar(arquivo);
+
+			// Obter fim
+			long fim = System.currentTimeMillis();
+
+			System.out.printf("%s: %,d entradas em %,d ms%n", arquivo, banco.getTamanho(), (fim - inicio));
+		}
+	}
+
+	/**
+	 * Retorna o nome padrao do arquivo de um banco de padroes.
+	 * 
+	 * @param dimensao
+	 *            A dimensao do tabuleiro.
+	 * @param pecas
+	 *            As pecas do grupo.
+	 * @return O nome do arquivo.
+	 */
+	public static String nomeArquivo(int dimensao, int[] pecas) {
+		StringBuilder nome = new StringBuilder("pdb-").append(dimensao).append('x').append(dimensao);
+
+		for (int peca : pecas) {
+			nome.append('-').append(peca);
+		}
+
+		return nome.append(".bin").toString();
+	}
+
+	/**
+	 * Cria o estado final do tipo informado.
+	 * 
+	 * @param tipo
+	 *            <code>espiral</code> ou <code>ordenado</code>.
+	 * @param dimensao
+	 *            A dimensao do tabuleiro.
+	 * @return A matriz do estado final.
+	 */
+	static Integer[][] criarEstadoFinal(String tipo, int dimensao) {
+		if (tipo.equalsIgnoreCase("espiral")) {
+			return MatrizUtils.criarEstadoFinal(dimensao);
+		} else if (tipo.equalsIgnoreCase("ordenado")) {
+			return MatrizUtils.criarEstadoFinalOrdenado(dimensao);
+		} else {
+			throw new IllegalArgumentException("Tipo de estado final invalido: " + tipo);
+		}
+	}
+
+	/**
+	 * Le um grupo de pecas separadas por virgula.
+	 * 
+	 * @param grupo
+	 *            O grupo informado pelo usuario.
+	 * @return As pecas do grupo.
+	 */
+	private static int[] lerGrupo(String grupo) {
+		String[] partes = grupo.split(",");
+		int[] pecas = new int[partes.length];
+
+		for (int i = 0; i < partes.length; i++) {
+			pecas[i] = Integer.parseInt(partes[i].trim());
+		}
+
+		return pecas;
+	}
+}
\ No newline at end of file
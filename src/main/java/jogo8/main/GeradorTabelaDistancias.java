@@ -0,0 +1,57 @@
+package jogo8.main;
+
+import java.io.File;
+import java.io.IOException;
+
+import jogo8.model.impl.jogo8.Jogo8;
+import jogo8.model.impl.jogo8.TabelaDistancias;
+
+/**
+ * Aplicativo que gera e grava em arquivo a {@link TabelaDistancias} de um
+ * estado final, com a distancia exata de todos os estados de um tabuleiro de
+ * ate 3x3.
+ * <p>
+ * Uso: <code>GeradorTabelaDistancias &lt;espiral|ordenado&gt; &lt;dimensao&gt;
+ * &lt;arquivo&gt;</code>. Exemplo, para o Jogo do 8:
+ * <code>espiral 3 tabela-3x3.bin</code>
+ * 
+ * @author Jonathan Henrique de Souza
+ * 
+ */
+public class GeradorTabelaDistancias {
+
+	/**
+	 * Metodo responsavel pela execucao do aplicativo.
+	 * 
+	 * @param args
+	 *            O tipo do estado final, a dimensao do tabuleiro e o arquivo de
+	 *            saida.
+	 * @throws IOException
+	 *             Caso ocorra um erro ao gravar o arquivo.
+	 */
+	public static void main(String[] args) throws IOException {
+		if (args.length != 3) {
+			System.out.println("Uso: GeradorTabelaDistancias <espiral|ordenado> <dimensao> <arquivo>");
+			System.out.println("Exemplo: GeradorTabelaDistancias espiral 3 tabela-3x3.bin");
+			System.exit(1);
+		}
+
+		int dimensao = Integer.parseInt(args[1]);
+		Jogo8 estadoFinal = new Jogo8(null, GeradorBancoPadroes.criarEstadoFinal(args[0], dimensao));
+
+		File arquivo = new File(args[2]);
+
+		System.out.println("Gerando tabela...");
+
+		// Obter inicio
+		long inicio = System.currentTimeMillis();
+
+		TabelaDistancias tabela = TabelaDistancias.gerar(estadoFinal);
+		tabela.salvar(arquivo);
+
+		// Obter fim
+		long fim = System.currentTimeMillis();
+
+		System.out.printf("%s: %,d entradas em %,d ms%n", arquivo, tabela.getTamanho(), (fim - inicio));
+	}
+}
\ No newline at end of file
@@ -1,17 +1,33 @@
 package jogo8.main;
 
-import java.util.Collection;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Scanner;
+import java.util.concurrent.TimeUnit;
 
 import jogo8.model.Busca;
+import jogo8.model.BuscaHeuristica;
 import jogo8.model.Estado;
+import jogo8.model.EstatisticasBusca;
+import jogo8.model.Orcamento;
+import jogo8.model.OuvinteSolucao;
+import jogo8.model.ResultadoBusca;
 import jogo8.model.impl.BuscaAmplitude;
+import jogo8.model.impl.BuscaBidirecional;
 import jogo8.model.impl.BuscaProfundidade;
+import jogo8.model.impl.BuscaProfundidadeIterativa;
+import jogo8.model.impl.BuscaProfundidadeLimitada;
+import jogo8.model.impl.jogo8.BuscaARAEstrela;
+import jogo8.model.impl.jogo8.BuscaAmplitudeParalela;
+import jogo8.model.impl.jogo8.BuscaHDAEstrela;
+import jogo8.model.impl.jogo8.BuscaIDAEstrela;
+import jogo8.model.impl.jogo8.HeuristicaConflitoLinear;
+import jogo8.model.impl.jogo8.HeuristicaDistanciaCaminhada;
 import jogo8.model.impl.jogo8.HeuristicaManhattan;
 import jogo8.model.impl.jogo8.HeuristicaPosicaoIncorretas;
 import jogo8.model.impl.jogo8.Jogo8;
+import jogo8.model.impl.jogo8.SimetriaJogo8;
+import jogo8.util.JmxUtils;
 import jogo8.util.MatrizUtils;
 
 /**
@@ -46,6 +62,15 @@ public class Main {
 		System.out.println("2) Busca por Profundidade");
 		System.out.println("3) Heuristica - Quantidade de numeros fora da posicao correta");
 		System.out.println("4) Heuristica - Distancia Manhattan");
+		System.out.println("5) IDA* - Distancia Manhattan");
+		System.out.println("6) Busca por Amplitude Paralela");
+		System.out.println("7) HDA* - Distancia Manhattan");
+		System.out.println("8) Busca Bidirecional");
+		System.out.println("9) Busca por Profundidade Limitada (31 movimentos)");
+		System.out.println("10) Busca por Aprofundamento Iterativo");
+		System.out.println("11) ARA* - Distancia Manhattan");
+		System.out.println("12) Heuristica - Distancia Manhattan com Conflitos Lineares");
+		System.out.println("13) Heuristica - Distancia Caminhada");
 
 		// Ler uma escolha
 		int escolha = Main.lerNumero();
@@ -73,15 +98,45 @@ public class Main {
 	 *         existir na aplicacao.
 	 */
 	private static Busca criarBusca(int escolha) {
+		// Estados inicial e final. O estado inicial sempre possui solucao.
+		Integer[][] matrizFinal = MatrizUtils.criarEstadoFinal();
+		Integer[][] matrizInicial = MatrizUtils.gerarMatrizRandomicaSolucionavel(matrizFinal);
+
 		switch (escolha) {
 		case 1: // Busca por Amplitude
-			return new BuscaAmplitude(new Jogo8(null), new Jogo8(null, MatrizUtils.criarEstadoFinal()));
+			return new BuscaAmplitude(new Jogo8(null, matrizInicial), new Jogo8(null, matrizFinal));
 		case 2: // Busca por Profundidade
-			return new BuscaProfundidade(new Jogo8(null), new Jogo8(null, MatrizUtils.criarEstadoFinal()));
+			return new BuscaProfundidade(new Jogo8(null, matrizInicial), new Jogo8(null, matrizFinal));
 		case 3: // Heuristica - Posicoes incorretas
-			return new HeuristicaPosicaoIncorretas(new Jogo8(null), new Jogo8(null, MatrizUtils.criarEstadoFinal()));
+			return new HeuristicaPosicaoIncorretas(new Jogo8(null, matrizInicial), new Jogo8(null, matrizFinal));
 		case 4: // Heuristica - Distancia Manhattan
-			return new HeuristicaManhattan(new Jogo8(null), new Jogo8(null, MatrizUtils.criarEstadoFinal()));
+			return new HeuristicaManhattan(new Jogo8(null, matrizInicial), new Jogo8(null, matrizFinal));
+		case 5: // IDA* - Distancia Manhattan
+			return new BuscaIDAEstrela(new HeuristicaManhattan(new Jogo8(null, matrizInicial), new Jogo8(null, matrizFinal)));
+		case 6: // Busca por Amplitude Paralela
+			return new BuscaAmplitudeParalela(new Jogo8(null, matrizInicial), new Jogo8(null, matrizFinal), Runtime.getRuntime().availableProcessors());
+		case 7: // HDA* - Distancia Manhattan
+			return new BuscaHDAEstrela(new HeuristicaManhattan(new Jogo8(null, matrizInicial), new Jogo8(null, matrizFinal)), Runtime.getRuntime().availableProcessors());
+		case 8: // Busca Bidirecional
+			return new BuscaBidirecional(new Jogo8(null, matrizInicial), new Jogo8(null, matrizFinal));
+		case 9: // Busca por Profundidade Limitada. Toda instancia do Jogo do 8
+				// possui solucao com ate 31 movimentos.
+			return new BuscaProfundidadeLimitada(new Jogo8(null, matrizInicial), new Jogo8(null, matrizFinal), 31);
+		case 10: // Busca por Aprofundamento Iterativo
+			return new BuscaProfundidadeIterativa(new Jogo8(null, matrizInicial), new Jogo8(null, matrizFinal));
+		case 11: // ARA* - Distancia Manhattan. Mostrar cada solucao publicada.
+			BuscaARAEstrela buscaARAEstrela = new BuscaARAEstrela(new HeuristicaManhattan(new Jogo8(null, matrizInicial), new Jogo8(null, matrizFinal)));
+			buscaARAEstrela.adicionarOuvinteSolucao(new OuvinteSolucao() {
+				@Override
+				public void solucaoMelhorada(Busca busca, Estado solucao, double limiteSubotimalidade) {
+					System.out.printf("Solucao com %d movimentos (no maximo %.2fx a otima)%n", ((Jogo8) solucao).getFuncaoG(), limiteSubotimalidade);
+				}
+			});
+			return buscaARAEstrela;
+		case 12: // Heuristica - Distancia Manhattan com Conflitos Lineares
+			return new HeuristicaConflitoLinear(new Jogo8(null, matrizInicial), new Jogo8(null, matrizFinal));
+		case 13: // Heuristica - Distancia Caminhada
+			return new HeuristicaDistanciaCaminhada(new Jogo8(null, matrizInicial), new Jogo8(null, matrizFinal));
 		default:
 			return null; // Busca nao existente!
 		}
@@ -178,19 +233,44 @@ public class Main {
 		System.out.println("Estado final:");
 		System.out.println(busca.getEstadoFinal());
 
+		// Modo detalhado e publicacao das estatisticas via JMX, se solicitados
+		busca.getEstatisticas().setDetalhada(Boolean.getBoolean("jogo8.detalhada"));
+
+		if (Boolean.getBoolean("jogo8.jmx")) {
+			JmxUtils.registrar(busca.getEstatisticas(), busca.getClass().getSimpleName());
+		}
+
+		// Modo de caminho compacto do A*, se solicitado
+		if (busca instanceof BuscaHeuristica) {
+			((BuscaHeuristica) busca).setCaminhoCompacto(Boolean.getBoolean("jogo8.caminhoCompacto"));
+		}
+
+		// Descartar estados simetricos aos ja analisados, se solicitado
+		if (Boolean.getBoolean("jogo8.simetria")) {
+			busca.setSimetria(new SimetriaJogo8((Jogo8) busca.getEstadoFinal()));
+		}
+
 		System.out.println("Executando...");
 
 		// Obter inicio
 		long inicio = System.currentTimeMillis();
 
-		// Executar busca
-		Estado resultado = busca.executar();
+		// Executar busca, limitada pelo tempo maximo se informado
+		Orcamento orcamento = new Orcamento();
+		Long tempoMaximo = Long.getLong("jogo8.tempoMaximo");
+
+		if (tempoMaximo != null) {
+			orcamento.setTempoMaximo(tempoMaximo, TimeUnit.SECONDS);
+		}
+
+		ResultadoBusca resultadoBusca = busca.executar(orcamento);
+		Estado resultado = resultadoBusca.getSolucao();
 
 		// Obter fim
 		long fim = System.currentTimeMillis();
 
 		System.out.println();
-		System.out.println("Finalizado!");
+		System.out.println("Finalizado! (" + resultadoBusca.getSituacao() + ")");
 
 		// Mostrar detalhes
 		Main.mostrarDetalhes(busca, resultado, (fim - inicio));
@@ -229,9 +309,59 @@ public class Main {
 		// Memoria utilizada
 		System.out.println("Memoria utilizada: " + memoriaUtilizada());
 
-		// Tamanho das listas abertas e fechadas
-		System.out.println("Lista aberta: " + Main.mostrarTamanhoLista(busca.getListaAberta()));
-		System.out.println("Lista fechada: " + Main.mostrarTamanhoLista(busca.getListaFechada()));
+		// Tamanho das listas abertas e fechadas (algumas buscas nao as
+		// utilizam)
+		if (busca.getListaAberta() != null) {
+			System.out.println("Lista aberta: " + Main.mostrarTamanhoLista(busca.getListaAberta().size()));
+		}
+
+		if (busca.getListaFechada() != null) {
+			System.out.println("Lista fechada: " + Main.mostrarTamanhoLista(busca.getListaFechada().size()));
+		}
+
+		// Estatisticas da busca
+		EstatisticasBusca estatisticas = busca.getEstatisticas();
+
+		System.out.printf("Estados expandidos: %,d%n", estatisticas.getNosExpandidos());
+		System.out.printf("Estados gerados: %,d%n", estatisticas.getNosGerados());
+		System.out.printf("Duplicados descartados: %,d%n", estatisticas.getDuplicadosDescartados());
+		System.out.printf("Pico da fronteira: %,d%n", estatisticas.getPicoFronteira());
+		System.out.printf("Fator de ramificacao: %.3f%n", estatisticas.getFatorRamificacao());
+
+		if (resultado != null && resultado.getPai() != null) {
+			int profundidade = 0;
+			for (Estado pai = resultado.getPai(); pai != null; pai = pai.getPai()) {
+				profundidade++;
+			}
+
+			System.out.printf("Fator de ramificacao efetivo: %.3f%n", estatisticas.getFatorRamificacaoEfetivo(profundidade));
+		}
+
+		if (estatisticas.getAvaliacoesHeuristica() > 0) {
+			System.out.printf("Calculos da funcao H: %,d", estatisticas.getAvaliacoesHeuristica());
+
+			if (estatisticas.isDetalhada()) {
+				System.out.printf(" em %.3f ms", estatisticas.getTempoHeuristica() / 1e6);
+			}
+
+			System.out.println();
+		}
+
+		// Estados expandidos em cada profundidade (apenas no modo detalhado)
+		long[] expandidosPorProfundidade = estatisticas.getExpandidosPorProfundidade();
+
+		for (int i = 0; i < expandidosPorProfundidade.length; i++) {
+			System.out.printf("Profundidade %d: %,d expandidos%n", i, expandidosPorProfundidade[i]);
+		}
+
+		// Tamanho e tempo de cada camada da busca paralela
+		if (busca instanceof BuscaAmplitudeParalela) {
+			BuscaAmplitudeParalela buscaParalela = (BuscaAmplitudeParalela) busca;
+
+			for (int i = 0; i < buscaParalela.getQuantidadeCamadas(); i++) {
+				System.out.printf("Camada %d: %,d estados em %.3f ms%n", i, buscaParalela.getTamanhoCamada(i), buscaParalela.getTempoCamada(i) / 1e6);
+			}
+		}
 
 		System.out.println("---------------------------------------");
 	}
@@ -248,7 +378,7 @@ public class Main {
 		long memoriaLivre = runtime.freeMemory();
 		long memoriaUsada = memoriaTotal - memoriaLivre;
 
-		return String.format("%,d / %,d (%,d %%)", memoriaUsada, memoriaTotal, (memoriaUsada / memoriaTotal));
+		return String.format("%,d / %,d (%,d %%)", memoriaUsada, memoriaTotal, (memoriaUsada * 100 / memoriaTotal));
 	}
 
 	/**
@@ -280,19 +410,21 @@ public class Main {
 
 		// Imprimir total de passos encontrado pela busca
 		System.out.println("\nTotal de passos: " + passos);
+
+		// Imprimir os movimentos de forma resumida
+		if (resultado instanceof Jogo8) {
+			System.out.println("Movimentos: " + ((Jogo8) resultado).descreverCaminho());
+		}
 	}
 
 	/**
-	 * Retorna um status referente ao tamanho da lista informada.
+	 * Retorna um status referente ao tamanho de uma lista.
 	 * 
-	 * @param lista
-	 *            A lista que sera analisada.
+	 * @param tamanhoLista
+	 *            O tamanho da lista que sera analisada.
 	 * @return Uma {@link String} informando ao usuario o tamanho desta lista.
 	 */
-	private static String mostrarTamanhoLista(Collection<Estado> lista) {
-		// Obter tamanho da lista
-		int tamanhoLista = lista.size();
-
+	private static String mostrarTamanhoLista(int tamanhoLista) {
 		if (tamanhoLista > 0) {
 			if (tamanhoLista == 1) {
 				return "1 elemento";
@@ -0,0 +1,203 @@
+package jogo8.main;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.util.concurrent.TimeUnit;
+
+import jogo8.lote.CacheSolucoes;
+import jogo8.lote.FabricaBusca;
+import jogo8.lote.LeitorInstancias;
+import jogo8.lote.ResolvedorLote;
+import jogo8.lote.ResultadoInstancia;
+import jogo8.lote.SaidaLote;
+import jogo8.model.Busca;
+import jogo8.model.impl.BuscaAmplitude;
+import jogo8.model.impl.BuscaProfundidade;
+import jogo8.model.impl.jogo8.BuscaIDAEstrela;
+import jogo8.model.impl.jogo8.HeuristicaConflitoLinear;
+import jogo8.model.impl.jogo8.HeuristicaDistanciaCaminhada;
+import jogo8.model.impl.jogo8.HeuristicaManhattan;
+import jogo8.model.impl.jogo8.HeuristicaPosicaoIncorretas;
+import jogo8.model.impl.jogo8.Jogo8;
+import jogo8.model.impl.jogo8.SimetriaJogo8;
+import jogo8.util.JmxUtils;
+
+/**
+ * Aplicativo que resolve, em paralelo, as instancias de um arquivo (ver
+ * {@link LeitorInstancias}). Para cada instancia e impressa uma linha com o
+ * indice, a quantidade de movimentos da solucao (-1 se nao houver), os estados
+ * expandidos e os sucessores gerados pela busca (ver
+ * {@link jogo8.model.EstatisticasBusca}) e o tempo da busca.
+ * <p>
+ * Uso: <code>MainLote &lt;arquivo|-&gt;
+ * &lt;amplitude|profundidade|posicoes|manhattan|conflitolinear|caminhada|
+ * idaestrela|idaconflitolinear|idacaminhada&gt;
+ * &lt;espiral|ordenado&gt; &lt;dimensao&gt; [&lt;threads&gt;
+ * [&lt;janela&gt; [&lt;entrada|conclusao&gt;]]]</code>. Por padrao sao
+ * utilizadas todas as CPUs, a janela e quatro vezes a quantidade de threads e
+ * os resultados sao impressos na ordem da entrada.
+ * <p>
+ * Com <code>-Djogo8.cache=&lt;capacidade&gt;</code>, as solucoes sao guardadas
+ * em um {@link CacheSolucoes} com a capacidade informada e, opcionalmente, o
+ * tempo de vida <code>-Djogo8.cacheTtl=&lt;segundos&gt;</code>. Com
+ * <code>-Djogo8.simetria=true</code>, as buscas e o cache tratam os estados
+ * simetricos como um so (ver {@link SimetriaJogo8}).
+ * 
+ * @author Jonathan Henrique de Souza
+ * 
+ */
+public class MainLote {
+
+	/**
+	 * Metodo responsavel pela execucao do aplicativo.
+	 * 
+	 * @param args
+	 *            O arquivo de entrada (<code>-</code> para a entrada padrao),
+	 *            a busca, o tipo do estado final, a dimensao do tabuleiro e,
+	 *            opcionalmente, a quantidade de threads, a janela e a ordem de
+	 *            saida.
+	 * @throws IOException
+	 *             Caso ocorra um erro ao ler o arquivo.
+	 * @throws InterruptedException
+	 *             Caso a execucao seja interrompida.
+	 */
+	public static void main(String[] args) throws IOException, InterruptedException {
+		if (args.length < 4) {
+			System.out.println("Uso: MainLote <arquivo|-> <amplitude|profundidade|posicoes|manhattan|conflitolinear|caminhada|idaestrela|idaconflitolinear|idacaminhada> <espiral|ordenado> <dimensao> [<threads> [<janela> [<entrada|conclusao>]]]");
+			System.out.println("Exemplo: MainLote instancias.txt idaestrela espiral 3 8");
+			System.exit(1);
+		}
+
+		Jogo8 estadoFinal = new Jogo8(null, GeradorBancoPadroes.criarEstadoFinal(args[2], Integer.parseInt(args[3])));
+		SimetriaJogo8 simetria = Boolean.getBoolean("jogo8.simetria") ? new SimetriaJogo8(estadoFinal) : null;
+		FabricaBusca fabrica = MainLote.criarFabrica(args[1], estadoFinal, simetria);
+
+		int threads = args.length > 4 ? Integer.parseInt(args[4]) : Runtime.getRuntime().availableProcessors();
+		int janela = args.length > 5 ? Integer.parseInt(args[5]) : threads * 4;
+		boolean manterOrdem = args.length <= 6 || args[6].equalsIgnoreCase("entrada");
+
+		ResolvedorLote resolvedor = new ResolvedorLote(fabrica, estadoFinal, threads, janela, manterOrdem);
+
+		// Cache das solucoes, se solicitado
+		Integer capacidadeCache = Integer.getInteger("jogo8.cache");
+
+		if (capacidadeCache != null) {
+			Long tempoVida = Long.getLong("jogo8.cacheTtl");
+			CacheSolucoes cache = tempoVida == null ? new CacheSolucoes(capacidadeCache) : new CacheSolucoes(capacidadeCache, tempoVida, TimeUnit.SECONDS);
+
+			if (Boolean.getBoolean("jogo8.jmx")) {
+				JmxUtils.registrar(cache, "CacheSolucoes");
+			}
+
+			cache.setSimetria(simetria);
+			resolvedor.setCache(cache);
+		}
+
+		InputStream entrada = args[0].equals("-") ? System.in : new FileInputStream(args[0]);
+		final PrintWriter saida = new PrintWriter(new BufferedWriter(new OutputStreamWriter(System.out)));
+
+		try {
+			BufferedReader leitor = new BufferedReader(new InputStreamReader(entrada, "UTF-8"));
+
+			saida.println("# indice\tmovimentos\texpandidos\tgerados\ttempo(ms)");
+
+			// Obter inicio
+			long inicio = System.currentTimeMillis();
+
+			long total = resolvedor.resolver(new LeitorInstancias(leitor), new SaidaLote() {
+				@Override
+				public void receber(ResultadoInstancia resultado) {
+					saida.printf("%d\t%d\t%d\t%d\t%.3f%n", resultado.getIndice(), resultado.getProfundidade(), resultado.getNosExpandidos(), resultado.getNosGerados(), resultado.getTempo() / 1e6);
+				}
+			});
+
+			// Obter fim
+			long fim = System.currentTimeMillis();
+
+			saida.flush();
+
+			System.err.printf("%,d instancias em %,d ms com %d threads (%.1f instancias/s)%n", total, (fim - inicio), threads, total * 1000.0 / Math.max(1, fim - inicio));
+
+			CacheSolucoes cache = resolvedor.getCache();
+
+			if (cache != null) {
+				System.err.printf("Cache: %,d acertos, %,d falhas, %,d remocoes, %,d entradas%n", cache.getAcertos(), cache.getFalhas(), cache.getRemocoes(), cache.getTamanho());
+			}
+		} finally {
+			saida.flush();
+			entrada.close();
+		}
+	}
+
+	/**
+	 * Cria a fabrica da busca informada.
+	 * 
+	 * @param nome
+	 *            O nome da busca.
+	 * @param estadoFinal
+	 *            O estado final das buscas.
+	 * @param simetria
+	 *            As simetrias do estado final, ou <code>null</code>.
+	 * @return A fabrica.
+	 * @throws IllegalArgumentException
+	 *             Caso a busca nao exista.
+	 */
+	private static FabricaBusca criarFabrica(final String nome, Jogo8 estadoFinal, final SimetriaJogo8 simetria) {
+		// Validar o nome antes de iniciar as threads
+		MainLote.criarBusca(nome, estadoFinal, estadoFinal);
+
+		return new FabricaBusca() {
+			@Override
+			public Busca criar(Jogo8 estadoInicial, Jogo8 estadoFinal) {
+				Busca busca = MainLote.criarBusca(nome, estadoInicial, estadoFinal);
+
+				busca.setSimetria(simetria);
+
+				return busca;
+			}
+		};
+	}
+
+	/**
+	 * Cria a busca informada.
+	 * 
+	 * @param nome
+	 *            O nome da busca.
+	 * @param estadoInicial
+	 *            O estado inicial da busca.
+	 * @param estadoFinal
+	 *            O estado final da busca.
+	 * @return A busca.
+	 * @throws IllegalArgumentException
+	 *             Caso a busca nao exista.
+	 */
+	private static Busca criarBusca(String nome, Jogo8 estadoInicial, Jogo8 estadoFinal) {
+		if (nome.equals("amplitude")) {
+			return new BuscaAmplitude(estadoInicial, estadoFinal);
+		} else if (nome.equals("profundidade")) {
+			return new BuscaProfundidade(estadoInicial, estadoFinal);
+		} else if (nome.equals("posicoes")) {
+			return new HeuristicaPosicaoIncorretas(estadoInicial, estadoFinal);
+		} else if (nome.equals("manhattan")) {
+			return new HeuristicaManhattan(estadoInicial, estadoFinal);
+		} else if (nome.equals("conflitolinear")) {
+			return new HeuristicaConflitoLinear(estadoInicial, estadoFinal);
+		} else if (nome.equals("caminhada")) {
+			return new HeuristicaDistanciaCaminhada(estadoInicial, estadoFinal);
+		} else if (nome.equals("idaestrela")) {
+			return new BuscaIDAEstrela(new HeuristicaManhattan(estadoInicial, estadoFinal));
+		} else if (nome.equals("idaconflitolinear")) {
+			return new BuscaIDAEstrela(new HeuristicaConflitoLinear(estadoInicial, estadoFinal));
+		} else if (nome.equals("idacaminhada")) {
+			return new BuscaIDAEstrela(new HeuristicaDistanciaCaminhada(estadoInicial, estadoFinal));
+		} else {
+			throw new IllegalArgumentException("Busca invalida: " + nome);
+		}
+	}
+}
\ No newline at end of file
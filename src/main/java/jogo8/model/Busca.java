@@ -1,10 +1,12 @@
 package jogo8.model;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.HashSet;
-import java.util.LinkedList;
-import java.util.List;
+
+import jogo8.model.impl.ConjuntoFechadoCodigo;
+import jogo8.model.impl.ConjuntoFechadoHash;
+import jogo8.model.impl.ConjuntoFechadoIndice;
+import jogo8.model.impl.ConjuntoFechadoSimetrico;
 
 /**
  * Classe pai de todos os objetos que representam um metodo de busca especifico.
@@ -28,13 +30,66 @@ public abstract class Busca {
 	 * Lista aberta desta busca. Tem como objetivo armazenar todos os estados
 	 * que foram gerados pela lista fechada.
 	 */
-	protected List<Estado> listaAberta;
+	protected Fronteira listaAberta;
 
 	/**
 	 * Lista fechada desta busca. Tem como objeto armazenar todos os estados que
 	 * ja foram analisados pela busca.
 	 */
-	protected Collection<Estado> listaFechada;
+	protected ConjuntoFechado listaFechada;
+
+	/**
+	 * Simetrias do estado final, ou <code>null</code> se os estados
+	 * simetricos forem tratados como estados distintos.
+	 */
+	private Simetria simetria;
+
+	/**
+	 * Estatisticas da ultima execucao desta busca.
+	 */
+	protected final EstatisticasBusca estatisticas = new EstatisticasBusca();
+
+	/**
+	 * Ouvintes que recebem os eventos desta busca.
+	 */
+	private OuvinteBusca[] ouvintes = new OuvinteBusca[0];
+
+	/**
+	 * Orcamento utilizado por {@link #executar()}, sem limites.
+	 */
+	private static final Orcamento SEM_LIMITES = new Orcamento();
+
+	/**
+	 * Quantidade de expansoes entre duas verificacoes do tempo e do
+	 * cancelamento. Deve ser uma potencia de 2.
+	 */
+	private static final int INTERVALO_VERIFICACAO = 64;
+
+	/**
+	 * Orcamento da execucao atual.
+	 */
+	private Orcamento orcamento = SEM_LIMITES;
+
+	/**
+	 * Inicio da execucao atual, em nanossegundos.
+	 */
+	private long inicioExecucao;
+
+	/**
+	 * Melhor resultado parcial da execucao atual.
+	 */
+	private Estado melhorParcial;
+
+	/**
+	 * Movimentos do estado que esta sendo expandido, se os estados forem
+	 * enumeraveis (ver {@link EstadoEnumeravel}).
+	 */
+	private int[] movimentos;
+
+	/**
+	 * Rascunho utilizado para verificar os sucessores antes de cria-los.
+	 */
+	private EstadoEnumeravel rascunho;
 
 	/**
 	 * Constroi um novo objeto usado para realizar um determinado metodo de
@@ -69,17 +124,122 @@ public abstract class Busca {
 	}
 
 	/**
-	 * Executa a busca.
+	 * Altera o estado inicial da busca. Permite que a mesma busca resolva
+	 * varias instancias com o mesmo estado final, reaproveitando nas proximas
+	 * execucoes as estruturas alocadas pelas anteriores.
+	 * 
+	 * @param estadoInicial
+	 *            O novo estado inicial desta busca.
+	 */
+	public void setEstadoInicial(Estado estadoInicial) {
+		this.estadoInicial = estadoInicial;
+	}
+
+	/**
+	 * Retorna o valor do atributo simetria
+	 * 
+	 * @return O valor do atributo simetria
+	 */
+	public Simetria getSimetria() {
+		return simetria;
+	}
+
+	/**
+	 * Altera as simetrias do estado final. Com simetrias, um estado e
+	 * descartado se algum estado simetrico a ele ja foi analisado, o que reduz
+	 * os estados armazenados sem alterar o tamanho das solucoes, pois estados
+	 * simetricos possuem a mesma distancia ate o estado final. As solucoes
+	 * continuam na orientacao do estado inicial, ja que apenas o descarte
+	 * utiliza a simetria. Os estados devem possuir codigo (ver
+	 * {@link EstadoCodificado}).
 	 * 
-	 * @return O resultado da busca.
+	 * @param simetria
+	 *            As simetrias do estado final, ou <code>null</code> para
+	 *            tratar os estados simetricos como distintos
+	 */
+	public void setSimetria(Simetria simetria) {
+		this.simetria = simetria;
+
+		// Recriar a lista fechada na proxima execucao
+		listaFechada = null;
+	}
+
+	/**
+	 * Executa a busca sem limites, ate encontrar o estado final ou esgotar os
+	 * estados alcancaveis.
+	 * 
+	 * @return O estado final encontrado ou <code>null</code>.
 	 */
 	public Estado executar() {
+		return executar(SEM_LIMITES).getSolucao();
+	}
+
+	/**
+	 * Executa a busca dentro de um orcamento, coletando suas estatisticas e
+	 * notificando os ouvintes. Se algum limite for ultrapassado, ou o
+	 * cancelamento for solicitado, a busca e interrompida e o melhor resultado
+	 * parcial e retornado.
+	 * 
+	 * @param orcamento
+	 *            Os limites desta execucao.
+	 * @return A situacao final e a solucao ou o melhor resultado parcial.
+	 */
+	public ResultadoBusca executar(Orcamento orcamento) {
+		this.orcamento = orcamento;
+		melhorParcial = null;
+
+		estatisticas.limpar();
+
+		for (OuvinteBusca ouvinte : ouvintes) {
+			ouvinte.buscaIniciada(this);
+		}
+
+		inicioExecucao = System.nanoTime();
+
+		ResultadoBusca resultado;
+
+		try {
+			Estado solucao = buscar();
+
+			if (solucao != null) {
+				resultado = new ResultadoBusca(ResultadoBusca.Situacao.SOLUCIONADA, solucao);
+			} else {
+				resultado = new ResultadoBusca(ResultadoBusca.Situacao.ESGOTADA, null);
+			}
+		} catch (Interrupcao e) {
+			resultado = new ResultadoBusca(e.situacao, obterParcial());
+		} finally {
+			this.orcamento = SEM_LIMITES;
+			estatisticas.setTempoTotal(System.nanoTime() - inicioExecucao);
+		}
+
+		melhorParcial = null;
+
+		for (OuvinteBusca ouvinte : ouvintes) {
+			ouvinte.buscaFinalizada(this, resultado.getSolucao());
+		}
+
+		return resultado;
+	}
+
+	/**
+	 * Realiza a busca. Cada metodo de busca pode redefinir este metodo,
+	 * registrando suas estatisticas (ver
+	 * {@link #registrarExpansao(Estado, int, int)}).
+	 * 
+	 * @return O estado final encontrado ou <code>null</code>.
+	 */
+	protected Estado buscar() {
 		// Criar listas
-		listaAberta = new LinkedList<Estado>();
-		listaFechada = new HashSet<Estado>();
+		prepararListas();
+
+		// Se o estado final nao puder ser alcancado, nao ha o que buscar
+		if (!estadoInicial.isAlcancavel(estadoFinal)) {
+			return null; // Solucao nao encontrada!
+		}
 
 		// Inserir o estado inicial na lista aberta
-		adicionarEstadosListaAberta(listaAberta, estadoInicial);
+		adicionarEstadoListaAberta(listaAberta, estadoInicial);
 
 		// Executar ate encontrar um resultado
 		while (true) {
@@ -90,41 +250,173 @@ public abstract class Busca {
 
 			// Mover o proximo elemento da lista aberta para a lista fechada
 			Estado e = escolherProximoEstado(listaAberta);
-			listaFechada.add(e);
+
+			// Se este estado ja foi analisado, descarta-lo
+			if (!listaFechada.adicionar(e)) {
+				estatisticas.registrarDuplicados(1);
+				continue;
+			}
 
 			// Se este estado for o estado final...
 			if (e.equals(estadoFinal)) {
 				return e; // Solucao encontrada!
 			}
 
+			// Se possivel, enumerar os movimentos sem criar os sucessores
+			// ja analisados
+			if (e instanceof EstadoEnumeravel) {
+				expandir((EstadoEnumeravel) e);
+				continue;
+			}
+
 			// Aplicar todos os operadores possiveis ao estado
 			Collection<Estado> novosEstados = e.aplicarOperadores();
 
+			registrarExpansao(e, -1, novosEstados.size());
+
 			// Se nao tiver novos estados gerados, continuar loop
 			if (novosEstados.isEmpty()) {
 				continue;
 			}
 
-			// Gerar os estados que nao estajam na lista fechada
-			novosEstados.removeAll(listaFechada);
+			// Incluir na lista aberta os estados que nao estejam na lista
+			// fechada
+			for (Estado novoEstado : novosEstados) {
+				if (!listaFechada.contem(novoEstado)) {
+					adicionarEstadoListaAberta(listaAberta, novoEstado);
+				} else {
+					estatisticas.registrarDuplicados(1);
+				}
+			}
 
-			// Incluir estados gerados na lista aberta
-			adicionarEstadosListaAberta(listaAberta, novosEstados);
+			estatisticas.registrarFronteira(listaAberta.size());
 		}
 	}
 
 	/**
-	 * Adicionar os estados na lista aberta. Cada busca determina uma regra para
-	 * adicionar os estados na lista aberta.
+	 * Expande um estado enumeravel, criando apenas os sucessores que nao
+	 * estejam na lista fechada.
 	 * 
-	 * @param listaAberta
-	 *            Referencia para a lista aberta que devera receber os novos
-	 *            estados.
+	 * @param estado
+	 *            O estado que sera expandido.
+	 */
+	private void expandir(EstadoEnumeravel estado) {
+		int quantidade = listarMovimentos(estado);
+
+		registrarExpansao(estado, -1, quantidade);
+
+		for (int i = 0; i < quantidade; i++) {
+			estado.aplicarMovimento(movimentos[i], rascunho);
+
+			if (!listaFechada.contem(rascunho)) {
+				adicionarEstadoListaAberta(listaAberta, estado.criarSucessor(movimentos[i]));
+			} else {
+				estatisticas.registrarDuplicados(1);
+			}
+		}
+
+		estatisticas.registrarFronteira(listaAberta.size());
+	}
+
+	/**
+	 * Lista os movimentos de um estado enumeravel no vetor desta busca (ver
+	 * {@link #getMovimento(int)}). O vetor e o rascunho (ver
+	 * {@link #getRascunho()}) sao criados na primeira expansao e reutilizados
+	 * por todas as seguintes, inclusive das proximas execucoes.
+	 * 
+	 * @param estado
+	 *            O estado que sera expandido.
+	 * @return A quantidade de movimentos.
+	 */
+	protected final int listarMovimentos(EstadoEnumeravel estado) {
+		if (rascunho == null) {
+			movimentos = new int[estado.getMaximoMovimentos()];
+			rascunho = estado.criarRascunho();
+		}
+
+		return estado.listarMovimentos(movimentos);
+	}
+
+	/**
+	 * Retorna um dos movimentos listados por
+	 * {@link #listarMovimentos(EstadoEnumeravel)}.
+	 * 
+	 * @param i
+	 *            A posicao do movimento.
+	 * @return O movimento.
+	 */
+	protected final int getMovimento(int i) {
+		return movimentos[i];
+	}
+
+	/**
+	 * Retorna o rascunho preparado por
+	 * {@link #listarMovimentos(EstadoEnumeravel)}.
 	 * 
-	 * @param estados
-	 *            Os estados que deverao ser adicionados.
+	 * @return O rascunho.
 	 */
-	protected abstract void adicionarEstadosListaAberta(List<Estado> listaAberta, Collection<Estado> estados);
+	protected final EstadoEnumeravel getRascunho() {
+		return rascunho;
+	}
+
+	/**
+	 * Cria a estrutura que armazenara a lista aberta. Cada busca determina a
+	 * ordem em que os estados serao retirados da lista aberta.
+	 * 
+	 * @return Uma nova {@link Fronteira} vazia.
+	 */
+	protected abstract Fronteira criarListaAberta();
+
+	/**
+	 * Cria a estrutura que armazenara a lista fechada. Se o estado final
+	 * puder ser indexado (ver {@link EstadoIndexado}), a lista fechada sera um
+	 * mapa de bits. Caso contrario, se possuir uma representacao compacta (ver
+	 * {@link EstadoCodificado}), apenas os codigos dos estados serao
+	 * armazenados. Com simetrias (ver {@link #setSimetria(Simetria)}), apenas
+	 * os codigos canonicos sao armazenados. A escolha depende apenas do estado
+	 * final, de forma que a lista pode ser reaproveitada quando o estado
+	 * inicial e alterado.
+	 * 
+	 * @return Um novo {@link ConjuntoFechado} vazio.
+	 */
+	protected ConjuntoFechado criarListaFechada() {
+		if (simetria != null) {
+			return new ConjuntoFechadoSimetrico(simetria);
+		}
+
+		if (estadoFinal instanceof EstadoIndexado) {
+			int totalIndices = ((EstadoIndexado) estadoFinal).getTotalIndices();
+
+			if (totalIndices > 0) {
+				return new ConjuntoFechadoIndice(totalIndices);
+			}
+		}
+
+		if (estadoFinal instanceof EstadoCodificado && ((EstadoCodificado) estadoFinal).possuiCodigo()) {
+			return new ConjuntoFechadoCodigo();
+		}
+
+		return new ConjuntoFechadoHash();
+	}
+
+	/**
+	 * Prepara as listas aberta e fechada para uma nova execucao. As listas de
+	 * uma execucao anterior sao esvaziadas e reaproveitadas; caso contrario,
+	 * sao criadas.
+	 */
+	protected void prepararListas() {
+		if (listaAberta == null) {
+			listaAberta = criarListaAberta();
+		} else {
+			listaAberta.limpar();
+		}
+
+		if (listaFechada == null) {
+			listaFechada = criarListaFechada();
+		} else {
+			listaFechada.limpar();
+		}
+	}
 
 	/**
 	 * Adiciona um unico estado na lista aberta.
@@ -134,10 +426,8 @@ public abstract class Busca {
 	 * @param estado
 	 *            O estado que sera adicionado.
 	 */
-	private void adicionarEstadosListaAberta(List<Estado> listaAberta, Estado estado) {
-		Collection<Estado> temp = new ArrayList<Estado>();
-		temp.add(estado);
-		adicionarEstadosListaAberta(listaAberta, temp);
+	protected void adicionarEstadoListaAberta(Fronteira listaAberta, Estado estado) {
+		listaAberta.adicionar(estado);
 	}
 
 	/**
@@ -149,9 +439,169 @@ public abstract class Busca {
 	 *            escolhidos.
 	 * @return O proximo elemento presente na lista aberta que sera analisado.
 	 */
-	private Estado escolherProximoEstado(List<Estado> listaAberta) {
-		// Remover e retornar o primeiro elemento da lista aberta
-		return listaAberta.remove(0);
+	private Estado escolherProximoEstado(Fronteira listaAberta) {
+		// Remover e retornar o proximo elemento da lista aberta
+		return listaAberta.remover();
+	}
+
+	/**
+	 * Registra a expansao de um estado nas estatisticas e notifica os
+	 * ouvintes. Antes, verifica o orcamento da execucao atual e interrompe a
+	 * busca se ele foi ultrapassado.
+	 * 
+	 * @param estado
+	 *            O estado expandido.
+	 * @param profundidade
+	 *            A profundidade do estado, ou -1 para calcula-la pelos pais do
+	 *            estado (apenas no modo detalhado).
+	 * @param sucessores
+	 *            A quantidade de sucessores gerados.
+	 */
+	protected final void registrarExpansao(Estado estado, int profundidade, int sucessores) {
+		long expandidos = estatisticas.getNosExpandidos();
+
+		if (expandidos >= orcamento.getMaxExpansoes() || contarNosArmazenados() > orcamento.getMaxNosArmazenados()) {
+			interromper(ResultadoBusca.Situacao.ORCAMENTO_EXCEDIDO);
+		}
+
+		// O tempo e o cancelamento sao verificados apenas periodicamente
+		if ((expandidos & (INTERVALO_VERIFICACAO - 1)) == 0) {
+			ResultadoBusca.Situacao situacao = verificarOrcamento(0, 0);
+
+			if (situacao != null) {
+				interromper(situacao);
+			}
+		}
+
+		registrarParcial(estado);
+
+		if (profundidade < 0 && estatisticas.isDetalhada()) {
+			profundidade = 0;
+			for (Estado pai = estado.getPai(); pai != null; pai = pai.getPai()) {
+				profundidade++;
+			}
+		}
+
+		estatisticas.registrarExpansao(profundidade, sucessores);
+
+		for (OuvinteBusca ouvinte : ouvintes) {
+			ouvinte.estadoExpandido(this, estado);
+		}
+	}
+
+	/**
+	 * Verifica se o orcamento da execucao atual foi ultrapassado. Pode ser
+	 * chamado por qualquer thread da busca.
+	 * 
+	 * @param expandidos
+	 *            A quantidade de estados expandidos, incluindo os que serao
+	 *            expandidos em seguida.
+	 * @param armazenados
+	 *            A quantidade de estados armazenados.
+	 * @return A situacao que deve interromper a busca, ou <code>null</code>
+	 *         se a busca pode continuar.
+	 */
+	protected final ResultadoBusca.Situacao verificarOrcamento(long expandidos, long armazenados) {
+		Orcamento atual = orcamento;
+
+		if (atual.isCancelado()) {
+			return ResultadoBusca.Situacao.CANCELADA;
+		}
+
+		if (expandidos > atual.getMaxExpansoes() || armazenados > atual.getMaxNosArmazenados()
+				|| System.nanoTime() - inicioExecucao > atual.getTempoMaximo()) {
+			return ResultadoBusca.Situacao.ORCAMENTO_EXCEDIDO;
+		}
+
+		return null;
+	}
+
+	/**
+	 * Interrompe a execucao atual. O resultado parcial e obtido por
+	 * {@link #obterParcial()}.
+	 * 
+	 * @param situacao
+	 *            A situacao final da execucao.
+	 */
+	protected final void interromper(ResultadoBusca.Situacao situacao) {
+		throw new Interrupcao(situacao);
+	}
+
+	/**
+	 * Retorna a quantidade de estados armazenados pela busca, comparada com
+	 * {@link Orcamento#getMaxNosArmazenados()}. Por padrao, e a soma dos
+	 * tamanhos das listas aberta e fechada.
+	 * 
+	 * @return A quantidade de estados armazenados.
+	 */
+	protected long contarNosArmazenados() {
+		long total = 0;
+
+		if (listaAberta != null) {
+			total += listaAberta.size();
+		}
+
+		if (listaFechada != null) {
+			total += listaFechada.size();
+		}
+
+		return total;
+	}
+
+	/**
+	 * Registra um candidato a melhor resultado parcial (ver
+	 * {@link #isMelhorParcial(Estado, Estado)}).
+	 * 
+	 * @param estado
+	 *            O candidato.
+	 */
+	protected final void registrarParcial(Estado estado) {
+		if (estado != null && (melhorParcial == null || isMelhorParcial(estado, melhorParcial))) {
+			melhorParcial = estado;
+		}
+	}
+
+	/**
+	 * Compara dois candidatos a melhor resultado parcial. Por padrao, o
+	 * estado expandido mais recentemente e o melhor.
+	 * 
+	 * @param candidato
+	 *            O novo candidato.
+	 * @param atual
+	 *            O melhor resultado parcial atual.
+	 * @return <code>true</code> se o candidato for melhor.
+	 */
+	protected boolean isMelhorParcial(Estado candidato, Estado atual) {
+		return true;
+	}
+
+	/**
+	 * Retorna o melhor resultado parcial de uma execucao interrompida.
+	 * 
+	 * @return O melhor resultado parcial, ou <code>null</code>.
+	 */
+	protected Estado obterParcial() {
+		return melhorParcial;
+	}
+
+	/**
+	 * Adiciona um ouvinte que recebera os eventos desta busca.
+	 * 
+	 * @param ouvinte
+	 *            O ouvinte.
+	 */
+	public void adicionarOuvinte(OuvinteBusca ouvinte) {
+		ouvintes = Arrays.copyOf(ouvintes, ouvintes.length + 1);
+		ouvintes[ouvintes.length - 1] = ouvinte;
+	}
+
+	/**
+	 * Retorna as estatisticas da ultima execucao desta busca.
+	 * 
+	 * @return As estatisticas.
+	 */
+	public EstatisticasBusca getEstatisticas() {
+		return estatisticas;
 	}
 
 	/**
@@ -159,7 +609,7 @@ public abstract class Busca {
 	 * 
 	 * @return O valor do atributo <code>listaAberta</code>
 	 */
-	public List<Estado> getListaAberta() {
+	public Fronteira getListaAberta() {
 		return listaAberta;
 	}
 
@@ -168,7 +618,28 @@ public abstract class Busca {
 	 * 
 	 * @return O valor do atributo <code>listaFechada</code>
 	 */
-	public Collection<Estado> getListaFechada() {
+	public ConjuntoFechado getListaFechada() {
 		return listaFechada;
 	}
+
+	/**
+	 * Excecao utilizada para interromper a execucao atual, de qualquer ponto
+	 * da busca, ate {@link Busca#executar(Orcamento)}.
+	 */
+	private static final class Interrupcao extends RuntimeException {
+
+		private static final long serialVersionUID = 1L;
+
+		/**
+		 * A situacao final da execucao.
+		 */
+		private final ResultadoBusca.Situacao situacao;
+
+		Interrupcao(ResultadoBusca.Situacao situacao) {
+			// Sem pilha: a excecao apenas desvia o fluxo
+			super(null, null, false, false);
+			this.situacao = situacao;
+		}
+
+	}
 }
\ No newline at end of file
@@ -1,19 +1,62 @@
 package jogo8.model;
 
-import java.util.Collection;
-import java.util.Collections;
-import java.util.List;
+import java.util.HashMap;
+import java.util.Map;
 
+import jogo8.model.impl.FronteiraPrioridade;
 import jogo8.model.impl.jogo8.Jogo8;
+import jogo8.util.ArvoreCaminhos;
+import jogo8.util.MapaLongInt;
 
 /**
- * Classe pai de todas as buscas heuristicas.
+ * Classe pai de todas as buscas heuristicas. Executa o algoritmo A*: os estados
+ * sao analisados pela ordem da funcao F e cada estado so e (re)inserido na
+ * lista aberta quando e alcancado por um caminho mais curto do que o melhor ja
+ * conhecido. As copias de um estado que ficarem desatualizadas na lista aberta
+ * sao descartadas quando retiradas (remocao preguicosa). O registro da menor
+ * funcao G de cada estado substitui a lista fechada, que nao e utilizada; a
+ * quantidade de estados expandidos esta nas estatisticas da busca (ver
+ * {@link #getEstatisticas()}).
+ * <p>
+ * No modo de caminho compacto (ver {@link #setCaminhoCompacto(boolean)}), os
+ * estados nao mantem referencia para o pai: o caminho e registrado em uma
+ * {@link ArvoreCaminhos} e reconstruido apenas ao final da busca.
  * 
  * @author Jonathan Henrique de Souza
  * 
  */
 public abstract class BuscaHeuristica extends Busca {
 
+	/**
+	 * Menor funcao G conhecida de cada estado gerado, indexada pelo codigo do
+	 * estado, ou pelo codigo canonico se houver simetrias (ver
+	 * {@link #setSimetria(Simetria)}). Utilizada quando os estados possuem
+	 * codigo.
+	 */
+	private MapaLongInt melhoresG;
+
+	/**
+	 * Estado com a menor funcao G conhecida de cada estado gerado. Utilizado
+	 * quando os estados nao possuem codigo (tabuleiros maiores que 4x4).
+	 */
+	private Map<Jogo8, Jogo8> melhoresEstados;
+
+	/**
+	 * Indica se o modo de caminho compacto foi solicitado.
+	 */
+	private boolean caminhoCompacto;
+
+	/**
+	 * Arvore com o caminho de cada estado gerado pela execucao atual, ou
+	 * <code>null</code> se o modo de caminho compacto nao estiver em uso.
+	 */
+	private ArvoreCaminhos arvore;
+
+	/**
+	 * Arvore da execucao anterior, reaproveitada pela proxima execucao.
+	 */
+	private ArvoreCaminhos arvoreReservada;
+
 	/**
 	 * Constroi um novo objeto capaz de realizar buscas heuristicas.
 	 * 
@@ -33,25 +76,326 @@ public abstract class BuscaHeuristica extends Busca {
 	 *            O estado que sera calculado a funcao H.
 	 * @return O resultado do calculo da funcao H.
 	 */
-	protected abstract int funcaoH(Estado estado);
+	public abstract int funcaoH(Estado estado);
+
+	/**
+	 * Calcula a funcao H de um sucessor a partir da funcao H do seu pai e do
+	 * movimento que o gerou. Por padrao, a funcao H e calculada por completo;
+	 * as heuristicas que podem ser atualizadas incrementalmente sobrescrevem
+	 * este metodo.
+	 * 
+	 * @param sucessor
+	 *            O estado que sera calculado a funcao H.
+	 * @param funcaoHPai
+	 *            A funcao H do pai, calculada por esta heuristica.
+	 * @param movimento
+	 *            O movimento aplicado ao pai para gerar o sucessor (ver
+	 *            {@link EstadoEnumeravel#listarMovimentos(int[])}).
+	 * @return O resultado do calculo da funcao H.
+	 */
+	public int funcaoH(Estado sucessor, int funcaoHPai, int movimento) {
+		return funcaoH(sucessor);
+	}
+
+	/**
+	 * Calcula a funcao H de um estado, registrando o calculo nas
+	 * estatisticas.
+	 * 
+	 * @param estado
+	 *            O estado que sera calculado a funcao H.
+	 * @return O resultado do calculo da funcao H.
+	 */
+	protected final int avaliar(Estado estado) {
+		if (!estatisticas.isDetalhada()) {
+			estatisticas.registrarAvaliacaoHeuristica(0);
+			return funcaoH(estado);
+		}
+
+		long inicio = System.nanoTime();
+		int resultado = funcaoH(estado);
+		estatisticas.registrarAvaliacaoHeuristica(System.nanoTime() - inicio);
+
+		return resultado;
+	}
+
+	/**
+	 * Calcula a funcao H de um sucessor a partir da funcao H do seu pai,
+	 * registrando o calculo nas estatisticas.
+	 * 
+	 * @param sucessor
+	 *            O estado que sera calculado a funcao H.
+	 * @param funcaoHPai
+	 *            A funcao H do pai.
+	 * @param movimento
+	 *            O movimento aplicado ao pai para gerar o sucessor.
+	 * @return O resultado do calculo da funcao H.
+	 */
+	protected final int avaliar(Estado sucessor, int funcaoHPai, int movimento) {
+		if (!estatisticas.isDetalhada()) {
+			estatisticas.registrarAvaliacaoHeuristica(0);
+			return funcaoH(sucessor, funcaoHPai, movimento);
+		}
+
+		long inicio = System.nanoTime();
+		int resultado = funcaoH(sucessor, funcaoHPai, movimento);
+		estatisticas.registrarAvaliacaoHeuristica(System.nanoTime() - inicio);
+
+		return resultado;
+	}
+
+	@Override
+	protected Estado buscar() {
+		// Criar a lista aberta. O registro da menor funcao G substitui a
+		// lista fechada.
+		if (listaAberta == null) {
+			listaAberta = criarListaAberta();
+		} else {
+			listaAberta.limpar();
+		}
+		listaFechada = null;
+
+		// Se o estado final nao puder ser alcancado, nao ha o que buscar
+		if (!estadoInicial.isAlcancavel(estadoFinal)) {
+			return null; // Solucao nao encontrada!
+		}
+
+		Jogo8 inicial = (Jogo8) estadoInicial;
+
+		// Reaproveitar o mapa de uma execucao anterior, se houver
+		if (inicial.possuiCodigo()) {
+			if (melhoresG == null) {
+				melhoresG = new MapaLongInt();
+			} else {
+				melhoresG.limpar();
+			}
+			melhoresEstados = null;
+		} else {
+			if (melhoresEstados == null) {
+				melhoresEstados = new HashMap<Jogo8, Jogo8>();
+			} else {
+				melhoresEstados.clear();
+			}
+			melhoresG = null;
+		}
+
+		// O estado inicial e a raiz da arvore de caminhos
+		if (caminhoCompacto) {
+			if (arvoreReservada == null) {
+				arvoreReservada = new ArvoreCaminhos();
+			} else {
+				arvoreReservada.limpar();
+			}
+			arvore = arvoreReservada;
+			inicial.setIndiceCaminho(0);
+		} else {
+			arvore = null;
+		}
+
+		// Inserir o estado inicial na lista aberta
+		registrarMelhorG(inicial);
+		adicionarEstadoListaAberta(listaAberta, inicial);
+
+		// Executar ate encontrar um resultado
+		while (!listaAberta.isEmpty()) {
+			Jogo8 e = (Jogo8) listaAberta.remover();
+
+			// Se ja existe um caminho mais curto para este estado, descartar
+			// esta copia
+			if (e.getFuncaoG() > obterMelhorG(e)) {
+				estatisticas.registrarDuplicados(1);
+				continue;
+			}
+
+			// Se este estado for o estado final...
+			if (e.equals(estadoFinal)) {
+				return reconstruirCaminho(e); // Solucao encontrada!
+			}
+
+			// Enumerar os movimentos possiveis, criando apenas os sucessores
+			// que serao inseridos na lista aberta
+			int quantidade = listarMovimentos(e);
+			Jogo8 rascunho = (Jogo8) getRascunho();
+
+			registrarExpansao(e, e.getFuncaoG(), quantidade);
+
+			for (int i = 0; i < quantidade; i++) {
+				e.aplicarMovimento(getMovimento(i), rascunho);
+
+				// Ignorar estados ja alcancados por um caminho nao mais longo.
+				// Estados fechados so sao reabertos se a heuristica for
+				// inconsistente.
+				if (rascunho.getFuncaoG() >= obterMelhorG(rascunho)) {
+					estatisticas.registrarDuplicados(1);
+					continue;
+				}
+
+				Jogo8 filho = e.criarSucessor(getMovimento(i));
+				filho.setFuncaoH(avaliar(filho, e.getFuncaoH(), getMovimento(i)));
+
+				// Registrar o caminho na arvore e liberar o estado pai
+				if (arvore != null) {
+					filho.setIndiceCaminho(arvore.adicionar(e.getIndiceCaminho(), getMovimento(i)));
+					filho.desligarPai();
+				}
+
+				registrarMelhorG(filho);
+				listaAberta.adicionar(filho);
+			}
+
+			estatisticas.registrarFronteira(listaAberta.size());
+		}
+
+		return null; // Solucao nao encontrada!
+	}
+
+	/**
+	 * Reconstroi a cadeia de estados desde o estado inicial ate um estado,
+	 * aplicando os movimentos registrados na arvore de caminhos. Sem a arvore,
+	 * o estado ja possui a cadeia e e retornado sem alteracoes.
+	 * 
+	 * @param estado
+	 *            O estado cujo caminho sera reconstruido.
+	 * @return O estado equivalente, ligado aos seus pais.
+	 */
+	private Jogo8 reconstruirCaminho(Jogo8 estado) {
+		if (arvore == null) {
+			return estado;
+		}
+
+		Jogo8 atual = (Jogo8) estadoInicial;
+
+		for (int movimento : arvore.reconstruir(estado.getIndiceCaminho())) {
+			atual = atual.criarSucessor(movimento);
+		}
+
+		atual.setFuncaoH(estado.getFuncaoH());
+
+		return atual;
+	}
+
+	/**
+	 * Retorna a menor funcao G ja registrada para um estado.
+	 * 
+	 * @param estado
+	 *            O estado que sera procurado.
+	 * @return A menor funcao G conhecida ou {@link Integer#MAX_VALUE} se o
+	 *         estado ainda nao foi gerado.
+	 */
+	private int obterMelhorG(Jogo8 estado) {
+		if (melhoresG != null) {
+			return melhoresG.obter(obterChave(estado), Integer.MAX_VALUE);
+		}
+
+		Jogo8 melhor = melhoresEstados.get(estado);
+
+		return melhor == null ? Integer.MAX_VALUE : melhor.getFuncaoG();
+	}
+
+	/**
+	 * Registra a funcao G de um estado como a menor conhecida.
+	 * 
+	 * @param estado
+	 *            O estado que sera registrado.
+	 */
+	private void registrarMelhorG(Jogo8 estado) {
+		if (melhoresG != null) {
+			melhoresG.colocar(obterChave(estado), estado.getFuncaoG());
+		} else {
+			melhoresEstados.put(estado, estado);
+		}
+	}
+
+	/**
+	 * Retorna a chave de um estado no mapa das menores funcoes G: o codigo do
+	 * estado ou, se houver simetrias, o codigo canonico.
+	 * 
+	 * @param estado
+	 *            O estado.
+	 * @return A chave do estado.
+	 */
+	private long obterChave(Jogo8 estado) {
+		Simetria simetria = getSimetria();
 
+		return simetria == null ? estado.getCodigo() : simetria.canonizar(estado.getCodigo());
+	}
+
+	/**
+	 * Retorna a quantidade de estados na lista aberta mais a quantidade de
+	 * estados com a menor funcao G registrada.
+	 */
 	@Override
-	protected void adicionarEstadosListaAberta(List<Estado> listaAberta, Collection<Estado> estados) {
-		/*
-		 * Antes de adicionar os estados na lista, calcular funcao H de todos os
-		 * elementos
-		 */
-		for (Estado estado : estados) {
-			Jogo8 jogo8 = (Jogo8) estado;
+	protected long contarNosArmazenados() {
+		long total = listaAberta == null ? 0 : listaAberta.size();
+
+		if (melhoresG != null) {
+			total += melhoresG.size();
+		} else if (melhoresEstados != null) {
+			total += melhoresEstados.size();
+		}
 
-			int funcaoH = funcaoH(jogo8); // calcular funcao H
+		return total;
+	}
 
-			jogo8.setFuncaoH(funcaoH); // setar funcao H no objeto
+	@Override
+	protected Estado obterParcial() {
+		Estado parcial = super.obterParcial();
+
+		return parcial == null ? null : reconstruirCaminho((Jogo8) parcial);
+	}
+
+	/**
+	 * Verifica se o modo de caminho compacto esta ativo.
+	 * 
+	 * @return <code>true</code> se o modo de caminho compacto esta ativo.
+	 */
+	public boolean isCaminhoCompacto() {
+		return caminhoCompacto;
+	}
+
+	/**
+	 * Ativa ou desativa o modo de caminho compacto do A* desta classe. Nesse
+	 * modo, cada estado gerado registra apenas o indice do pai e o movimento
+	 * em uma {@link ArvoreCaminhos}, e os estados fechados deixam de ser
+	 * mantidos vivos pelos seus sucessores. A cadeia de estados da solucao e
+	 * reconstruida ao final da busca.
+	 * 
+	 * @param caminhoCompacto
+	 *            <code>true</code> para ativar o modo de caminho compacto.
+	 */
+	public void setCaminhoCompacto(boolean caminhoCompacto) {
+		this.caminhoCompacto = caminhoCompacto;
+	}
+
+	@Override
+	protected boolean isMelhorParcial(Estado candidato, Estado atual) {
+		// O estado mais proximo do estado final, segundo a heuristica; no
+		// empate, o mais profundo
+		Jogo8 novo = (Jogo8) candidato;
+		Jogo8 melhor = (Jogo8) atual;
+
+		if (novo.getFuncaoH() != melhor.getFuncaoH()) {
+			return novo.getFuncaoH() < melhor.getFuncaoH();
 		}
 
-		listaAberta.addAll(estados); // adicionar estados
+		return novo.getFuncaoG() > melhor.getFuncaoG();
+	}
+
+	@Override
+	protected Fronteira criarListaAberta() {
+		// Ordenar pela funcao F dos estados
+		return new FronteiraPrioridade();
+	}
+
+	@Override
+	protected void adicionarEstadoListaAberta(Fronteira listaAberta, Estado estado) {
+		// Antes de adicionar o estado na lista, calcular sua funcao H
+		Jogo8 jogo8 = (Jogo8) estado;
+
+		int funcaoH = avaliar(jogo8); // calcular funcao H
+
+		jogo8.setFuncaoH(funcaoH); // setar funcao H no objeto
 
-		Collections.sort(listaAberta); // ordenar lista
+		listaAberta.adicionar(jogo8); // adicionar estado
 	}
 
 }
\ No newline at end of file
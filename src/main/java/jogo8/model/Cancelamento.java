@@ -0,0 +1,34 @@
+package jogo8.model;
+
+/**
+ * Sinal de cancelamento cooperativo de uma ou mais buscas. Qualquer thread
+ * pode cancelar; as buscas verificam o sinal periodicamente e terminam com a
+ * situacao {@link ResultadoBusca.Situacao#CANCELADA}.
+ * 
+ * @author Jonathan Henrique de Souza
+ * 
+ */
+public class Cancelamento {
+
+	/**
+	 * Indica se o cancelamento foi solicitado.
+	 */
+	private volatile boolean cancelado;
+
+	/**
+	 * Solicita o cancelamento das buscas que utilizam este sinal.
+	 */
+	public void cancelar() {
+		cancelado = true;
+	}
+
+	/**
+	 * Verifica se o cancelamento foi solicitado.
+	 * 
+	 * @return <code>true</code> se o cancelamento foi solicitado.
+	 */
+	public boolean isCancelado() {
+		return cancelado;
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,45 @@
+package jogo8.model;
+
+/**
+ * Interface para todas as estruturas que armazenam a lista fechada de uma
+ * busca, ou seja, os estados que ja foram analisados.
+ * 
+ * @author Jonathan Henrique de Souza
+ * 
+ */
+public interface ConjuntoFechado {
+
+	/**
+	 * Adiciona um estado no conjunto.
+	 * 
+	 * @param estado
+	 *            O estado que sera adicionado.
+	 * @return <code>true</code> se o estado ainda nao pertencia ao conjunto,
+	 *         <code>false</code> caso contrario.
+	 */
+	boolean adicionar(Estado estado);
+
+	/**
+	 * Verifica se um estado pertence ao conjunto.
+	 * 
+	 * @param estado
+	 *            O estado que sera procurado.
+	 * @return <code>true</code> se o estado ja foi adicionado,
+	 *         <code>false</code> caso contrario.
+	 */
+	boolean contem(Estado estado);
+
+	/**
+	 * Retorna a quantidade de estados presentes no conjunto.
+	 * 
+	 * @return O tamanho do conjunto.
+	 */
+	int size();
+
+	/**
+	 * Remove todos os estados do conjunto, mantendo a memoria ja alocada para
+	 * que o conjunto possa ser reutilizado por outra execucao.
+	 */
+	void limpar();
+
+}
\ No newline at end of file
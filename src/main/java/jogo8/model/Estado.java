@@ -24,4 +24,17 @@ public interface Estado extends Comparable<Estado> {
 	 */
 	Estado getPai();
 
+	/**
+	 * Verifica se o estado informado pode ser alcancado a partir deste estado.
+	 * Utilizado pelas buscas para desistir imediatamente de problemas sem
+	 * solucao. Estados que nao conseguem determinar esta informacao devem
+	 * retornar <code>true</code>.
+	 * 
+	 * @param destino
+	 *            O estado que se deseja alcancar.
+	 * @return <code>false</code> se o destino for comprovadamente
+	 *         inalcancavel, <code>true</code> caso contrario.
+	 */
+	boolean isAlcancavel(Estado destino);
+
 }
\ No newline at end of file
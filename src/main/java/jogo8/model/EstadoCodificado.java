@@ -0,0 +1,28 @@
+package jogo8.model;
+
+/**
+ * Interface para os estados que podem ser representados de forma compacta por
+ * um unico <code>long</code>. Se {@link #possuiCodigo()} for verdadeiro, dois
+ * estados sao iguais se, e somente se, possuem o mesmo codigo.
+ * 
+ * @author Jonathan Henrique de Souza
+ * 
+ */
+public interface EstadoCodificado extends Estado {
+
+	/**
+	 * Retorna o codigo que representa este estado.
+	 * 
+	 * @return O codigo deste estado.
+	 */
+	long getCodigo();
+
+	/**
+	 * Indica se o codigo representa este estado sem perda de informacao.
+	 * 
+	 * @return <code>true</code> se o codigo identifica unicamente este estado,
+	 *         <code>false</code> se for apenas um hash.
+	 */
+	boolean possuiCodigo();
+
+}
\ No newline at end of file
@@ -0,0 +1,65 @@
+package jogo8.model;
+
+/**
+ * Interface para os estados cujos sucessores podem ser enumerados sem criar
+ * objetos. Os movimentos validos sao listados em um vetor fornecido pela
+ * busca, e cada movimento pode ser aplicado sobre um estado de rascunho,
+ * reutilizado por toda a busca, para verificar se o sucessor ja foi
+ * analisado. Apenas os sucessores que realmente serao armazenados sao criados
+ * (ver {@link #criarSucessor(int)}).
+ * <p>
+ * O resultado e o mesmo de {@link Estado#aplicarOperadores()}, na mesma ordem.
+ * 
+ * @author Jonathan Henrique de Souza
+ * 
+ */
+public interface EstadoEnumeravel extends Estado {
+
+	/**
+	 * Retorna a maior quantidade de movimentos validos de um estado, ou seja,
+	 * o tamanho minimo do vetor de {@link #listarMovimentos(int[])}.
+	 * 
+	 * @return A quantidade maxima de movimentos.
+	 */
+	int getMaximoMovimentos();
+
+	/**
+	 * Lista os movimentos validos neste estado.
+	 * 
+	 * @param movimentos
+	 *            O vetor que recebera os movimentos, com pelo menos
+	 *            {@link #getMaximoMovimentos()} posicoes.
+	 * @return A quantidade de movimentos validos.
+	 */
+	int listarMovimentos(int[] movimentos);
+
+	/**
+	 * Cria um estado de rascunho compativel com este estado, para ser
+	 * reutilizado por {@link #aplicarMovimento(int, EstadoEnumeravel)}.
+	 * 
+	 * @return Um novo estado de rascunho.
+	 */
+	EstadoEnumeravel criarRascunho();
+
+	/**
+	 * Transforma o rascunho no sucessor deste estado pelo movimento
+	 * informado. O rascunho pode ser consultado nas listas da busca, mas nunca
+	 * deve ser armazenado, pois sera alterado pelo proximo movimento.
+	 * 
+	 * @param movimento
+	 *            Um movimento retornado por {@link #listarMovimentos(int[])}.
+	 * @param rascunho
+	 *            O rascunho, criado por {@link #criarRascunho()}.
+	 */
+	void aplicarMovimento(int movimento, EstadoEnumeravel rascunho);
+
+	/**
+	 * Cria o sucessor deste estado pelo movimento informado.
+	 * 
+	 * @param movimento
+	 *            Um movimento retornado por {@link #listarMovimentos(int[])}.
+	 * @return O novo estado, cujo pai e este estado.
+	 */
+	Estado criarSucessor(int movimento);
+
+}
\ No newline at end of file
@@ -0,0 +1,26 @@
+package jogo8.model;
+
+/**
+ * Interface para os estados que podem ser mapeados, sem colisoes, em um indice
+ * no intervalo <code>[0, getTotalIndices())</code>.
+ * 
+ * @author Jonathan Henrique de Souza
+ * 
+ */
+public interface EstadoIndexado extends Estado {
+
+	/**
+	 * Retorna o indice que representa este estado.
+	 * 
+	 * @return O indice deste estado.
+	 */
+	int getIndice();
+
+	/**
+	 * Retorna a quantidade de indices possiveis para os estados deste tipo.
+	 * 
+	 * @return O total de indices, ou 0 se este estado nao puder ser indexado.
+	 */
+	int getTotalIndices();
+
+}
\ No newline at end of file
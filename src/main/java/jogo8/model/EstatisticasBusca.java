@@ -0,0 +1,304 @@
+package jogo8.model;
+
+import java.util.Arrays;
+
+/**
+ * Contadores de uma execucao de {@link Busca}: estados expandidos, gerados e
+ * descartados, maior tamanho da fronteira, calculos da funcao H e tempos. Os
+ * contadores sao campos <code>long</code> simples, atualizados pela thread da
+ * busca, de forma que o custo de coleta e desprezivel. Buscas paralelas
+ * acumulam contadores por thread e os somam ao final (ver
+ * {@link #somar(EstatisticasBusca)}).
+ * <p>
+ * No modo detalhado tambem sao coletados o tempo de cada calculo da funcao H
+ * e a quantidade de estados expandidos em cada profundidade.
+ * 
+ * @author Jonathan Henrique de Souza
+ * 
+ */
+public class EstatisticasBusca implements EstatisticasBuscaMBean {
+
+	/**
+	 * Quantidade de estados expandidos.
+	 */
+	private long nosExpandidos;
+
+	/**
+	 * Quantidade de sucessores gerados.
+	 */
+	private long nosGerados;
+
+	/**
+	 * Quantidade de estados descartados por ja terem sido alcancados.
+	 */
+	private long duplicadosDescartados;
+
+	/**
+	 * Maior tamanho da fronteira. Nas buscas em profundidade, a fronteira e o
+	 * caminho atual.
+	 */
+	private long picoFronteira;
+
+	/**
+	 * Quantidade de calculos da funcao H.
+	 */
+	private long avaliacoesHeuristica;
+
+	/**
+	 * Tempo dos calculos da funcao H, em nanossegundos. Apenas no modo
+	 * detalhado.
+	 */
+	private long tempoHeuristica;
+
+	/**
+	 * Tempo total da busca, em nanossegundos.
+	 */
+	private long tempoTotal;
+
+	/**
+	 * Indica se o modo detalhado esta ativo.
+	 */
+	private boolean detalhada;
+
+	/**
+	 * Quantidade de estados expandidos em cada profundidade. Apenas no modo
+	 * detalhado.
+	 */
+	private long[] expandidosPorProfundidade = new long[0];
+
+	/**
+	 * Zera todos os contadores, mantendo o modo detalhado.
+	 */
+	public void limpar() {
+		nosExpandidos = 0;
+		nosGerados = 0;
+		duplicadosDescartados = 0;
+		picoFronteira = 0;
+		avaliacoesHeuristica = 0;
+		tempoHeuristica = 0;
+		tempoTotal = 0;
+		Arrays.fill(expandidosPorProfundidade, 0);
+	}
+
+	/**
+	 * Registra a expansao de um estado.
+	 * 
+	 * @param profundidade
+	 *            A profundidade do estado. Utilizada apenas no modo
+	 *            detalhado.
+	 * @param sucessores
+	 *            A quantidade de sucessores gerados.
+	 */
+	public void registrarExpansao(int profundidade, int sucessores) {
+		registrarExpansoes(profundidade, 1, sucessores);
+	}
+
+	/**
+	 * Registra a expansao de varios estados de mesma profundidade de uma so
+	 * vez. Utilizado pelas buscas que expandem camadas inteiras.
+	 * 
+	 * @param profundidade
+	 *            A profundidade dos estados. Utilizada apenas no modo
+	 *            detalhado.
+	 * @param estados
+	 *            A quantidade de estados expandidos.
+	 * @param sucessores
+	 *            A quantidade total de sucessores gerados.
+	 */
+	public void registrarExpansoes(int profundidade, long estados, long sucessores) {
+		nosExpandidos += estados;
+		nosGerados += sucessores;
+
+		if (detalhada) {
+			if (profundidade >= expandidosPorProfundidade.length) {
+				expandidosPorProfundidade = Arrays.copyOf(expandidosPorProfundidade, Math.max(32, profundidade * 2));
+			}
+
+			expandidosPorProfundidade[profundidade] += estados;
+		}
+	}
+
+	/**
+	 * Registra estados descartados por ja terem sido alcancados.
+	 * 
+	 * @param quantidade
+	 *            A quantidade de estados descartados.
+	 */
+	public void registrarDuplicados(long quantidade) {
+		duplicadosDescartados += quantidade;
+	}
+
+	/**
+	 * Registra o tamanho atual da fronteira.
+	 * 
+	 * @param tamanho
+	 *            O tamanho da fronteira.
+	 */
+	public void registrarFronteira(long tamanho) {
+		if (tamanho > picoFronteira) {
+			picoFronteira = tamanho;
+		}
+	}
+
+	/**
+	 * Registra um calculo da funcao H.
+	 * 
+	 * @param tempo
+	 *            O tempo do calculo, em nanossegundos, ou 0 se nao foi medido.
+	 */
+	public void registrarAvaliacaoHeuristica(long tempo) {
+		avaliacoesHeuristica++;
+		tempoHeuristica += tempo;
+	}
+
+	/**
+	 * Soma os contadores de outras estatisticas nestas. O pico da fronteira e
+	 * somado, pois as fronteiras das threads coexistem.
+	 * 
+	 * @param outra
+	 *            As estatisticas que serao somadas.
+	 */
+	public void somar(EstatisticasBusca outra) {
+		nosExpandidos += outra.nosExpandidos;
+		nosGerados += outra.nosGerados;
+		duplicadosDescartados += outra.duplicadosDescartados;
+		picoFronteira += outra.picoFronteira;
+		avaliacoesHeuristica += outra.avaliacoesHeuristica;
+		tempoHeuristica += outra.tempoHeuristica;
+
+		if (outra.expandidosPorProfundidade.length > expandidosPorProfundidade.length) {
+			expandidosPorProfundidade = Arrays.copyOf(expandidosPorProfundidade, outra.expandidosPorProfundidade.length);
+		}
+
+		for (int i = 0; i < outra.expandidosPorProfundidade.length; i++) {
+			expandidosPorProfundidade[i] += outra.expandidosPorProfundidade[i];
+		}
+	}
+
+	@Override
+	public long getNosExpandidos() {
+		return nosExpandidos;
+	}
+
+	@Override
+	public long getNosGerados() {
+		return nosGerados;
+	}
+
+	@Override
+	public long getDuplicadosDescartados() {
+		return duplicadosDescartados;
+	}
+
+	@Override
+	public long getPicoFronteira() {
+		return picoFronteira;
+	}
+
+	@Override
+	public long getAvaliacoesHeuristica() {
+		return avaliacoesHeuristica;
+	}
+
+	@Override
+	public long getTempoHeuristica() {
+		return tempoHeuristica;
+	}
+
+	@Override
+	public long getTempoTotal() {
+		return tempoTotal;
+	}
+
+	/**
+	 * Altera o valor do atributo tempoTotal
+	 * 
+	 * @param tempoTotal
+	 *            O tempo total da busca, em nanossegundos
+	 */
+	public void setTempoTotal(long tempoTotal) {
+		this.tempoTotal = tempoTotal;
+	}
+
+	@Override
+	public double getFatorRamificacao() {
+		return nosExpandidos == 0 ? 0 : (double) nosGerados / nosExpandidos;
+	}
+
+	/**
+	 * Calcula o fator de ramificacao efetivo: o fator <code>b</code> de uma
+	 * arvore uniforme de profundidade <code>d</code> com a mesma quantidade
+	 * de estados expandidos, ou seja, a solucao de
+	 * <code>N + 1 = 1 + b + b^2 + ... + b^d</code>.
+	 * 
+	 * @param profundidade
+	 *            A profundidade da solucao.
+	 * @return O fator de ramificacao efetivo, ou 0 se nao houver dados.
+	 */
+	public double getFatorRamificacaoEfetivo(int profundidade) {
+		if (profundidade <= 0 || nosExpandidos == 0) {
+			return 0;
+		}
+
+		double alvo = nosExpandidos + 1;
+		double minimo = 1;
+		double maximo = Math.max(2, nosExpandidos);
+
+		// Busca binaria, pois a soma cresce com b
+		for (int i = 0; i < 100; i++) {
+			double b = (minimo + maximo) / 2;
+			double soma = 1;
+			double termo = 1;
+
+			for (int d = 1; d <= profundidade && soma <= alvo; d++) {
+				termo *= b;
+				soma += termo;
+			}
+
+			if (soma < alvo) {
+				minimo = b;
+			} else {
+				maximo = b;
+			}
+		}
+
+		return (minimo + maximo) / 2;
+	}
+
+	/**
+	 * Verifica se o modo detalhado esta ativo.
+	 * 
+	 * @return <code>true</code> se o modo detalhado esta ativo.
+	 */
+	public boolean isDetalhada() {
+		return detalhada;
+	}
+
+	/**
+	 * Ativa ou desativa o modo detalhado.
+	 * 
+	 * @param detalhada
+	 *            <code>true</code> para medir o tempo de cada calculo da
+	 *            funcao H e contar os estados expandidos por profundidade.
+	 */
+	public void setDetalhada(boolean detalhada) {
+		this.detalhada = detalhada;
+	}
+
+	/**
+	 * Retorna a quantidade de estados expandidos em cada profundidade.
+	 * 
+	 * @return Uma copia do histograma, sem as profundidades finais vazias.
+	 *         Vazio se o modo detalhado nao estiver ativo.
+	 */
+	public long[] getExpandidosPorProfundidade() {
+		int tamanho = expandidosPorProfundidade.length;
+
+		while (tamanho > 0 && expandidosPorProfundidade[tamanho - 1] == 0) {
+			tamanho--;
+		}
+
+		return Arrays.copyOf(expandidosPorProfundidade, tamanho);
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,52 @@
+package jogo8.model;
+
+/**
+ * Interface de gerenciamento (JMX) das {@link EstatisticasBusca}.
+ * 
+ * @author Jonathan Henrique de Souza
+ * 
+ */
+public interface EstatisticasBuscaMBean {
+
+	/**
+	 * @return A quantidade de estados expandidos.
+	 */
+	long getNosExpandidos();
+
+	/**
+	 * @return A quantidade de estados gerados.
+	 */
+	long getNosGerados();
+
+	/**
+	 * @return A quantidade de estados descartados por ja terem sido
+	 *         alcancados.
+	 */
+	long getDuplicadosDescartados();
+
+	/**
+	 * @return O maior tamanho da fronteira.
+	 */
+	long getPicoFronteira();
+
+	/**
+	 * @return A quantidade de calculos da funcao H.
+	 */
+	long getAvaliacoesHeuristica();
+
+	/**
+	 * @return O tempo gasto nos calculos da funcao H, em nanossegundos.
+	 */
+	long getTempoHeuristica();
+
+	/**
+	 * @return O tempo total da busca, em nanossegundos.
+	 */
+	long getTempoTotal();
+
+	/**
+	 * @return A media de sucessores gerados por estado expandido.
+	 */
+	double getFatorRamificacao();
+
+}
\ No newline at end of file
@@ -0,0 +1,50 @@
+package jogo8.model;
+
+/**
+ * Interface para todas as estruturas que armazenam a lista aberta de uma
+ * busca. Cada implementacao determina a ordem em que os estados serao
+ * retirados.
+ * 
+ * @author Jonathan Henrique de Souza
+ * 
+ */
+public interface Fronteira {
+
+	/**
+	 * Adiciona um estado na fronteira.
+	 * 
+	 * @param estado
+	 *            O estado que sera adicionado.
+	 */
+	void adicionar(Estado estado);
+
+	/**
+	 * Remove e retorna o proximo estado que sera analisado pela busca.
+	 * 
+	 * @return O proximo estado ou <code>null</code> se a fronteira estiver
+	 *         vazia.
+	 */
+	Estado remover();
+
+	/**
+	 * Verifica se a fronteira esta vazia.
+	 * 
+	 * @return <code>true</code> se nao houver estados na fronteira,
+	 *         <code>false</code> caso contrario.
+	 */
+	boolean isEmpty();
+
+	/**
+	 * Retorna a quantidade de estados presentes na fronteira.
+	 * 
+	 * @return O tamanho da fronteira.
+	 */
+	int size();
+
+	/**
+	 * Remove todos os estados da fronteira, mantendo a memoria ja alocada
+	 * para que a fronteira possa ser reutilizada por outra execucao.
+	 */
+	void limpar();
+
+}
\ No newline at end of file
@@ -0,0 +1,144 @@
+package jogo8.model;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limites de uma execucao de {@link Busca}: tempo maximo, quantidade maxima de
+ * estados expandidos, quantidade maxima de estados armazenados e um sinal de
+ * cancelamento. Quando algum limite e ultrapassado, a busca termina com a
+ * situacao {@link ResultadoBusca.Situacao#ORCAMENTO_EXCEDIDO} (ou
+ * {@link ResultadoBusca.Situacao#CANCELADA}) em vez de continuar ate esgotar o
+ * processador ou a memoria.
+ * <p>
+ * Os limites sao relativos ao inicio de cada execucao, de forma que o mesmo
+ * orcamento pode ser utilizado por varias execucoes. Por padrao, nao ha
+ * limites.
+ * 
+ * @author Jonathan Henrique de Souza
+ * 
+ */
+public class Orcamento {
+
+	/**
+	 * Tempo maximo de cada execucao, em nanossegundos.
+	 */
+	private long tempoMaximo = Long.MAX_VALUE;
+
+	/**
+	 * Quantidade maxima de estados expandidos.
+	 */
+	private long maxExpansoes = Long.MAX_VALUE;
+
+	/**
+	 * Quantidade maxima de estados armazenados nas estruturas da busca.
+	 */
+	private long maxNosArmazenados = Long.MAX_VALUE;
+
+	/**
+	 * Sinal de cancelamento, ou <code>null</code>.
+	 */
+	private Cancelamento cancelamento;
+
+	/**
+	 * Retorna o valor do atributo tempoMaximo
+	 * 
+	 * @return O tempo maximo, em nanossegundos
+	 */
+	public long getTempoMaximo() {
+		return tempoMaximo;
+	}
+
+	/**
+	 * Altera o tempo maximo de cada execucao.
+	 * 
+	 * @param tempo
+	 *            O tempo maximo.
+	 * @param unidade
+	 *            A unidade do tempo.
+	 */
+	public void setTempoMaximo(long tempo, TimeUnit unidade) {
+		if (tempo < 0) {
+			throw new IllegalArgumentException("tempo negativo!");
+		}
+
+		this.tempoMaximo = unidade.toNanos(tempo);
+	}
+
+	/**
+	 * Retorna o valor do atributo maxExpansoes
+	 * 
+	 * @return O valor do atributo maxExpansoes
+	 */
+	public long getMaxExpansoes() {
+		return maxExpansoes;
+	}
+
+	/**
+	 * Altera a quantidade maxima de estados expandidos.
+	 * 
+	 * @param maxExpansoes
+	 *            A quantidade maxima de estados expandidos.
+	 */
+	public void setMaxExpansoes(long maxExpansoes) {
+		if (maxExpansoes < 0) {
+			throw new IllegalArgumentException("maxExpansoes negativo!");
+		}
+
+		this.maxExpansoes = maxExpansoes;
+	}
+
+	/**
+	 * Retorna o valor do atributo maxNosArmazenados
+	 * 
+	 * @return O valor do atributo maxNosArmazenados
+	 */
+	public long getMaxNosArmazenados() {
+		return maxNosArmazenados;
+	}
+
+	/**
+	 * Altera a quantidade maxima de estados armazenados, o que limita
+	 * indiretamente a memoria utilizada pela busca. Cada busca define quais
+	 * estados sao contados (ver {@link Busca#contarNosArmazenados()}).
+	 * 
+	 * @param maxNosArmazenados
+	 *            A quantidade maxima de estados armazenados.
+	 */
+	public void setMaxNosArmazenados(long maxNosArmazenados) {
+		if (maxNosArmazenados < 0) {
+			throw new IllegalArgumentException("maxNosArmazenados negativo!");
+		}
+
+		this.maxNosArmazenados = maxNosArmazenados;
+	}
+
+	/**
+	 * Retorna o valor do atributo cancelamento
+	 * 
+	 * @return O valor do atributo cancelamento
+	 */
+	public Cancelamento getCancelamento() {
+		return cancelamento;
+	}
+
+	/**
+	 * Altera o sinal de cancelamento.
+	 * 
+	 * @param cancelamento
+	 *            O sinal de cancelamento, ou <code>null</code>.
+	 */
+	public void setCancelamento(Cancelamento cancelamento) {
+		this.cancelamento = cancelamento;
+	}
+
+	/**
+	 * Verifica se o cancelamento foi solicitado.
+	 * 
+	 * @return <code>true</code> se houver um sinal de cancelamento e ele tiver
+	 *         sido acionado.
+	 */
+	public boolean isCancelado() {
+		return cancelamento != null && cancelamento.isCancelado();
+	}
+
+}
\ No newline at end of file
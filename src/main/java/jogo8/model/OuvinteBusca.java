@@ -0,0 +1,40 @@
+package jogo8.model;
+
+/**
+ * Recebe os eventos de uma {@link Busca}. Os eventos sao enviados pela thread
+ * que executa a busca. As buscas paralelas enviam apenas o inicio e o fim.
+ * 
+ * @author Jonathan Henrique de Souza
+ * 
+ */
+public interface OuvinteBusca {
+
+	/**
+	 * Chamado antes do inicio da busca.
+	 * 
+	 * @param busca
+	 *            A busca.
+	 */
+	void buscaIniciada(Busca busca);
+
+	/**
+	 * Chamado a cada estado expandido.
+	 * 
+	 * @param busca
+	 *            A busca.
+	 * @param estado
+	 *            O estado expandido.
+	 */
+	void estadoExpandido(Busca busca, Estado estado);
+
+	/**
+	 * Chamado ao final da busca. As estatisticas ja estao completas.
+	 * 
+	 * @param busca
+	 *            A busca.
+	 * @param resultado
+	 *            O estado final encontrado ou <code>null</code>.
+	 */
+	void buscaFinalizada(Busca busca, Estado resultado);
+
+}
\ No newline at end of file
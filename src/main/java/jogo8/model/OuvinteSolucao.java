@@ -0,0 +1,27 @@
+package jogo8.model;
+
+/**
+ * Recebe as solucoes publicadas por uma busca incremental, que encontra uma
+ * primeira solucao rapidamente e depois a melhora enquanto houver tempo.
+ * 
+ * @author Jonathan Henrique de Souza
+ * 
+ */
+public interface OuvinteSolucao {
+
+	/**
+	 * Chamado a cada solucao publicada, pela thread que executa a busca.
+	 * 
+	 * @param busca
+	 *            A busca.
+	 * @param solucao
+	 *            O estado final encontrado, cujos pais levam ao estado
+	 *            inicial.
+	 * @param limiteSubotimalidade
+	 *            O limite da subotimalidade da solucao: o custo da solucao e no
+	 *            maximo este valor vezes o custo da solucao otima. Igual a 1 se
+	 *            a solucao e comprovadamente otima.
+	 */
+	void solucaoMelhorada(Busca busca, Estado solucao, double limiteSubotimalidade);
+
+}
\ No newline at end of file
@@ -0,0 +1,109 @@
+package jogo8.model;
+
+/**
+ * Resultado de uma execucao de {@link Busca} com {@link Orcamento}: a situacao
+ * final e o estado correspondente.
+ * 
+ * @author Jonathan Henrique de Souza
+ * 
+ */
+public class ResultadoBusca {
+
+	/**
+	 * Situacao final de uma execucao.
+	 */
+	public enum Situacao {
+
+		/**
+		 * O estado final foi encontrado.
+		 */
+		SOLUCIONADA,
+
+		/**
+		 * Todos os estados alcancaveis (ate o limite da busca, se houver)
+		 * foram analisados sem encontrar o estado final.
+		 */
+		ESGOTADA,
+
+		/**
+		 * A busca foi interrompida por ultrapassar o tempo, as expansoes ou os
+		 * estados armazenados do orcamento.
+		 */
+		ORCAMENTO_EXCEDIDO,
+
+		/**
+		 * A busca foi interrompida pelo sinal de cancelamento.
+		 */
+		CANCELADA
+	}
+
+	/**
+	 * A situacao final.
+	 */
+	private final Situacao situacao;
+
+	/**
+	 * A solucao, ou o melhor resultado parcial se a busca foi interrompida.
+	 */
+	private final Estado estado;
+
+	/**
+	 * Constroi um novo resultado.
+	 * 
+	 * @param situacao
+	 *            A situacao final.
+	 * @param estado
+	 *            A solucao, o melhor resultado parcial ou <code>null</code>.
+	 */
+	public ResultadoBusca(Situacao situacao, Estado estado) {
+		this.situacao = situacao;
+		this.estado = estado;
+	}
+
+	/**
+	 * Retorna o valor do atributo situacao
+	 * 
+	 * @return O valor do atributo situacao
+	 */
+	public Situacao getSituacao() {
+		return situacao;
+	}
+
+	/**
+	 * Retorna o estado do resultado: a solucao, se a busca foi solucionada, ou
+	 * o melhor resultado parcial, se foi interrompida. Cada busca define o que
+	 * e o melhor resultado parcial (ver {@link Busca#obterParcial()}); seus
+	 * pais levam ao estado inicial.
+	 * 
+	 * @return O estado, ou <code>null</code>.
+	 */
+	public Estado getEstado() {
+		return estado;
+	}
+
+	/**
+	 * Retorna a solucao encontrada.
+	 * 
+	 * @return O estado final encontrado, ou <code>null</code> se a busca nao
+	 *         foi solucionada.
+	 */
+	public Estado getSolucao() {
+		return situacao == Situacao.SOLUCIONADA ? estado : null;
+	}
+
+	/**
+	 * Verifica se a busca foi interrompida pelo orcamento ou pelo
+	 * cancelamento.
+	 * 
+	 * @return <code>true</code> se a busca foi interrompida.
+	 */
+	public boolean isInterrompida() {
+		return situacao == Situacao.ORCAMENTO_EXCEDIDO || situacao == Situacao.CANCELADA;
+	}
+
+	@Override
+	public String toString() {
+		return situacao + (estado == null ? "" : ": " + estado);
+	}
+
+}
\ No newline at end of file
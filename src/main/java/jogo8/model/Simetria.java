@@ -0,0 +1,32 @@
+package jogo8.model;
+
+/**
+ * Interface para os grupos de simetria de um estado final. Cada simetria
+ * transforma os estados preservando os movimentos e o estado final, de forma
+ * que todos os estados de uma mesma classe possuem a mesma distancia ate o
+ * estado final. As buscas podem armazenar apenas o representante canonico de
+ * cada classe (ver {@link Busca#setSimetria(Simetria)}).
+ * 
+ * @author Jonathan Henrique de Souza
+ * 
+ */
+public interface Simetria {
+
+	/**
+	 * Calcula o codigo do representante canonico da classe de um estado.
+	 * Estados simetricos possuem o mesmo codigo canonico.
+	 * 
+	 * @param codigo
+	 *            O codigo do estado (ver {@link EstadoCodificado}).
+	 * @return O codigo canonico.
+	 */
+	long canonizar(long codigo);
+
+	/**
+	 * Retorna a quantidade de simetrias do grupo, incluindo a identidade.
+	 * 
+	 * @return A ordem do grupo.
+	 */
+	int getOrdem();
+
+}
\ No newline at end of file
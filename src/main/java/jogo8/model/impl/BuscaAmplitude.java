@@ -1,10 +1,8 @@
 package jogo8.model.impl;
 
-import java.util.Collection;
-import java.util.List;
-
 import jogo8.model.Busca;
 import jogo8.model.Estado;
+import jogo8.model.Fronteira;
 
 /**
  * Classe que define as regras da Busca por Amplitude.
@@ -27,9 +25,9 @@ public class BuscaAmplitude extends Busca {
 	}
 
 	@Override
-	protected void adicionarEstadosListaAberta(List<Estado> listaAberta, Collection<Estado> estados) {
-		// Adicionar no final da lista
-		listaAberta.addAll(estados);
+	protected Fronteira criarListaAberta() {
+		// Retirar os estados na ordem em que foram gerados
+		return new FronteiraFila();
 	}
 
 	@Override
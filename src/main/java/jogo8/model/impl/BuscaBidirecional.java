@@ -0,0 +1,307 @@
+package jogo8.model.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import jogo8.model.Busca;
+import jogo8.model.Estado;
+import jogo8.model.EstadoEnumeravel;
+import jogo8.model.Fronteira;
+
+/**
+ * Classe que define as regras da Busca Bidirecional. Sao realizadas duas
+ * Buscas por Amplitude, uma a partir do estado inicial e outra a partir do
+ * estado final, expandindo a cada passo uma camada inteira da menor
+ * fronteira, ate que as duas buscas se encontrem. Como cada busca so precisa
+ * alcancar metade da profundidade da solucao, a quantidade de estados
+ * analisados e proxima da raiz quadrada da quantidade analisada pela
+ * {@link BuscaAmplitude}.
+ * <p>
+ * Os operadores devem ser reversiveis, ou seja, se B e sucessor de A, A tambem
+ * e sucessor de B.
+ * 
+ * @author Jonathan Henrique de Souza
+ * 
+ */
+public class BuscaBidirecional extends Busca {
+
+	/**
+	 * Estados alcancados a partir do estado inicial.
+	 */
+	private Map<Estado, Estado> visitadosInicio;
+
+	/**
+	 * Estados alcancados a partir do estado final.
+	 */
+	private Map<Estado, Estado> visitadosFim;
+
+	/**
+	 * Estado do lado que esta sendo expandido no melhor encontro da camada
+	 * atual.
+	 */
+	private Estado encontroProprio;
+
+	/**
+	 * Estado do outro lado no melhor encontro da camada atual.
+	 */
+	private Estado encontroOutro;
+
+	/**
+	 * Quantidade de movimentos do melhor encontro da camada atual.
+	 */
+	private int custoEncontro;
+
+	/**
+	 * Indica se a camada que esta sendo expandida e do lado do estado
+	 * inicial.
+	 */
+	private boolean expandindoInicio;
+
+	/**
+	 * Constroi um novo objeto que realiza a Busca Bidirecional.
+	 * 
+	 * @param estadoInicial
+	 *            O estado incial utilizada por esta busca.
+	 * @param estadoFinal
+	 *            O estado final que esta busca devera encontrar.
+	 */
+	public BuscaBidirecional(Estado estadoInicial, Estado estadoFinal) {
+		super(estadoInicial, estadoFinal);
+	}
+
+	@Override
+	protected Estado buscar() {
+		// Esta busca utiliza duas fronteiras proprias
+		listaAberta = null;
+		listaFechada = null;
+
+		visitadosInicio = new HashMap<Estado, Estado>();
+		visitadosFim = new HashMap<Estado, Estado>();
+
+		// Se o estado final nao puder ser alcancado, nao ha o que buscar
+		if (!estadoInicial.isAlcancavel(estadoFinal)) {
+			return null; // Solucao nao encontrada!
+		}
+
+		if (estadoInicial.equals(estadoFinal)) {
+			return estadoInicial; // Solucao encontrada!
+		}
+
+		List<Estado> fronteiraInicio = new ArrayList<Estado>();
+		List<Estado> fronteiraFim = new ArrayList<Estado>();
+
+		fronteiraInicio.add(estadoInicial);
+		visitadosInicio.put(estadoInicial, estadoInicial);
+
+		fronteiraFim.add(estadoFinal);
+		visitadosFim.put(estadoFinal, estadoFinal);
+
+		while (!fronteiraInicio.isEmpty() && !fronteiraFim.isEmpty()) {
+			// Expandir sempre a menor fronteira
+			boolean expandirInicio = fronteiraInicio.size() <= fronteiraFim.size();
+			expandindoInicio = expandirInicio;
+
+			if (expandirInicio) {
+				fronteiraInicio = expandirCamada(fronteiraInicio, visitadosInicio, visitadosFim);
+			} else {
+				fronteiraFim = expandirCamada(fronteiraFim, visitadosFim, visitadosInicio);
+			}
+
+			estatisticas.registrarFronteira(fronteiraInicio.size() + fronteiraFim.size());
+
+			// As buscas se encontraram: unir os dois caminhos
+			if (encontroProprio != null) {
+				if (expandirInicio) {
+					return unirCaminhos(encontroProprio, encontroOutro);
+				} else {
+					return unirCaminhos(encontroOutro, encontroProprio);
+				}
+			}
+		}
+
+		return null; // Solucao nao encontrada!
+	}
+
+	/**
+	 * Expande uma camada inteira de um dos lados. Todos os encontros com o
+	 * outro lado sao avaliados e o mais curto e mantido, o que garante que o
+	 * caminho encontrado e o menor.
+	 * 
+	 * @param fronteira
+	 *            A camada que sera expandida.
+	 * @param visitados
+	 *            Os estados ja alcancados por este lado.
+	 * @param outros
+	 *            Os estados ja alcancados pelo outro lado.
+	 * @return A proxima camada deste lado.
+	 */
+	private List<Estado> expandirCamada(List<Estado> fronteira, Map<Estado, Estado> visitados, Map<Estado, Estado> outros) {
+		List<Estado> proximaCamada = new ArrayList<Estado>(fronteira.size() * 2);
+
+		encontroProprio = null;
+		encontroOutro = null;
+		custoEncontro = Integer.MAX_VALUE;
+
+		for (Estado estado : fronteira) {
+			// Se possivel, enumerar os movimentos sem criar os sucessores ja
+			// alcancados
+			if (estado instanceof EstadoEnumeravel) {
+				EstadoEnumeravel enumeravel = (EstadoEnumeravel) estado;
+				int quantidade = listarMovimentos(enumeravel);
+
+				registrarExpansao(estado, -1, quantidade);
+
+				for (int i = 0; i < quantidade; i++) {
+					enumeravel.aplicarMovimento(getMovimento(i), getRascunho());
+
+					if (visitados.containsKey(getRascunho())) {
+						estatisticas.registrarDuplicados(1);
+						continue; // Ja alcancado por este lado
+					}
+
+					alcancar(enumeravel.criarSucessor(getMovimento(i)), visitados, outros, proximaCamada);
+				}
+
+				continue;
+			}
+
+			Collection<Estado> novosEstados = estado.aplicarOperadores();
+
+			registrarExpansao(estado, -1, novosEstados.size());
+
+			for (Estado novoEstado : novosEstados) {
+				if (visitados.containsKey(novoEstado)) {
+					estatisticas.registrarDuplicados(1);
+					continue; // Ja alcancado por este lado
+				}
+
+				alcancar(novoEstado, visitados, outros, proximaCamada);
+			}
+		}
+
+		return proximaCamada;
+	}
+
+	/**
+	 * Registra um estado alcancado pela primeira vez por um dos lados e
+	 * verifica se ele ja foi alcancado pelo outro lado.
+	 * 
+	 * @param novoEstado
+	 *            O estado alcancado.
+	 * @param visitados
+	 *            Os estados ja alcancados por este lado.
+	 * @param outros
+	 *            Os estados ja alcancados pelo outro lado.
+	 * @param proximaCamada
+	 *            A proxima camada deste lado.
+	 */
+	private void alcancar(Estado novoEstado, Map<Estado, Estado> visitados, Map<Estado, Estado> outros, List<Estado> proximaCamada) {
+		visitados.put(novoEstado, novoEstado);
+		proximaCamada.add(novoEstado);
+
+		Estado outro = outros.get(novoEstado);
+
+		if (outro != null) {
+			int custo = BuscaBidirecional.contarMovimentos(novoEstado) + BuscaBidirecional.contarMovimentos(outro);
+
+			if (custo < custoEncontro) {
+				encontroProprio = novoEstado;
+				encontroOutro = outro;
+				custoEncontro = custo;
+			}
+		}
+	}
+
+	/**
+	 * Une os caminhos das duas buscas. Os movimentos do caminho do estado
+	 * final sao reaplicados, em ordem inversa, a partir do encontro, de forma
+	 * que o resultado seja uma unica cadeia de pais ate o estado inicial.
+	 * 
+	 * @param encontroInicio
+	 *            O estado do encontro, alcancado a partir do estado inicial.
+	 * @param encontroFim
+	 *            O mesmo estado, alcancado a partir do estado final.
+	 * @return O estado final, cujos pais levam ao estado inicial.
+	 */
+	private static Estado unirCaminhos(Estado encontroInicio, Estado encontroFim) {
+		Estado estado = encontroInicio;
+
+		for (Estado alvo = encontroFim.getPai(); alvo != null; alvo = alvo.getPai()) {
+			estado = BuscaBidirecional.localizarSucessor(estado, alvo);
+		}
+
+		return estado;
+	}
+
+	/**
+	 * Localiza, entre os sucessores de um estado, o sucessor igual ao estado
+	 * alvo.
+	 * 
+	 * @param estado
+	 *            O estado que sera expandido.
+	 * @param alvo
+	 *            O estado procurado.
+	 * @return O sucessor, cujo pai e o estado informado.
+	 */
+	private static Estado localizarSucessor(Estado estado, Estado alvo) {
+		for (Estado sucessor : estado.aplicarOperadores()) {
+			if (sucessor.equals(alvo)) {
+				return sucessor;
+			}
+		}
+
+		throw new IllegalStateException("Operadores nao reversiveis: " + alvo + " nao e sucessor de " + estado);
+	}
+
+	/**
+	 * Conta a quantidade de movimentos de um estado ate a raiz de sua busca.
+	 * 
+	 * @param estado
+	 *            O estado.
+	 * @return A quantidade de pais do estado.
+	 */
+	private static int contarMovimentos(Estado estado) {
+		int movimentos = 0;
+
+		for (Estado pai = estado.getPai(); pai != null; pai = pai.getPai()) {
+			movimentos++;
+		}
+
+		return movimentos;
+	}
+
+	@Override
+	protected boolean isMelhorParcial(Estado candidato, Estado atual) {
+		// Apenas os estados do lado do estado inicial levam a ele
+		return expandindoInicio;
+	}
+
+	@Override
+	protected long contarNosArmazenados() {
+		return getEstadosVisitados();
+	}
+
+	@Override
+	protected Fronteira criarListaAberta() {
+		// As fronteiras sao as camadas de cada lado
+		return null;
+	}
+
+	/**
+	 * Retorna a quantidade de estados alcancados pelas duas buscas na ultima
+	 * execucao.
+	 * 
+	 * @return A quantidade de estados alcancados.
+	 */
+	public int getEstadosVisitados() {
+		return (visitadosInicio == null ? 0 : visitadosInicio.size()) + (visitadosFim == null ? 0 : visitadosFim.size());
+	}
+
+	@Override
+	public String toString() {
+		return "Busca Bidirecional";
+	}
+}
\ No newline at end of file
@@ -1,10 +1,8 @@
 package jogo8.model.impl;
 
-import java.util.Collection;
-import java.util.List;
-
 import jogo8.model.Busca;
 import jogo8.model.Estado;
+import jogo8.model.Fronteira;
 
 /**
  * Classe que define as regras da Busca por Profundidade.
@@ -27,9 +25,9 @@ public class BuscaProfundidade extends Busca {
 	}
 
 	@Override
-	protected void adicionarEstadosListaAberta(List<Estado> listaAberta, Collection<Estado> estados) {
-		// Adicionar no inicio da lista
-		listaAberta.addAll(0, estados);
+	protected Fronteira criarListaAberta() {
+		// Retirar primeiro os ultimos estados gerados
+		return new FronteiraPilha();
 	}
 
 	@Override
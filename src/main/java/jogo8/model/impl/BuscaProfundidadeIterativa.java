@@ -0,0 +1,76 @@
+package jogo8.model.impl;
+
+import jogo8.model.Estado;
+
+/**
+ * Classe que define as regras da Busca por Aprofundamento Iterativo. Realiza
+ * sucessivas Buscas por Profundidade Limitada, aumentando o limite em um a
+ * cada iteracao, de forma que o primeiro caminho encontrado e o menor. A
+ * memoria utilizada continua proporcional a profundidade da solucao.
+ * 
+ * @author Jonathan Henrique de Souza
+ * 
+ */
+public class BuscaProfundidadeIterativa extends BuscaProfundidadeLimitada {
+
+	/**
+	 * O maior limite que sera tentado.
+	 */
+	private final int limiteMaximo;
+
+	/**
+	 * Constroi um novo objeto que realiza a Busca por Aprofundamento
+	 * Iterativo, sem limite maximo.
+	 * 
+	 * @param estadoInicial
+	 *            O estado incial utilizado por esta busca.
+	 * @param estadoFinal
+	 *            O estado final que esta busca devera encontrar.
+	 */
+	public BuscaProfundidadeIterativa(Estado estadoInicial, Estado estadoFinal) {
+		this(estadoInicial, estadoFinal, Integer.MAX_VALUE - 1);
+	}
+
+	/**
+	 * Constroi um novo objeto que realiza a Busca por Aprofundamento
+	 * Iterativo ate um limite maximo. Se existir uma solucao com ate
+	 * <code>limiteMaximo</code> movimentos, a menor sera encontrada.
+	 * 
+	 * @param estadoInicial
+	 *            O estado incial utilizado por esta busca.
+	 * @param estadoFinal
+	 *            O estado final que esta busca devera encontrar.
+	 * @param limiteMaximo
+	 *            O maior limite que sera tentado.
+	 */
+	public BuscaProfundidadeIterativa(Estado estadoInicial, Estado estadoFinal, int limiteMaximo) {
+		super(estadoInicial, estadoFinal, 0);
+
+		if (limiteMaximo < 0) {
+			throw new IllegalArgumentException("limiteMaximo negativo!");
+		}
+
+		this.limiteMaximo = limiteMaximo;
+	}
+
+	@Override
+	protected Estado buscarAteLimite() {
+		for (int limite = 0; limite <= limiteMaximo; limite++) {
+			setLimite(limite);
+
+			Estado resultado = super.buscarAteLimite();
+
+			// Encontrada ou nenhum limite maior a encontraria
+			if (resultado != null || !isLimiteAtingido()) {
+				return resultado;
+			}
+		}
+
+		return null; // Solucao nao encontrada ate o limite maximo
+	}
+
+	@Override
+	public String toString() {
+		return "Busca por Aprofundamento Iterativo";
+	}
+}
\ No newline at end of file
@@ -0,0 +1,347 @@
+package jogo8.model.impl;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+
+import jogo8.model.Busca;
+import jogo8.model.Estado;
+import jogo8.model.EstadoEnumeravel;
+import jogo8.model.Fronteira;
+
+/**
+ * Classe que define as regras da Busca por Profundidade Limitada. Nenhum estado
+ * alem da profundidade limite e analisado. A busca nao utiliza lista aberta nem
+ * lista fechada: apenas o caminho atual e mantido em uma pilha, que cresce
+ * conforme a profundidade alcancada, logo a memoria utilizada e proporcional a
+ * maior profundidade alcancada, e nao ao limite. Ciclos sao evitados ignorando
+ * os sucessores que desfazem o ultimo movimento ou que ja pertencem ao caminho
+ * atual. Se os estados forem enumeraveis (ver {@link EstadoEnumeravel}), essa
+ * verificacao e feita no rascunho e apenas o sucessor que sera visitado e
+ * criado.
+ * <p>
+ * O caminho encontrado nao e necessariamente o menor; para isso, utilize a
+ * {@link BuscaProfundidadeIterativa}.
+ * 
+ * @author Jonathan Henrique de Souza
+ * 
+ */
+public class BuscaProfundidadeLimitada extends Busca {
+
+	/**
+	 * A maior profundidade analisada.
+	 */
+	private int limite;
+
+	/**
+	 * Estados do caminho atual. A posicao <code>i</code> contem o estado da
+	 * profundidade <code>i</code>.
+	 */
+	private Estado[] caminho;
+
+	/**
+	 * Sucessores ainda nao analisados de cada estado do caminho atual, se os
+	 * estados nao forem enumeraveis.
+	 */
+	private Iterator<?>[] sucessores;
+
+	/**
+	 * Movimentos de cada estado enumeravel do caminho atual. Reutilizados por
+	 * todas as expansoes da mesma profundidade.
+	 */
+	private int[][] movimentos;
+
+	/**
+	 * Quantidade de movimentos de cada estado enumeravel do caminho atual.
+	 */
+	private int[] quantidades;
+
+	/**
+	 * Indice do proximo movimento ou sucessor de cada estado do caminho atual,
+	 * ou -1 se o estado ainda nao foi expandido.
+	 */
+	private int[] proximos;
+
+	/**
+	 * Indica se a ultima execucao deixou de analisar algum estado por causa do
+	 * limite.
+	 */
+	private boolean limiteAtingido;
+
+	/**
+	 * Constroi um novo objeto que realiza a Busca por Profundidade Limitada.
+	 * 
+	 * @param estadoInicial
+	 *            O estado incial utilizado por esta busca.
+	 * @param estadoFinal
+	 *            O estado final que esta busca devera encontrar.
+	 * @param limite
+	 *            A maior profundidade que sera analisada.
+	 */
+	public BuscaProfundidadeLimitada(Estado estadoInicial, Estado estadoFinal, int limite) {
+		super(estadoInicial, estadoFinal);
+		setLimite(limite);
+	}
+
+	@Override
+	protected Estado buscar() {
+		// Esta busca nao utiliza listas
+		listaAberta = null;
+		listaFechada = null;
+
+		// Se o estado final nao puder ser alcancado, nao ha o que buscar
+		if (!estadoInicial.isAlcancavel(estadoFinal)) {
+			return null; // Solucao nao encontrada!
+		}
+
+		return buscarAteLimite();
+	}
+
+	/**
+	 * Realiza a busca em profundidade ate o limite atual, acumulando as
+	 * estatisticas.
+	 * 
+	 * @return O estado final encontrado ou <code>null</code>.
+	 */
+	protected Estado buscarAteLimite() {
+		limiteAtingido = false;
+
+		if (caminho == null) {
+			caminho = new Estado[64];
+			sucessores = new Iterator<?>[64];
+			movimentos = new int[64][];
+			quantidades = new int[64];
+			proximos = new int[64];
+		}
+
+		caminho[0] = estadoInicial;
+		proximos[0] = -1;
+		int profundidade = 0;
+
+		while (profundidade >= 0) {
+			Estado estado = caminho[profundidade];
+
+			if (proximos[profundidade] < 0) {
+				// Primeira visita ao estado
+				if (estado.equals(estadoFinal)) {
+					return estado; // Solucao encontrada!
+				}
+
+				if (profundidade == limite) {
+					limiteAtingido = true;
+					profundidade--; // Retroceder
+					continue;
+				}
+
+				expandir(estado, profundidade);
+			}
+
+			Estado proximo = estado instanceof EstadoEnumeravel ? proximoMovimento(profundidade) : proximoSucessor(profundidade);
+
+			if (proximo == null) {
+				// Todos os sucessores foram analisados: retroceder
+				sucessores[profundidade] = null;
+				caminho[profundidade] = null;
+				profundidade--;
+				continue;
+			}
+
+			profundidade++;
+			if (profundidade == caminho.length) {
+				aumentarPilha();
+			}
+
+			caminho[profundidade] = proximo;
+			proximos[profundidade] = -1;
+		}
+
+		return null; // Solucao nao encontrada!
+	}
+
+	/**
+	 * Dobra o tamanho da pilha do caminho atual, mantendo seu conteudo.
+	 */
+	private void aumentarPilha() {
+		int tamanho = caminho.length * 2;
+
+		caminho = Arrays.copyOf(caminho, tamanho);
+		sucessores = Arrays.copyOf(sucessores, tamanho);
+		movimentos = Arrays.copyOf(movimentos, tamanho);
+		quantidades = Arrays.copyOf(quantidades, tamanho);
+		proximos = Arrays.copyOf(proximos, tamanho);
+	}
+
+	/**
+	 * Expande o estado de uma profundidade. Os movimentos de um estado
+	 * enumeravel sao copiados do vetor da busca, que sera reutilizado pela
+	 * proxima profundidade; os demais estados tem seus sucessores criados.
+	 * 
+	 * @param estado
+	 *            O estado.
+	 * @param profundidade
+	 *            A profundidade do estado.
+	 */
+	private void expandir(Estado estado, int profundidade) {
+		int quantidade;
+
+		if (estado instanceof EstadoEnumeravel) {
+			quantidade = listarMovimentos((EstadoEnumeravel) estado);
+
+			if (movimentos[profundidade] == null) {
+				movimentos[profundidade] = new int[((EstadoEnumeravel) estado).getMaximoMovimentos()];
+			}
+
+			for (int i = 0; i < quantidade; i++) {
+				movimentos[profundidade][i] = getMovimento(i);
+			}
+
+			quantidades[profundidade] = quantidade;
+		} else {
+			Collection<Estado> novosEstados = estado.aplicarOperadores();
+
+			quantidade = novosEstados.size();
+			sucessores[profundidade] = novosEstados.iterator();
+		}
+
+		proximos[profundidade] = 0;
+
+		registrarExpansao(estado, profundidade, quantidade);
+		estatisticas.registrarFronteira(profundidade + 1);
+	}
+
+	/**
+	 * Cria o sucessor do proximo movimento do estado enumeravel de uma
+	 * profundidade que nao desfaz o ultimo movimento nem leva a um estado do
+	 * caminho atual. Os movimentos sao verificados no rascunho.
+	 * 
+	 * @param profundidade
+	 *            A profundidade do estado.
+	 * @return O sucessor ou <code>null</code> se nao houver mais movimentos.
+	 */
+	private Estado proximoMovimento(int profundidade) {
+		EstadoEnumeravel estado = (EstadoEnumeravel) caminho[profundidade];
+		EstadoEnumeravel rascunho = getRascunho();
+
+		while (proximos[profundidade] < quantidades[profundidade]) {
+			int movimento = movimentos[profundidade][proximos[profundidade]++];
+
+			estado.aplicarMovimento(movimento, rascunho);
+
+			// Desfazer o ultimo movimento leva ao estado anterior
+			if (profundidade > 0 && rascunho.equals(caminho[profundidade - 1])) {
+				estatisticas.registrarDuplicados(1);
+				continue;
+			}
+
+			if (!pertenceCaminho(rascunho, profundidade - 2)) {
+				return estado.criarSucessor(movimento);
+			}
+
+			estatisticas.registrarDuplicados(1);
+		}
+
+		return null;
+	}
+
+	/**
+	 * Retorna o proximo sucessor do estado de uma profundidade que nao
+	 * desfaz o ultimo movimento nem pertence ao caminho atual.
+	 * 
+	 * @param profundidade
+	 *            A profundidade do estado.
+	 * @return O sucessor ou <code>null</code> se nao houver mais sucessores.
+	 */
+	private Estado proximoSucessor(int profundidade) {
+		Iterator<?> iterator = sucessores[profundidade];
+
+		while (iterator.hasNext()) {
+			Estado sucessor = (Estado) iterator.next();
+
+			// Desfazer o ultimo movimento leva ao estado anterior
+			if (profundidade > 0 && sucessor.equals(caminho[profundidade - 1])) {
+				estatisticas.registrarDuplicados(1);
+				continue;
+			}
+
+			if (!pertenceCaminho(sucessor, profundidade - 2)) {
+				return sucessor;
+			}
+
+			estatisticas.registrarDuplicados(1);
+		}
+
+		return null;
+	}
+
+	/**
+	 * Verifica se um estado pertence ao caminho atual.
+	 * 
+	 * @param estado
+	 *            O estado que sera procurado.
+	 * @param ate
+	 *            A maior profundidade que sera verificada.
+	 * @return <code>true</code> se o estado pertencer ao caminho.
+	 */
+	private boolean pertenceCaminho(Estado estado, int ate) {
+		for (int i = ate; i >= 0; i--) {
+			if (caminho[i].equals(estado)) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	@Override
+	protected Fronteira criarListaAberta() {
+		// O caminho atual substitui a lista aberta
+		return null;
+	}
+
+	/**
+	 * Retorna o valor do atributo limite
+	 * 
+	 * @return O valor do atributo limite
+	 */
+	public int getLimite() {
+		return limite;
+	}
+
+	/**
+	 * Altera a maior profundidade analisada.
+	 * 
+	 * @param limite
+	 *            A maior profundidade que sera analisada.
+	 */
+	public void setLimite(int limite) {
+		if (limite < 0) {
+			throw new IllegalArgumentException("limite negativo!");
+		}
+
+		this.limite = limite;
+	}
+
+	/**
+	 * Verifica se a ultima execucao deixou de analisar algum estado por causa
+	 * do limite. Caso contrario, nenhum limite maior encontraria a solucao.
+	 * 
+	 * @return <code>true</code> se o limite foi atingido.
+	 */
+	public boolean isLimiteAtingido() {
+		return limiteAtingido;
+	}
+
+	/**
+	 * Retorna a quantidade de estados expandidos pela ultima execucao.
+	 * 
+	 * @return O valor de {@link jogo8.model.EstatisticasBusca#getNosExpandidos()}
+	 */
+	public long getNosExpandidos() {
+		return estatisticas.getNosExpandidos();
+	}
+
+	@Override
+	public String toString() {
+		return "Busca por Profundidade Limitada (" + limite + ")";
+	}
+}
\ No newline at end of file
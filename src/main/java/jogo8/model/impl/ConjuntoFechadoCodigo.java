@@ -0,0 +1,43 @@
+package jogo8.model.impl;
+
+import jogo8.model.ConjuntoFechado;
+import jogo8.model.Estado;
+import jogo8.model.EstadoCodificado;
+import jogo8.util.ConjuntoLong;
+
+/**
+ * Lista fechada que armazena apenas o codigo dos estados (ver
+ * {@link EstadoCodificado}). Os estados analisados nao sao mantidos em
+ * memoria, apenas um <code>long</code> por estado.
+ * 
+ * @author Jonathan Henrique de Souza
+ * 
+ */
+public class ConjuntoFechadoCodigo implements ConjuntoFechado {
+
+	/**
+	 * Conjunto que armazena os codigos dos estados.
+	 */
+	private ConjuntoLong codigos = new ConjuntoLong();
+
+	@Override
+	public boolean adicionar(Estado estado) {
+		return codigos.adicionar(((EstadoCodificado) estado).getCodigo());
+	}
+
+	@Override
+	public boolean contem(Estado estado) {
+		return codigos.contem(((EstadoCodificado) estado).getCodigo());
+	}
+
+	@Override
+	public int size() {
+		return codigos.size();
+	}
+
+	@Override
+	public void limpar() {
+		codigos.limpar();
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,43 @@
+package jogo8.model.impl;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import jogo8.model.ConjuntoFechado;
+import jogo8.model.Estado;
+
+/**
+ * Lista fechada generica, baseada em um {@link HashSet}. Utilizada para os
+ * estados que nao possuem uma representacao compacta.
+ * 
+ * @author Jonathan Henrique de Souza
+ * 
+ */
+public class ConjuntoFechadoHash implements ConjuntoFechado {
+
+	/**
+	 * Conjunto que armazena os estados.
+	 */
+	private Set<Estado> estados = new HashSet<Estado>();
+
+	@Override
+	public boolean adicionar(Estado estado) {
+		return estados.add(estado);
+	}
+
+	@Override
+	public boolean contem(Estado estado) {
+		return estados.contains(estado);
+	}
+
+	@Override
+	public int size() {
+		return estados.size();
+	}
+
+	@Override
+	public void limpar() {
+		estados.clear();
+	}
+
+}
\ No newline at end of file
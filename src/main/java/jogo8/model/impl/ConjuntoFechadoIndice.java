@@ -0,0 +1,73 @@
+package jogo8.model.impl;
+
+import java.util.Arrays;
+
+import jogo8.model.ConjuntoFechado;
+import jogo8.model.Estado;
+import jogo8.model.EstadoIndexado;
+
+/**
+ * Lista fechada implementada como um mapa de bits indexado pelo indice dos
+ * estados (ver {@link EstadoIndexado}). Cada estado ocupa um unico bit e as
+ * verificacoes nao necessitam de hash nem tratam colisoes.
+ * 
+ * @author Jonathan Henrique de Souza
+ * 
+ */
+public class ConjuntoFechadoIndice implements ConjuntoFechado {
+
+	/**
+	 * Mapa de bits dos estados.
+	 */
+	private long[] bits;
+
+	/**
+	 * Quantidade de estados armazenados.
+	 */
+	private int tamanho;
+
+	/**
+	 * Constroi uma nova lista fechada vazia.
+	 * 
+	 * @param totalIndices
+	 *            A quantidade de indices possiveis para os estados.
+	 */
+	public ConjuntoFechadoIndice(int totalIndices) {
+		bits = new long[(totalIndices + 63) >>> 6];
+	}
+
+	@Override
+	public boolean adicionar(Estado estado) {
+		int indice = ((EstadoIndexado) estado).getIndice();
+
+		long mascara = 1L << indice;
+
+		if ((bits[indice >>> 6] & mascara) != 0) {
+			return false;
+		}
+
+		bits[indice >>> 6] |= mascara;
+		tamanho++;
+
+		return true;
+	}
+
+	@Override
+	public boolean contem(Estado estado) {
+		int indice = ((EstadoIndexado) estado).getIndice();
+
+		return (bits[indice >>> 6] & (1L << indice)) != 0;
+	}
+
+	@Override
+	public int size() {
+		return tamanho;
+	}
+
+	@Override
+	public void limpar() {
+		Arrays.fill(bits, 0L);
+		tamanho = 0;
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,61 @@
+package jogo8.model.impl;
+
+import jogo8.model.ConjuntoFechado;
+import jogo8.model.Estado;
+import jogo8.model.EstadoCodificado;
+import jogo8.model.Simetria;
+import jogo8.util.ConjuntoLong;
+
+/**
+ * Lista fechada que armazena apenas o codigo canonico dos estados (ver
+ * {@link Simetria}). Um estado e considerado analisado se algum estado
+ * simetrico a ele ja foi analisado, de forma que o conjunto armazena ate
+ * {@link Simetria#getOrdem()} vezes menos codigos que o
+ * {@link ConjuntoFechadoCodigo}.
+ * 
+ * @author Jonathan Henrique de Souza
+ * 
+ */
+public class ConjuntoFechadoSimetrico implements ConjuntoFechado {
+
+	/**
+	 * Simetrias do estado final.
+	 */
+	private final Simetria simetria;
+
+	/**
+	 * Conjunto que armazena os codigos canonicos dos estados.
+	 */
+	private ConjuntoLong codigos = new ConjuntoLong();
+
+	/**
+	 * Constroi uma nova lista fechada.
+	 * 
+	 * @param simetria
+	 *            As simetrias do estado final.
+	 */
+	public ConjuntoFechadoSimetrico(Simetria simetria) {
+		this.simetria = simetria;
+	}
+
+	@Override
+	public boolean adicionar(Estado estado) {
+		return codigos.adicionar(simetria.canonizar(((EstadoCodificado) estado).getCodigo()));
+	}
+
+	@Override
+	public boolean contem(Estado estado) {
+		return codigos.contem(simetria.canonizar(((EstadoCodificado) estado).getCodigo()));
+	}
+
+	@Override
+	public int size() {
+		return codigos.size();
+	}
+
+	@Override
+	public void limpar() {
+		codigos.limpar();
+	}
+
+}
\ No newline at end of file
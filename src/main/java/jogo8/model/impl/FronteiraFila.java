@@ -0,0 +1,49 @@
+package jogo8.model.impl;
+
+import java.util.ArrayDeque;
+
+import jogo8.model.Estado;
+import jogo8.model.Fronteira;
+
+/**
+ * Fronteira do tipo FIFO (primeiro a entrar, primeiro a sair). Utilizada pela
+ * Busca por Amplitude.
+ * 
+ * @author Jonathan Henrique de Souza
+ * 
+ */
+public class FronteiraFila implements Fronteira {
+
+	/**
+	 * Fila que armazena os estados.
+	 */
+	private ArrayDeque<Estado> fila = new ArrayDeque<Estado>();
+
+	@Override
+	public void adicionar(Estado estado) {
+		// Adicionar no final da fila
+		fila.addLast(estado);
+	}
+
+	@Override
+	public Estado remover() {
+		// Remover do inicio da fila
+		return fila.pollFirst();
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return fila.isEmpty();
+	}
+
+	@Override
+	public int size() {
+		return fila.size();
+	}
+
+	@Override
+	public void limpar() {
+		fila.clear();
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,69 @@
+package jogo8.model.impl;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+
+import jogo8.model.Estado;
+import jogo8.model.Fronteira;
+
+/**
+ * Fronteira do tipo LIFO (ultimo a entrar, primeiro a sair). Utilizada pela
+ * Busca por Profundidade.
+ * <p>
+ * Os estados adicionados entre duas remocoes (os sucessores de uma expansao)
+ * formam um lote, empilhado de uma vez na proxima remocao, de forma que o
+ * primeiro estado gerado seja o primeiro retirado. Assim, os irmaos sao
+ * analisados na ordem em que foram gerados.
+ * 
+ * @author Jonathan Henrique de Souza
+ * 
+ */
+public class FronteiraPilha implements Fronteira {
+
+	/**
+	 * Pilha que armazena os estados.
+	 */
+	private ArrayDeque<Estado> pilha = new ArrayDeque<Estado>();
+
+	/**
+	 * Estados adicionados desde a ultima remocao, na ordem em que foram
+	 * gerados.
+	 */
+	private ArrayList<Estado> lote = new ArrayList<Estado>();
+
+	@Override
+	public void adicionar(Estado estado) {
+		// Guardar o estado ate a proxima remocao
+		lote.add(estado);
+	}
+
+	@Override
+	public Estado remover() {
+		// Empilhar o lote em ordem inversa, para que o primeiro estado gerado
+		// fique no topo
+		for (int i = lote.size() - 1; i >= 0; i--) {
+			pilha.push(lote.get(i));
+		}
+		lote.clear();
+
+		// Desempilhar estado
+		return pilha.poll();
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return pilha.isEmpty() && lote.isEmpty();
+	}
+
+	@Override
+	public int size() {
+		return pilha.size() + lote.size();
+	}
+
+	@Override
+	public void limpar() {
+		pilha.clear();
+		lote.clear();
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,50 @@
+package jogo8.model.impl;
+
+import java.util.PriorityQueue;
+
+import jogo8.model.Estado;
+import jogo8.model.Fronteira;
+
+/**
+ * Fronteira ordenada pela ordem natural dos estados (ver
+ * {@link Estado#compareTo(Object)}). Implementada como um heap binario, as
+ * operacoes de insercao e remocao custam O(log n). Utilizada pelas buscas
+ * heuristicas.
+ * 
+ * @author Jonathan Henrique de Souza
+ * 
+ */
+public class FronteiraPrioridade implements Fronteira {
+
+	/**
+	 * Heap que armazena os estados.
+	 */
+	private PriorityQueue<Estado> heap = new PriorityQueue<Estado>();
+
+	@Override
+	public void adicionar(Estado estado) {
+		heap.offer(estado);
+	}
+
+	@Override
+	public Estado remover() {
+		// Remover o estado de menor prioridade
+		return heap.poll();
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return heap.isEmpty();
+	}
+
+	@Override
+	public int size() {
+		return heap.size();
+	}
+
+	@Override
+	public void limpar() {
+		heap.clear();
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,623 @@
+package jogo8.model.impl.jogo8;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+
+/**
+ * Banco de padroes (pattern database) de um grupo de pecas. Armazena, para
+ * cada combinacao de posicoes das pecas do grupo, a menor quantidade de
+ * movimentos <em>destas pecas</em> necessaria para leva-las as suas posicoes
+ * no estado final. Como apenas os movimentos das pecas do grupo sao contados,
+ * os valores de bancos com grupos disjuntos podem ser somados (ver
+ * {@link HeuristicaBancoPadroes}).
+ * <p>
+ * As tabelas sao geradas por uma busca em amplitude a partir do estado final
+ * (ver {@link #gerar(Jogo8, int[])}) e gravadas em arquivo, com um byte por
+ * combinacao. Ao serem carregadas (ver {@link #carregar(File)}), os arquivos
+ * sao mapeados em memoria, de forma que varias execucoes compartilham o mesmo
+ * cache de paginas do sistema operacional.
+ * 
+ * @author Jonathan Henrique de Souza
+ * 
+ */
+public class BancoPadroes {
+
+	/**
+	 * Identificador dos arquivos de bancos de padroes ("PDB1").
+	 */
+	private static final int ASSINATURA = 0x50444231;
+
+	/**
+	 * Maior dimensao de tabuleiro suportada. As posicoes das pecas sao
+	 * armazenadas com 5 bits cada.
+	 */
+	private static final int DIMENSAO_MAXIMA = 5;
+
+	/**
+	 * Quantidade de bits utilizados para armazenar a posicao de uma peca.
+	 */
+	private static final int BITS_POSICAO = 5;
+
+	/**
+	 * Maior quantidade de pecas em um grupo.
+	 */
+	private static final int MAXIMO_PECAS = 12;
+
+	/**
+	 * Valor que marca uma combinacao ainda nao visitada durante a geracao.
+	 */
+	private static final byte NAO_VISITADO = (byte) 0xFF;
+
+	/**
+	 * Quantidade de linhas e colunas do tabuleiro.
+	 */
+	private final int dimensao;
+
+	/**
+	 * As pecas do grupo, na ordem utilizada pelo indice.
+	 */
+	private final int[] pecas;
+
+	/**
+	 * Ordem de cada peca dentro do grupo, indexada pela peca, ou -1 se a peca
+	 * nao pertencer ao grupo.
+	 */
+	private final int[] ordem;
+
+	/**
+	 * Posicoes de cada peca do grupo no estado final.
+	 */
+	private final int[] posicoesFinais;
+
+	/**
+	 * Tabela de distancias, indexada pelo indice das posicoes das pecas.
+	 */
+	private final ByteBuffer tabela;
+
+	/**
+	 * Posicao do inicio da tabela dentro de {@link #tabela}.
+	 */
+	private final int inicioTabela;
+
+	/**
+	 * Constroi um novo banco de padroes.
+	 * 
+	 * @param dimensao
+	 *            A dimensao do tabuleiro.
+	 * @param pecas
+	 *            As pecas do grupo.
+	 * @param posicoesFinais
+	 *            As posicoes das pecas no estado final.
+	 * @param tabela
+	 *            A tabela de distancias.
+	 * @param inicioTabela
+	 *            A posicao do inicio da tabela.
+	 */
+	private BancoPadroes(int dimensao, int[] pecas, int[] posicoesFinais, ByteBuffer tabela, int inicioTabela) {
+		this.dimensao = dimensao;
+		this.pecas = pecas;
+		this.posicoesFinais = posicoesFinais;
+		this.tabela = tabela;
+		this.inicioTabela = inicioTabela;
+
+		ordem = new int[dimensao * dimensao];
+		Arrays.fill(ordem, -1);
+
+		for (int i = 0; i < pecas.length; i++) {
+			ordem[pecas[i]] = i;
+		}
+	}
+
+	/**
+	 * Gera o banco de padroes de um grupo de pecas atraves de uma busca em
+	 * amplitude a partir do estado final. Os estados da busca sao as posicoes
+	 * das pecas do grupo e da celula vazia; mover uma peca que nao pertence ao
+	 * grupo nao tem custo.
+	 * 
+	 * @param estadoFinal
+	 *            O estado final.
+	 * @param pecas
+	 *            As pecas do grupo.
+	 * @return O banco de padroes gerado, mantido em memoria.
+	 * @throws IllegalArgumentException
+	 *             Caso o tabuleiro ou o grupo sejam grandes demais, ou se o
+	 *             grupo possuir pecas invalidas ou repetidas.
+	 */
+	public static BancoPadroes gerar(Jogo8 estadoFinal, int[] pecas) {
+		int dimensao = estadoFinal.getDimensao();
+		int totalCelulas = dimensao * dimensao;
+
+		validarGrupo(dimensao, pecas);
+
+		int quantidade = pecas.length;
+
+		// Posicoes das pecas no estado final
+		int[] posicoesFinais = new int[quantidade];
+
+		for (int posicao = 0; posicao < totalCelulas; posicao++) {
+			int peca = estadoFinal.getCelula(posicao);
+
+			for (int i = 0; i < quantidade; i++) {
+				if (pecas[i] == peca) {
+					posicoesFinais[i] = posicao;
+				}
+			}
+		}
+
+		// Os estados da busca incluem a celula vazia como ultimo elemento
+		long totalEstados = totalCombinacoes(totalCelulas, quantidade + 1);
+
+		if (totalEstados > Integer.MAX_VALUE - 8) {
+			throw new IllegalArgumentException("Grupo grande demais para ser gerado!");
+		}
+
+		byte[] distancias = new byte[(int) totalEstados];
+		Arrays.fill(distancias, NAO_VISITADO);
+
+		int[] posicoes = new int[quantidade + 1];
+		System.arraycopy(posicoesFinais, 0, posicoes, 0, quantidade);
+		posicoes[quantidade] = estadoFinal.getPosVazio();
+
+		FilaInt atual = new FilaInt();
+		FilaInt proxima = new FilaInt();
+
+		int inicial = indexar(posicoes, totalCelulas);
+		distancias[inicial] = 0;
+		atual.adicionar(inicial);
+
+		int custo = 0;
+
+		// Busca em amplitude 0-1: mover a celula vazia sobre uma peca fora do
+		// grupo mantem o custo, sobre uma peca do grupo custa 1
+		while (!atual.isEmpty()) {
+			if (custo >= 0xFE) {
+				throw new IllegalStateException("Distancia maior que o suportado por um byte!");
+			}
+
+			while (!atual.isEmpty()) {
+				int estado = atual.remover();
+
+				if (distancias[estado] != (byte) custo) {
+					continue; // Ja alcancado com custo menor
+				}
+
+				desindexar(estado, posicoes, totalCelulas);
+
+				int posVazio = posicoes[quantidade];
+				int linha = posVazio / dimensao;
+				int coluna = posVazio % dimensao;
+
+				for (int i = 0; i < 4; i++) {
+					int vizinho;
+
+					if (i == 0 && linha < dimensao - 1) {
+						vizinho = posVazio + dimensao;
+					} else if (i == 1 && linha > 0) {
+						vizinho = posVazio - dimensao;
+					} else if (i == 2 && coluna < dimensao - 1) {
+						vizinho = posVazio + 1;
+					} else if (i == 3 && coluna > 0) {
+						vizinho = posVazio - 1;
+					} else {
+						continue;
+					}
+
+					// Procurar peca do grupo na posicao vizinha
+					int pecaMovida = -1;
+					for (int j = 0; j < quantidade; j++) {
+						if (posicoes[j] == vizinho) {
+							pecaMovida = j;
+							break;
+						}
+					}
+
+					posicoes[quantidade] = vizinho;
+					if (pecaMovida >= 0) {
+						posicoes[pecaMovida] = posVazio;
+					}
+
+					int novoEstado = indexar(posicoes, totalCelulas);
+					int novoCusto = (pecaMovida >= 0) ? custo + 1 : custo;
+
+					if ((distancias[novoEstado] & 0xFF) > novoCusto) {
+						distancias[novoEstado] = (byte) novoCusto;
+
+						if (pecaMovida >= 0) {
+							proxima.adicionar(novoEstado);
+						} else {
+							atual.adicionar(novoEstado);
+						}
+					}
+
+					// Desfazer movimento
+					posicoes[quantidade] = posVazio;
+					if (pecaMovida >= 0) {
+						posicoes[pecaMovida] = vizinho;
+					}
+				}
+			}
+
+			FilaInt temp = atual;
+			atual = proxima;
+			proxima = temp;
+			custo++;
+		}
+
+		// Remover a celula vazia: menor distancia entre todas as suas posicoes
+		int posicoesVazio = totalCelulas - quantidade;
+		byte[] tabela = new byte[(int) (totalEstados / posicoesVazio)];
+		Arrays.fill(tabela, NAO_VISITADO);
+
+		for (int estado = 0; estado < distancias.length; estado++) {
+			int indice = estado / posicoesVazio;
+
+			if ((distancias[estado] & 0xFF) < (tabela[indice] & 0xFF)) {
+				tabela[indice] = distancias[estado];
+			}
+		}
+
+		return new BancoPadroes(dimensao, pecas.clone(), posicoesFinais, ByteBuffer.wrap(tabela), 0);
+	}
+
+	/**
+	 * Grava este banco de padroes em um arquivo.
+	 * 
+	 * @param arquivo
+	 *            O arquivo que sera gravado.
+	 * @throws IOException
+	 *             Caso ocorra um erro ao gravar o arquivo.
+	 */
+	public void salvar(File arquivo) throws IOException {
+		DataOutputStream saida = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(arquivo)));
+
+		try {
+			// Cabecalho
+			saida.writeInt(ASSINATURA);
+			saida.writeByte(dimensao);
+			saida.writeByte(pecas.length);
+
+			for (int i = 0; i < pecas.length; i++) {
+				saida.writeByte(pecas[i]);
+				saida.writeByte(posicoesFinais[i]);
+			}
+
+			// Tabela
+			int tamanho = getTamanho();
+			for (int i = 0; i < tamanho; i++) {
+				saida.writeByte(tabela.get(inicioTabela + i));
+			}
+		} finally {
+			saida.close();
+		}
+	}
+
+	/**
+	 * Carrega um banco de padroes de um arquivo gravado por
+	 * {@link #salvar(File)}. O arquivo e mapeado em memoria, somente para
+	 * leitura.
+	 * 
+	 * @param arquivo
+	 *            O arquivo que sera carregado.
+	 * @return O banco de padroes.
+	 * @throws IOException
+	 *             Caso ocorra um erro ao ler o arquivo ou se o arquivo nao for
+	 *             um banco de padroes valido.
+	 */
+	public static BancoPadroes carregar(File arquivo) throws IOException {
+		RandomAccessFile entrada = new RandomAccessFile(arquivo, "r");
+
+		try {
+			FileChannel canal = entrada.getChannel();
+			ByteBuffer tabela = canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size());
+
+			if (tabela.remaining() < 6 || tabela.getInt() != ASSINATURA) {
+				throw new IOException("Arquivo nao e um banco de padroes: " + arquivo);
+			}
+
+			int dimensao = tabela.get();
+			int quantidade = tabela.get();
+
+			try {
+				int[] pecas = new int[quantidade];
+				int[] posicoesFinais = new int[quantidade];
+
+				for (int i = 0; i < quantidade; i++) {
+					pecas[i] = tabela.get();
+					posicoesFinais[i] = tabela.get();
+				}
+
+				validarGrupo(dimensao, pecas);
+
+				BancoPadroes banco = new BancoPadroes(dimensao, pecas, posicoesFinais, tabela, tabela.position());
+
+				if (tabela.remaining() != banco.getTamanho()) {
+					throw new IOException("Tamanho da tabela invalido: " + arquivo);
+				}
+
+				return banco;
+			} catch (IllegalArgumentException e) {
+				throw new IOException("Banco de padroes invalido: " + arquivo, e);
+			}
+		} finally {
+			// O mapeamento continua valido apos o fechamento do arquivo
+			entrada.close();
+		}
+	}
+
+	/**
+	 * Consulta a quantidade minima de movimentos das pecas deste grupo para
+	 * leva-las de suas posicoes no estado informado ate o estado final. Nao
+	 * aloca memoria.
+	 * 
+	 * @param estado
+	 *            O estado que sera consultado.
+	 * @return A distancia das pecas do grupo ate o estado final.
+	 */
+	public int consultar(Jogo8 estado) {
+		int totalCelulas = dimensao * dimensao;
+
+		// Posicoes das pecas do grupo, com 5 bits para cada peca
+		long posicoes = 0;
+
+		for (int posicao = 0; posicao < totalCelulas; posicao++) {
+			int i = ordem[estado.getCelula(posicao)];
+
+			if (i >= 0) {
+				posicoes |= ((long) posicao) << (i * BITS_POSICAO);
+			}
+		}
+
+		// Calcular o indice das posicoes
+		long usadas = 0;
+		int indice = 0;
+
+		for (int i = 0; i < pecas.length; i++) {
+			int posicao = (int) ((posicoes >>> (i * BITS_POSICAO)) & ((1 << BITS_POSICAO) - 1));
+
+			indice = indice * (totalCelulas - i) + posicao - Long.bitCount(usadas & ((1L << posicao) - 1));
+			usadas |= 1L << posicao;
+		}
+
+		return tabela.get(inicioTabela + indice) & 0xFF;
+	}
+
+	/**
+	 * Calcula o indice de uma combinacao de posicoes distintas. O indice e a
+	 * posicao da combinacao na ordem lexicografica, no intervalo de 0 a
+	 * N! / (N - k)! - 1.
+	 * 
+	 * @param posicoes
+	 *            As posicoes.
+	 * @param totalCelulas
+	 *            A quantidade de posicoes possiveis (N).
+	 * @return O indice da combinacao.
+	 */
+	private static int indexar(int[] posicoes, int totalCelulas) {
+		long usadas = 0;
+		int indice = 0;
+
+		for (int i = 0; i < posicoes.length; i++) {
+			int posicao = posicoes[i];
+
+			indice = indice * (totalCelulas - i) + posicao - Long.bitCount(usadas & ((1L << posicao) - 1));
+			usadas |= 1L << posicao;
+		}
+
+		return indice;
+	}
+
+	/**
+	 * Calcula as posicoes correspondentes a um indice gerado por
+	 * {@link #indexar(int[], int)}.
+	 * 
+	 * @param indice
+	 *            O indice da combinacao.
+	 * @param posicoes
+	 *            O vetor que recebera as posicoes.
+	 * @param totalCelulas
+	 *            A quantidade de posicoes possiveis (N).
+	 */
+	private static void desindexar(int indice, int[] posicoes, int totalCelulas) {
+		// Extrair os digitos, do ultimo ao primeiro
+		for (int i = posicoes.length - 1; i >= 0; i--) {
+			posicoes[i] = indice % (totalCelulas - i);
+			indice /= (totalCelulas - i);
+		}
+
+		// Cada digito e a ordem da posicao entre as posicoes ainda livres
+		long usadas = 0;
+
+		for (int i = 0; i < posicoes.length; i++) {
+			int livres = posicoes[i];
+			int posicao = 0;
+
+			while (true) {
+				if ((usadas & (1L << posicao)) == 0) {
+					if (livres == 0) {
+						break;
+					}
+					livres--;
+				}
+				posicao++;
+			}
+
+			posicoes[i] = posicao;
+			usadas |= 1L << posicao;
+		}
+	}
+
+	/**
+	 * Calcula a quantidade de combinacoes de <code>k</code> posicoes distintas
+	 * entre <code>n</code> posicoes, ou seja, n! / (n - k)!.
+	 * 
+	 * @param n
+	 *            A quantidade de posicoes.
+	 * @param k
+	 *            A quantidade de elementos.
+	 * @return A quantidade de combinacoes.
+	 */
+	private static long totalCombinacoes(int n, int k) {
+		long total = 1;
+
+		for (int i = 0; i < k; i++) {
+			total *= (n - i);
+		}
+
+		return total;
+	}
+
+	/**
+	 * Verifica se um grupo de pecas e valido para a dimensao informada.
+	 * 
+	 * @param dimensao
+	 *            A dimensao do tabuleiro.
+	 * @param pecas
+	 *            As pecas do grupo.
+	 * @throws IllegalArgumentException
+	 *             Caso o grupo seja invalido.
+	 */
+	private static void validarGrupo(int dimensao, int[] pecas) {
+		if (dimensao < Jogo8.DIMENSAO_MINIMA || dimensao > DIMENSAO_MAXIMA) {
+			throw new IllegalArgumentException("dimensao fora do intervalo de " + Jogo8.DIMENSAO_MINIMA + " a " + DIMENSAO_MAXIMA + "!");
+		}
+
+		int totalCelulas = dimensao * dimensao;
+
+		if (pecas.length == 0 || pecas.length > MAXIMO_PECAS || pecas.length >= totalCelulas) {
+			throw new IllegalArgumentException("quantidade de pecas invalida!");
+		}
+
+		boolean[] encontradas = new boolean[totalCelulas];
+
+		for (int peca : pecas) {
+			if (peca < 1 || peca >= totalCelulas || encontradas[peca]) {
+				throw new IllegalArgumentException("peca invalida ou repetida: " + peca);
+			}
+
+			encontradas[peca] = true;
+		}
+	}
+
+	/**
+	 * Verifica se este banco foi gerado para o estado final informado.
+	 * 
+	 * @param estadoFinal
+	 *            O estado final.
+	 * @return <code>true</code> se as pecas do grupo estao nas mesmas posicoes
+	 *         do estado final, <code>false</code> caso contrario.
+	 */
+	public boolean isCompativel(Jogo8 estadoFinal) {
+		if (estadoFinal.getDimensao() != dimensao) {
+			return false;
+		}
+
+		for (int i = 0; i < pecas.length; i++) {
+			if (estadoFinal.getCelula(posicoesFinais[i]) != pecas[i]) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Retorna a quantidade de entradas da tabela.
+	 * 
+	 * @return O tamanho da tabela.
+	 */
+	public int getTamanho() {
+		return (int) totalCombinacoes(dimensao * dimensao, pecas.length);
+	}
+
+	/**
+	 * Retorna uma copia das pecas deste grupo.
+	 * 
+	 * @return As pecas do grupo.
+	 */
+	public int[] getPecas() {
+		return pecas.clone();
+	}
+
+	/**
+	 * Retorna o valor do atributo dimensao
+	 * 
+	 * @return O valor do atributo dimensao
+	 */
+	public int getDimensao() {
+		return dimensao;
+	}
+
+	/**
+	 * Fila de inteiros, armazenada em um vetor circular que cresce conforme a
+	 * necessidade.
+	 */
+	private static class FilaInt {
+
+		/**
+		 * Elementos da fila.
+		 */
+		private int[] elementos = new int[1024];
+
+		/**
+		 * Posicao do primeiro elemento.
+		 */
+		private int inicio;
+
+		/**
+		 * Quantidade de elementos.
+		 */
+		private int tamanho;
+
+		/**
+		 * Adiciona um elemento no final da fila.
+		 * 
+		 * @param elemento
+		 *            O elemento.
+		 */
+		void adicionar(int elemento) {
+			if (tamanho == elementos.length) {
+				int[] novos = new int[elementos.length * 2];
+
+				for (int i = 0; i < tamanho; i++) {
+					novos[i] = elementos[(inicio + i) % elementos.length];
+				}
+
+				elementos = novos;
+				inicio = 0;
+			}
+
+			elementos[(inicio + tamanho) % elementos.length] = elemento;
+			tamanho++;
+		}
+
+		/**
+		 * Remove o primeiro elemento da fila.
+		 * 
+		 * @return O elemento removido.
+		 */
+		int remover() {
+			int elemento = elementos[inicio];
+
+			inicio = (inicio + 1) % elementos.length;
+			tamanho--;
+
+			return elemento;
+		}
+
+		/**
+		 * Verifica se a fila esta vazia.
+		 * 
+		 * @return <code>true</code> se nao houver elementos.
+		 */
+		boolean isEmpty() {
+			return tamanho == 0;
+		}
+	}
+}
\ No newline at end of file
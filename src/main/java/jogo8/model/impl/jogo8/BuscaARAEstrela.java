@@ -0,0 +1,413 @@
+package jogo8.model.impl.jogo8;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+import jogo8.model.BuscaHeuristica;
+import jogo8.model.Estado;
+import jogo8.model.OuvinteSolucao;
+
+/**
+ * Classe que define as regras da busca ARA* (A* Incremental Reparador). Os
+ * estados sao ordenados por <code>G + peso * H</code>: com um peso maior que 1,
+ * a busca se aproxima rapidamente do estado final, e a solucao encontrada
+ * custa no maximo <code>peso</code> vezes a solucao otima. A cada iteracao o
+ * peso e reduzido e a busca continua de onde parou, reaproveitando os estados
+ * ja gerados: apenas os estados cuja funcao G diminuiu sao analisados
+ * novamente. Cada solucao melhor e publicada para os ouvintes (ver
+ * {@link OuvinteSolucao}) com seu limite de subotimalidade.
+ * <p>
+ * A busca termina quando a solucao e comprovadamente otima. Para limitar o
+ * tempo, utilize {@link #executar(jogo8.model.Orcamento)}: se o orcamento for
+ * ultrapassado, o resultado parcial e a melhor solucao publicada.
+ * 
+ * @author Jonathan Henrique de Souza
+ * 
+ */
+public class BuscaARAEstrela extends BuscaHeuristica {
+
+	/**
+	 * Peso inicial padrao.
+	 */
+	public static final double PESO_INICIAL_PADRAO = 2.5;
+
+	/**
+	 * Reducao padrao do peso a cada iteracao.
+	 */
+	public static final double REDUCAO_PESO_PADRAO = 0.5;
+
+	/**
+	 * A heuristica utilizada para calcular a funcao H dos estados.
+	 */
+	private final BuscaHeuristica heuristica;
+
+	/**
+	 * Peso da primeira iteracao.
+	 */
+	private final double pesoInicial;
+
+	/**
+	 * Reducao do peso a cada iteracao.
+	 */
+	private final double reducaoPeso;
+
+	/**
+	 * Ouvintes que recebem as solucoes publicadas.
+	 */
+	private OuvinteSolucao[] ouvintesSolucao = new OuvinteSolucao[0];
+
+	/**
+	 * Peso da iteracao atual.
+	 */
+	private double peso;
+
+	/**
+	 * Estados a analisar na iteracao atual, ordenados por
+	 * <code>G + peso * H</code>. Podem conter copias desatualizadas, que sao
+	 * descartadas quando retiradas.
+	 */
+	private PriorityQueue<Jogo8> abertos;
+
+	/**
+	 * Estados cuja funcao G diminuiu depois de expandidos na iteracao atual.
+	 * Sao analisados novamente na proxima iteracao.
+	 */
+	private List<Jogo8> inconsistentes;
+
+	/**
+	 * Estado com a menor funcao G conhecida de cada estado gerado.
+	 */
+	private Map<Jogo8, Jogo8> melhores;
+
+	/**
+	 * Melhor solucao encontrada.
+	 */
+	private Jogo8 solucao;
+
+	/**
+	 * Limite de subotimalidade da melhor solucao.
+	 */
+	private double limiteSubotimalidade;
+
+	/**
+	 * Custo da ultima solucao publicada.
+	 */
+	private int custoPublicado;
+
+	/**
+	 * Constroi um novo objeto que realiza a busca ARA* com o peso inicial e a
+	 * reducao padrao.
+	 * 
+	 * @param heuristica
+	 *            A heuristica que sera utilizada. Os estados inicial e final
+	 *            desta busca sao os mesmos da heuristica.
+	 */
+	public BuscaARAEstrela(BuscaHeuristica heuristica) {
+		this(heuristica, PESO_INICIAL_PADRAO, REDUCAO_PESO_PADRAO);
+	}
+
+	/**
+	 * Constroi um novo objeto que realiza a busca ARA*.
+	 * 
+	 * @param heuristica
+	 *            A heuristica que sera utilizada. Deve ser consistente para que
+	 *            os limites de subotimalidade sejam validos.
+	 * @param pesoInicial
+	 *            O peso da funcao H na primeira iteracao (maior ou igual a 1).
+	 * @param reducaoPeso
+	 *            A reducao do peso a cada iteracao (maior que 0).
+	 */
+	public BuscaARAEstrela(BuscaHeuristica heuristica, double pesoInicial, double reducaoPeso) {
+		super((Jogo8) heuristica.getEstadoInicial(), (Jogo8) heuristica.getEstadoFinal());
+
+		if (pesoInicial < 1) {
+			throw new IllegalArgumentException("pesoInicial < 1");
+		}
+
+		if (reducaoPeso <= 0) {
+			throw new IllegalArgumentException("reducaoPeso <= 0");
+		}
+
+		this.heuristica = heuristica;
+		this.pesoInicial = pesoInicial;
+		this.reducaoPeso = reducaoPeso;
+	}
+
+	@Override
+	public int funcaoH(Estado estado) {
+		return heuristica.funcaoH(estado);
+	}
+
+	@Override
+	public int funcaoH(Estado sucessor, int funcaoHPai, int movimento) {
+		return heuristica.funcaoH(sucessor, funcaoHPai, movimento);
+	}
+
+	@Override
+	protected Estado buscar() {
+		Jogo8 inicial = (Jogo8) estadoInicial;
+
+		// A lista fechada contem os estados expandidos na iteracao atual
+		listaAberta = null;
+		if (listaFechada == null) {
+			listaFechada = criarListaFechada();
+		} else {
+			listaFechada.limpar();
+		}
+
+		solucao = null;
+		limiteSubotimalidade = Double.POSITIVE_INFINITY;
+		custoPublicado = Integer.MAX_VALUE;
+
+		// Se o estado final nao puder ser alcancado, nao ha o que buscar
+		if (!inicial.isAlcancavel(estadoFinal)) {
+			return null; // Solucao nao encontrada!
+		}
+
+		peso = pesoInicial;
+		abertos = new PriorityQueue<Jogo8>(64, criarComparador(peso));
+		inconsistentes = new ArrayList<Jogo8>();
+		melhores = new HashMap<Jogo8, Jogo8>();
+
+		inicial.setFuncaoG(0);
+		inicial.setFuncaoH(avaliar(inicial));
+		melhores.put(inicial, inicial);
+		abertos.add(inicial);
+
+		if (inicial.equals(estadoFinal)) {
+			solucao = inicial;
+		}
+
+		while (true) {
+			melhorarCaminho();
+			publicarSolucao();
+
+			// Solucao comprovadamente otima, ou nenhuma solucao
+			if (peso <= 1 || limiteSubotimalidade <= 1 || (solucao == null && abertos.isEmpty())) {
+				return solucao;
+			}
+
+			// Reduzir o peso e recomecar com os estados abertos e
+			// inconsistentes, reordenados pelo novo peso
+			peso = Math.max(1, peso - reducaoPeso);
+
+			PriorityQueue<Jogo8> novosAbertos = new PriorityQueue<Jogo8>(abertos.size() + inconsistentes.size() + 1, criarComparador(peso));
+
+			for (Jogo8 estado : abertos) {
+				if (!isDesatualizado(estado)) {
+					novosAbertos.add(estado);
+				}
+			}
+
+			for (Jogo8 estado : inconsistentes) {
+				if (!isDesatualizado(estado)) {
+					novosAbertos.add(estado);
+				}
+			}
+
+			abertos = novosAbertos;
+			inconsistentes.clear();
+			listaFechada.limpar();
+		}
+	}
+
+	/**
+	 * Expande os estados abertos ate que nenhum deles possa levar a uma
+	 * solucao melhor que a atual com o peso atual.
+	 */
+	private void melhorarCaminho() {
+		while (!abertos.isEmpty()) {
+			Jogo8 e = abertos.peek();
+
+			// Descartar copias desatualizadas
+			if (isDesatualizado(e)) {
+				abertos.poll();
+				estatisticas.registrarDuplicados(1);
+				continue;
+			}
+
+			// A solucao atual nao e pior que qualquer estado aberto
+			if (solucao != null && chave(solucao) <= chave(e)) {
+				return;
+			}
+
+			abertos.poll();
+			listaFechada.adicionar(e);
+
+			// Criar apenas os sucessores cuja funcao G diminuiu
+			int quantidade = listarMovimentos(e);
+			Jogo8 rascunho = (Jogo8) getRascunho();
+
+			registrarExpansao(e, e.getFuncaoG(), quantidade);
+
+			for (int i = 0; i < quantidade; i++) {
+				e.aplicarMovimento(getMovimento(i), rascunho);
+
+				Jogo8 melhor = melhores.get(rascunho);
+
+				if (melhor != null && melhor.getFuncaoG() <= rascunho.getFuncaoG()) {
+					estatisticas.registrarDuplicados(1);
+					continue;
+				}
+
+				Jogo8 filho = e.criarSucessor(getMovimento(i));
+				filho.setFuncaoH(melhor != null ? melhor.getFuncaoH() : avaliar(filho, e.getFuncaoH(), getMovimento(i)));
+				melhores.put(filho, filho);
+
+				if (filho.equals(estadoFinal)) {
+					solucao = filho;
+				}
+
+				// Estados ja expandidos nesta iteracao so sao analisados
+				// novamente na proxima
+				if (listaFechada.contem(filho)) {
+					inconsistentes.add(filho);
+				} else {
+					abertos.add(filho);
+				}
+			}
+
+			estatisticas.registrarFronteira(abertos.size() + inconsistentes.size());
+		}
+	}
+
+	/**
+	 * Calcula o limite de subotimalidade da solucao atual e a publica para os
+	 * ouvintes, se a solucao for mais curta ou o limite for menor que os da
+	 * ultima publicada.
+	 */
+	private void publicarSolucao() {
+		if (solucao == null) {
+			return;
+		}
+
+		// A solucao otima custa pelo menos o menor G + H dos estados que
+		// ainda podem leva-la a ser encontrada
+		int menorF = Integer.MAX_VALUE;
+
+		for (Jogo8 estado : abertos) {
+			if (!isDesatualizado(estado)) {
+				menorF = Math.min(menorF, estado.getFuncaoF());
+			}
+		}
+
+		for (Jogo8 estado : inconsistentes) {
+			if (!isDesatualizado(estado)) {
+				menorF = Math.min(menorF, estado.getFuncaoF());
+			}
+		}
+
+		double limite = peso;
+
+		if (menorF >= solucao.getFuncaoG()) {
+			limite = 1;
+		} else if (menorF > 0) {
+			limite = Math.min(peso, (double) solucao.getFuncaoG() / menorF);
+		}
+
+		if (solucao.getFuncaoG() >= custoPublicado && limite >= limiteSubotimalidade) {
+			return; // Nada melhorou
+		}
+
+		limiteSubotimalidade = Math.min(limite, limiteSubotimalidade);
+		custoPublicado = solucao.getFuncaoG();
+
+		for (OuvinteSolucao ouvinte : ouvintesSolucao) {
+			ouvinte.solucaoMelhorada(this, solucao, limite);
+		}
+	}
+
+	/**
+	 * Verifica se existe um caminho mais curto para um estado do que o
+	 * caminho da copia informada.
+	 * 
+	 * @param estado
+	 *            A copia do estado.
+	 * @return <code>true</code> se a copia estiver desatualizada.
+	 */
+	private boolean isDesatualizado(Jogo8 estado) {
+		return estado.getFuncaoG() > melhores.get(estado).getFuncaoG();
+	}
+
+	/**
+	 * Calcula a chave de ordenacao de um estado com o peso atual.
+	 * 
+	 * @param estado
+	 *            O estado.
+	 * @return <code>G + peso * H</code>.
+	 */
+	private double chave(Jogo8 estado) {
+		return estado.getFuncaoG() + peso * estado.getFuncaoH();
+	}
+
+	/**
+	 * Cria o comparador dos estados abertos para um peso.
+	 * 
+	 * @param peso
+	 *            O peso da funcao H.
+	 * @return O comparador.
+	 */
+	private static Comparator<Jogo8> criarComparador(final double peso) {
+		return new Comparator<Jogo8>() {
+			@Override
+			public int compare(Jogo8 a, Jogo8 b) {
+				int diferenca = Double.compare(a.getFuncaoG() + peso * a.getFuncaoH(), b.getFuncaoG() + peso * b.getFuncaoH());
+
+				// Em caso de empate, priorizar o estado mais profundo
+				return diferenca != 0 ? diferenca : b.getFuncaoG() - a.getFuncaoG();
+			}
+		};
+	}
+
+	@Override
+	protected Estado obterParcial() {
+		// Uma solucao publicada e melhor que qualquer estado intermediario
+		return solucao != null ? solucao : super.obterParcial();
+	}
+
+	@Override
+	protected long contarNosArmazenados() {
+		return melhores == null ? 0 : melhores.size();
+	}
+
+	/**
+	 * Adiciona um ouvinte que recebera as solucoes publicadas por esta busca.
+	 * 
+	 * @param ouvinte
+	 *            O ouvinte.
+	 */
+	public void adicionarOuvinteSolucao(OuvinteSolucao ouvinte) {
+		ouvintesSolucao = Arrays.copyOf(ouvintesSolucao, ouvintesSolucao.length + 1);
+		ouvintesSolucao[ouvintesSolucao.length - 1] = ouvinte;
+	}
+
+	/**
+	 * Retorna o limite de subotimalidade da melhor solucao da ultima execucao.
+	 * 
+	 * @return O limite, ou {@link Double#POSITIVE_INFINITY} se nenhuma solucao
+	 *         foi encontrada.
+	 */
+	public double getLimiteSubotimalidade() {
+		return limiteSubotimalidade;
+	}
+
+	/**
+	 * Retorna o valor do atributo peso
+	 * 
+	 * @return O peso da ultima iteracao realizada
+	 */
+	public double getPeso() {
+		return peso;
+	}
+
+	@Override
+	public String toString() {
+		return "Busca ARA* (" + heuristica + ", peso " + pesoInicial + ")";
+	}
+
+}
\ No newline at end of file
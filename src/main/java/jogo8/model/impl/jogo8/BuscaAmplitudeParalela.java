@@ -0,0 +1,619 @@
+package jogo8.model.impl.jogo8;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import jogo8.model.Busca;
+import jogo8.model.Estado;
+import jogo8.model.Fronteira;
+import jogo8.model.ResultadoBusca;
+import jogo8.util.ConjuntoLongConcorrente;
+import jogo8.util.MapaBitsConcorrente;
+import jogo8.util.PermutacaoUtils;
+
+/**
+ * Busca por Amplitude sincronizada por camadas e executada em paralelo. Cada
+ * camada (os estados de mesma profundidade) e dividida em partes expandidas
+ * por varias threads, e a proxima camada so comeca quando a atual termina. Os
+ * estados sao mantidos apenas pelo seu codigo (ver {@link Jogo8#getCodigo()})
+ * em vetores primitivos, e os estados ja visitados sao registrados em uma
+ * estrutura concorrente: um mapa de bits pelo indice do estado, quando o
+ * tabuleiro puder ser indexado, ou um conjunto dividido em faixas.
+ * <p>
+ * No modo exaustivo, a busca continua apos encontrar o estado final ate que
+ * todo o espaco de estados alcancavel seja visitado, o que permite obter a
+ * quantidade de estados em cada profundidade. Suporta tabuleiros de ate 4x4.
+ * 
+ * @author Jonathan Henrique de Souza
+ * 
+ */
+public class BuscaAmplitudeParalela extends Busca {
+
+	/**
+	 * Quantidade de bits utilizados por cada celula no codigo do estado.
+	 */
+	private static final int BITS_CELULA = 4;
+
+	/**
+	 * Mascara para extrair o valor de uma celula do codigo do estado.
+	 */
+	private static final long MASCARA_CELULA = 0xFL;
+
+	/**
+	 * Quantidade minima de estados de cada parte de uma camada.
+	 */
+	private static final int TAMANHO_MINIMO_PARTE = 1024;
+
+	/**
+	 * Quantidade de estados expandidos por uma thread entre duas verificacoes
+	 * do tempo e do cancelamento.
+	 */
+	private static final int INTERVALO_VERIFICACAO = 1024;
+
+	/**
+	 * Quantidade de threads utilizadas.
+	 */
+	private final int threads;
+
+	/**
+	 * Se <code>true</code>, a busca continua apos encontrar o estado final.
+	 */
+	private boolean exaustiva;
+
+	/**
+	 * Quantidade de celulas do tabuleiro.
+	 */
+	private int totalCelulas;
+
+	/**
+	 * Posicoes vizinhas de cada posicao do tabuleiro.
+	 */
+	private int[][] vizinhos;
+
+	/**
+	 * Estados visitados, pelo indice, se o tabuleiro puder ser indexado.
+	 */
+	private MapaBitsConcorrente visitadosIndice;
+
+	/**
+	 * Estados visitados, pelo codigo, se o tabuleiro nao puder ser indexado.
+	 */
+	private ConjuntoLongConcorrente visitadosCodigo;
+
+	/**
+	 * Quantidade de estados de cada camada da ultima execucao.
+	 */
+	private long[] tamanhosCamadas = new long[0];
+
+	/**
+	 * Tempo de expansao de cada camada da ultima execucao, em nanossegundos.
+	 */
+	private long[] temposCamadas = new long[0];
+
+	/**
+	 * Quantidade de camadas da ultima execucao.
+	 */
+	private int quantidadeCamadas;
+
+	/**
+	 * Situacao que interrompeu a expansao da camada atual, ou
+	 * <code>null</code>.
+	 */
+	private volatile ResultadoBusca.Situacao interrupcao;
+
+	/**
+	 * Constroi um novo objeto que realiza a Busca por Amplitude em paralelo.
+	 * 
+	 * @param estadoInicial
+	 *            O estado incial utilizada por esta busca.
+	 * @param estadoFinal
+	 *            O estado final que esta busca devera encontrar.
+	 * @param threads
+	 *            A quantidade de threads que expandirao cada camada.
+	 */
+	public BuscaAmplitudeParalela(Jogo8 estadoInicial, Jogo8 estadoFinal, int threads) {
+		super(estadoInicial, estadoFinal);
+
+		if (!estadoFinal.possuiCodigo()) {
+			throw new IllegalArgumentException("Tabuleiros maiores que 4x4 nao sao suportados");
+		}
+
+		if (threads < 1) {
+			throw new IllegalArgumentException("threads < 1");
+		}
+
+		this.threads = threads;
+	}
+
+	@Override
+	protected Estado buscar() {
+		Jogo8 inicial = (Jogo8) estadoInicial;
+		Jogo8 fim = (Jogo8) estadoFinal;
+
+		// Esta busca nao utiliza as listas da classe Busca
+		listaAberta = null;
+		listaFechada = null;
+
+		quantidadeCamadas = 0;
+		interrupcao = null;
+
+		// Se o estado final nao puder ser alcancado, nao ha o que buscar
+		if (!inicial.isAlcancavel(fim)) {
+			return null; // Solucao nao encontrada!
+		}
+
+		prepararTabuleiro(fim);
+
+		long codigoFinal = fim.getCodigo();
+
+		// Camadas mantidas para reconstruir o caminho ate o estado final
+		List<long[]> camadas = new ArrayList<long[]>();
+
+		long[] camada = { inicial.getCodigo() };
+		visitar(inicial.getCodigo());
+		registrarCamada(camada.length, 0);
+		estatisticas.registrarFronteira(camada.length);
+		camadas.add(camada);
+
+		int profundidadeFinal = camada[0] == codigoFinal ? 0 : -1;
+
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+		try {
+			while (camada.length > 0 && (exaustiva || profundidadeFinal < 0)) {
+				// As expansoes e os estados armazenados sao verificados antes
+				// de cada camada; o tempo e o cancelamento, tambem durante
+				ResultadoBusca.Situacao situacao = verificarOrcamento(estatisticas.getNosExpandidos() + camada.length,
+						getEstadosVisitados());
+
+				if (situacao != null) {
+					interromper(inicial, camadas, profundidadeFinal, codigoFinal, situacao);
+				}
+
+				AtomicBoolean encontrado = new AtomicBoolean();
+				AtomicLong gerados = new AtomicLong();
+
+				long inicio = System.nanoTime();
+				int expandidos = camada.length;
+
+				camada = expandir(camada, codigoFinal, encontrado, gerados, executor);
+
+				if (interrupcao != null) {
+					interromper(inicial, camadas, profundidadeFinal, codigoFinal, interrupcao);
+				}
+
+				// Os filhos que nao entraram na proxima camada ja haviam sido
+				// visitados
+				estatisticas.registrarExpansoes(quantidadeCamadas - 1, expandidos, gerados.get());
+				estatisticas.registrarDuplicados(gerados.get() - camada.length);
+				estatisticas.registrarFronteira(camada.length);
+
+				if (camada.length > 0) {
+					registrarCamada(camada.length, System.nanoTime() - inicio);
+				}
+
+				// Nao e necessario manter as camadas posteriores ao estado
+				// final
+				if (profundidadeFinal < 0) {
+					camadas.add(camada);
+
+					if (encontrado.get()) {
+						profundidadeFinal = camadas.size() - 1;
+					}
+				}
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+
+		if (profundidadeFinal < 0) {
+			return null; // Solucao nao encontrada!
+		}
+
+		return reconstruirCaminho(inicial, camadas, profundidadeFinal, codigoFinal);
+	}
+
+	/**
+	 * Prepara as posicoes vizinhas e os estados visitados para o tabuleiro do
+	 * estado final.
+	 * 
+	 * @param fim
+	 *            O estado final.
+	 */
+	private void prepararTabuleiro(Jogo8 fim) {
+		int dimensao = fim.getDimensao();
+		totalCelulas = dimensao * dimensao;
+
+		vizinhos = new int[totalCelulas][];
+
+		for (int pos = 0; pos < totalCelulas; pos++) {
+			int linha = pos / dimensao;
+			int coluna = pos % dimensao;
+
+			int[] vizinhosPos = new int[4];
+			int quantidade = 0;
+
+			if (linha + 1 < dimensao) {
+				vizinhosPos[quantidade++] = pos + dimensao;
+			}
+			if (linha > 0) {
+				vizinhosPos[quantidade++] = pos - dimensao;
+			}
+			if (coluna + 1 < dimensao) {
+				vizinhosPos[quantidade++] = pos + 1;
+			}
+			if (coluna > 0) {
+				vizinhosPos[quantidade++] = pos - 1;
+			}
+
+			vizinhos[pos] = Arrays.copyOf(vizinhosPos, quantidade);
+		}
+
+		if (fim.getTotalIndices() > 0) {
+			visitadosIndice = new MapaBitsConcorrente(fim.getTotalIndices());
+			visitadosCodigo = null;
+		} else {
+			visitadosIndice = null;
+			visitadosCodigo = new ConjuntoLongConcorrente(threads * 16);
+		}
+	}
+
+	/**
+	 * Expande uma camada em paralelo.
+	 * 
+	 * @param camada
+	 *            Os codigos dos estados da camada atual.
+	 * @param codigoFinal
+	 *            O codigo do estado final.
+	 * @param encontrado
+	 *            Marcado se o estado final for gerado.
+	 * @param gerados
+	 *            Acumula a quantidade de filhos gerados, visitados ou nao.
+	 * @param executor
+	 *            O executor que expandira as partes da camada.
+	 * @return Os codigos dos estados da proxima camada.
+	 */
+	private long[] expandir(final long[] camada, final long codigoFinal, final AtomicBoolean encontrado, final AtomicLong gerados,
+			ExecutorService executor) {
+		int partes = Math.max(1, Math.min(threads * 4, camada.length / TAMANHO_MINIMO_PARTE));
+
+		List<Future<long[]>> resultados = new ArrayList<Future<long[]>>(partes);
+
+		for (int i = 0; i < partes; i++) {
+			final int inicio = (int) ((long) camada.length * i / partes);
+			final int fim = (int) ((long) camada.length * (i + 1) / partes);
+
+			resultados.add(executor.submit(new Callable<long[]>() {
+				@Override
+				public long[] call() {
+					return expandir(camada, inicio, fim, codigoFinal, encontrado, gerados);
+				}
+			}));
+		}
+
+		// Juntar as partes na proxima camada
+		long[][] filhos = new long[partes][];
+		int total = 0;
+
+		for (int i = 0; i < partes; i++) {
+			try {
+				filhos[i] = resultados.get(i).get();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException("Busca interrompida", e);
+			} catch (ExecutionException e) {
+				throw new IllegalStateException("Falha ao expandir camada", e.getCause());
+			}
+
+			total += filhos[i].length;
+		}
+
+		long[] proximaCamada = new long[total];
+		int posicao = 0;
+
+		for (long[] parte : filhos) {
+			System.arraycopy(parte, 0, proximaCamada, posicao, parte.length);
+			posicao += parte.length;
+		}
+
+		return proximaCamada;
+	}
+
+	/**
+	 * Expande uma parte de uma camada. Executado por uma das threads.
+	 * 
+	 * @param camada
+	 *            Os codigos dos estados da camada atual.
+	 * @param inicio
+	 *            A primeira posicao da parte.
+	 * @param fim
+	 *            A posicao seguinte a ultima posicao da parte.
+	 * @param codigoFinal
+	 *            O codigo do estado final.
+	 * @param encontrado
+	 *            Marcado se o estado final for gerado.
+	 * @param gerados
+	 *            Acumula a quantidade de filhos gerados, visitados ou nao.
+	 * @return Os codigos dos filhos ainda nao visitados.
+	 */
+	private long[] expandir(long[] camada, int inicio, int fim, long codigoFinal, AtomicBoolean encontrado, AtomicLong gerados) {
+		long[] filhos = new long[Math.max(16, (fim - inicio) * 2)];
+		int quantidade = 0;
+		long totalGerados = 0;
+
+		for (int i = inicio; i < fim; i++) {
+			if ((i - inicio) % INTERVALO_VERIFICACAO == INTERVALO_VERIFICACAO - 1) {
+				ResultadoBusca.Situacao situacao = interrupcao != null ? interrupcao : verificarOrcamento(0, 0);
+
+				if (situacao != null) {
+					interrupcao = situacao; // Parar as demais partes
+					break;
+				}
+			}
+
+			long codigo = camada[i];
+			int posVazio = localizarVazio(codigo);
+
+			totalGerados += vizinhos[posVazio].length;
+
+			for (int posPeca : vizinhos[posVazio]) {
+				long filho = mover(codigo, posVazio, posPeca);
+
+				if (!visitar(filho)) {
+					continue; // Ja visitado
+				}
+
+				if (filho == codigoFinal) {
+					encontrado.set(true);
+				}
+
+				if (quantidade == filhos.length) {
+					filhos = Arrays.copyOf(filhos, quantidade * 2);
+				}
+
+				filhos[quantidade++] = filho;
+			}
+		}
+
+		// Um unico acesso ao contador compartilhado por parte
+		gerados.addAndGet(totalGerados);
+
+		return Arrays.copyOf(filhos, quantidade);
+	}
+
+	/**
+	 * Marca um estado como visitado.
+	 * 
+	 * @param codigo
+	 *            O codigo do estado.
+	 * @return <code>true</code> se o estado ainda nao havia sido visitado.
+	 */
+	private boolean visitar(long codigo) {
+		if (visitadosIndice != null) {
+			return visitadosIndice.marcar(PermutacaoUtils.ranquear(codigo, totalCelulas));
+		}
+
+		return visitadosCodigo.adicionar(codigo);
+	}
+
+	/**
+	 * Localiza a celula vazia em um codigo.
+	 * 
+	 * @param codigo
+	 *            O codigo do estado.
+	 * @return A posicao da celula vazia.
+	 */
+	private int localizarVazio(long codigo) {
+		for (int pos = 0; pos < totalCelulas; pos++) {
+			if (((codigo >>> (pos * BITS_CELULA)) & MASCARA_CELULA) == 0) {
+				return pos;
+			}
+		}
+
+		throw new IllegalStateException("Codigo sem celula vazia: " + Long.toHexString(codigo));
+	}
+
+	/**
+	 * Move uma peca para a celula vazia, diretamente sobre o codigo.
+	 * 
+	 * @param codigo
+	 *            O codigo do estado.
+	 * @param posVazio
+	 *            A posicao da celula vazia.
+	 * @param posPeca
+	 *            A posicao da peca que sera movida.
+	 * @return O codigo do novo estado.
+	 */
+	private static long mover(long codigo, int posVazio, int posPeca) {
+		long peca = (codigo >>> (posPeca * BITS_CELULA)) & MASCARA_CELULA;
+
+		return (codigo & ~(MASCARA_CELULA << (posPeca * BITS_CELULA))) | (peca << (posVazio * BITS_CELULA));
+	}
+
+	/**
+	 * Cria a cadeia de estados, a partir do estado inicial, ate o estado
+	 * final. Partindo do estado final, procura em cada camada anterior um
+	 * estado vizinho do ultimo estado do caminho.
+	 * 
+	 * @param inicial
+	 *            O estado inicial.
+	 * @param camadas
+	 *            As camadas ate a profundidade do estado final.
+	 * @param profundidade
+	 *            A profundidade do estado final.
+	 * @param codigoFinal
+	 *            O codigo do estado final.
+	 * @return O estado final encontrado, cujos pais levam ao estado inicial.
+	 */
+	private Jogo8 reconstruirCaminho(Jogo8 inicial, List<long[]> camadas, int profundidade, long codigoFinal) {
+		long[] caminho = new long[profundidade + 1];
+		caminho[profundidade] = codigoFinal;
+
+		for (int k = profundidade - 1; k >= 0; k--) {
+			caminho[k] = localizarVizinho(camadas.get(k), caminho[k + 1]);
+		}
+
+		Jogo8 estado = inicial;
+
+		for (int k = 1; k <= profundidade; k++) {
+			estado = estado.mover(localizarVazio(caminho[k]));
+		}
+
+		return estado;
+	}
+
+	/**
+	 * Interrompe a busca. O resultado parcial e o estado final, se ja foi
+	 * encontrado, ou um estado da ultima camada completa.
+	 * 
+	 * @param inicial
+	 *            O estado inicial.
+	 * @param camadas
+	 *            As camadas completas ate o momento.
+	 * @param profundidadeFinal
+	 *            A profundidade do estado final, ou -1 se nao foi encontrado.
+	 * @param codigoFinal
+	 *            O codigo do estado final.
+	 * @param situacao
+	 *            A situacao final da execucao.
+	 */
+	private void interromper(Jogo8 inicial, List<long[]> camadas, int profundidadeFinal, long codigoFinal,
+			ResultadoBusca.Situacao situacao) {
+		if (profundidadeFinal >= 0) {
+			registrarParcial(reconstruirCaminho(inicial, camadas, profundidadeFinal, codigoFinal));
+		} else {
+			int profundidade = camadas.size() - 1;
+			registrarParcial(reconstruirCaminho(inicial, camadas, profundidade, camadas.get(profundidade)[0]));
+		}
+
+		interromper(situacao);
+	}
+
+	/**
+	 * Procura em uma camada um estado vizinho de outro.
+	 * 
+	 * @param camada
+	 *            A camada.
+	 * @param codigo
+	 *            O codigo do estado.
+	 * @return O codigo do vizinho encontrado.
+	 */
+	private long localizarVizinho(long[] camada, long codigo) {
+		int posVazio = localizarVazio(codigo);
+		int[] posicoes = vizinhos[posVazio];
+
+		long[] candidatos = new long[posicoes.length];
+
+		for (int i = 0; i < posicoes.length; i++) {
+			candidatos[i] = mover(codigo, posVazio, posicoes[i]);
+		}
+
+		for (long estado : camada) {
+			for (long candidato : candidatos) {
+				if (estado == candidato) {
+					return estado;
+				}
+			}
+		}
+
+		throw new IllegalStateException("Camada sem vizinho de " + Long.toHexString(codigo));
+	}
+
+	/**
+	 * Registra o tamanho e o tempo de uma camada.
+	 * 
+	 * @param tamanho
+	 *            A quantidade de estados da camada.
+	 * @param tempo
+	 *            O tempo de expansao, em nanossegundos.
+	 */
+	private void registrarCamada(long tamanho, long tempo) {
+		if (quantidadeCamadas == tamanhosCamadas.length) {
+			tamanhosCamadas = Arrays.copyOf(tamanhosCamadas, Math.max(32, quantidadeCamadas * 2));
+			temposCamadas = Arrays.copyOf(temposCamadas, tamanhosCamadas.length);
+		}
+
+		tamanhosCamadas[quantidadeCamadas] = tamanho;
+		temposCamadas[quantidadeCamadas] = tempo;
+		quantidadeCamadas++;
+	}
+
+	@Override
+	protected Fronteira criarListaAberta() {
+		// As camadas sao vetores de codigos, nao uma Fronteira
+		return null;
+	}
+
+	/**
+	 * Altera o modo exaustivo da busca.
+	 * 
+	 * @param exaustiva
+	 *            <code>true</code> para continuar apos encontrar o estado
+	 *            final, ate visitar todos os estados alcancaveis.
+	 */
+	public void setExaustiva(boolean exaustiva) {
+		this.exaustiva = exaustiva;
+	}
+
+	/**
+	 * Retorna a quantidade de camadas da ultima execucao, incluindo a camada
+	 * do estado inicial.
+	 * 
+	 * @return A quantidade de camadas.
+	 */
+	public int getQuantidadeCamadas() {
+		return quantidadeCamadas;
+	}
+
+	/**
+	 * Retorna a quantidade de estados de uma camada da ultima execucao.
+	 * 
+	 * @param profundidade
+	 *            A profundidade da camada.
+	 * @return A quantidade de estados.
+	 */
+	public long getTamanhoCamada(int profundidade) {
+		return tamanhosCamadas[profundidade];
+	}
+
+	/**
+	 * Retorna o tempo de expansao de uma camada da ultima execucao, ou seja, o
+	 * tempo utilizado para gera-la a partir da camada anterior.
+	 * 
+	 * @param profundidade
+	 *            A profundidade da camada.
+	 * @return O tempo, em nanossegundos.
+	 */
+	public long getTempoCamada(int profundidade) {
+		return temposCamadas[profundidade];
+	}
+
+	/**
+	 * Retorna a quantidade total de estados visitados pela ultima execucao.
+	 * 
+	 * @return A soma dos tamanhos das camadas.
+	 */
+	public long getEstadosVisitados() {
+		long total = 0;
+
+		for (int i = 0; i < quantidadeCamadas; i++) {
+			total += tamanhosCamadas[i];
+		}
+
+		return total;
+	}
+
+	@Override
+	public String toString() {
+		return "Busca por Amplitude Paralela (" + threads + " threads)";
+	}
+
+}
\ No newline at end of file
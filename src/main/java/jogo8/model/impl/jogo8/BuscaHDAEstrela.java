@@ -0,0 +1,651 @@
+package jogo8.model.impl.jogo8;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import jogo8.model.BuscaHeuristica;
+import jogo8.model.Estado;
+import jogo8.model.EstatisticasBusca;
+import jogo8.model.ResultadoBusca;
+import jogo8.util.MapaLongInt;
+
+/**
+ * Classe que define as regras da busca HDA* (A* distribuido por hash). Cada
+ * estado pertence a uma unica thread, escolhida pelo hash do estado. Cada
+ * thread possui sua propria lista aberta e seu proprio registro da menor
+ * funcao G de cada estado, e os estados gerados que pertencem a outras
+ * threads sao enviados por filas sem bloqueio.
+ * <p>
+ * Quando uma thread encontra o estado final, o custo da solucao passa a
+ * limitar a busca: estados com funcao F maior ou igual a este custo sao
+ * descartados. A busca termina quando nao ha mais estados em nenhuma lista
+ * aberta nem em transito entre as threads, o que garante, com uma heuristica
+ * admissivel, que nenhuma solucao mais curta existe.
+ * <p>
+ * As threads sao mantidas entre as execucoes de uma mesma instancia e
+ * encerradas apos {@link #TEMPO_OCIOSO_EXECUTOR} segundos sem execucoes. Sao
+ * threads daemon, logo nao impedem o termino da aplicacao.
+ * 
+ * @author Jonathan Henrique de Souza
+ * 
+ */
+public class BuscaHDAEstrela extends BuscaHeuristica {
+
+	/**
+	 * Quantidade de estados expandidos por uma thread entre duas verificacoes
+	 * do orcamento. Deve ser uma potencia de 2.
+	 */
+	private static final int INTERVALO_VERIFICACAO = 256;
+
+	/**
+	 * Tempo maximo, em nanossegundos, que uma thread sem estados para
+	 * analisar aguarda antes de verificar novamente se a busca terminou. A
+	 * thread e acordada antes disso quando recebe um estado ou quando a busca
+	 * termina.
+	 */
+	private static final long ESPERA_MAXIMA = 1000000;
+
+	/**
+	 * Tempo, em segundos, que as threads do executor permanecem ativas sem
+	 * execucoes. Evita que instancias descartadas mantenham suas threads.
+	 */
+	private static final long TEMPO_OCIOSO_EXECUTOR = 1;
+
+	/**
+	 * A heuristica utilizada para calcular a funcao H dos estados. Deve
+	 * permitir chamadas concorrentes a
+	 * {@link BuscaHeuristica#funcaoH(Estado)}.
+	 */
+	private final BuscaHeuristica heuristica;
+
+	/**
+	 * Quantidade de threads.
+	 */
+	private final int threads;
+
+	/**
+	 * Executor das threads, criado na primeira execucao e reaproveitado pelas
+	 * seguintes.
+	 */
+	private ExecutorService executor;
+
+	/**
+	 * Threads da execucao atual.
+	 */
+	private Trabalhador[] trabalhadores;
+
+	/**
+	 * Quantidade de estados em transito mais a quantidade de threads que
+	 * possuem estados para analisar. A busca termina quando chega a zero.
+	 */
+	private AtomicLong pendentes;
+
+	/**
+	 * Melhor solucao encontrada ate o momento.
+	 */
+	private volatile Jogo8 solucao;
+
+	/**
+	 * Custo da melhor solucao encontrada, ou {@link Integer#MAX_VALUE}.
+	 */
+	private volatile int custoSolucao;
+
+	/**
+	 * Indica que alguma thread falhou ou ultrapassou o orcamento e as demais
+	 * devem parar.
+	 */
+	private volatile boolean abortada;
+
+	/**
+	 * Situacao que interrompeu a busca, ou <code>null</code>.
+	 */
+	private volatile ResultadoBusca.Situacao interrupcao;
+
+	/**
+	 * Constroi um novo objeto que realiza a busca HDA*.
+	 * 
+	 * @param heuristica
+	 *            A heuristica que sera utilizada. Os estados inicial e final
+	 *            desta busca sao os mesmos da heuristica.
+	 * @param threads
+	 *            A quantidade de threads.
+	 */
+	public BuscaHDAEstrela(BuscaHeuristica heuristica, int threads) {
+		super((Jogo8) heuristica.getEstadoInicial(), (Jogo8) heuristica.getEstadoFinal());
+
+		if (threads < 1) {
+			throw new IllegalArgumentException("threads < 1");
+		}
+
+		this.heuristica = heuristica;
+		this.threads = threads;
+	}
+
+	@Override
+	public int funcaoH(Estado estado) {
+		return heuristica.funcaoH(estado);
+	}
+
+	@Override
+	public int funcaoH(Estado sucessor, int funcaoHPai, int movimento) {
+		return heuristica.funcaoH(sucessor, funcaoHPai, movimento);
+	}
+
+	@Override
+	protected Estado buscar() {
+		Jogo8 inicial = (Jogo8) estadoInicial;
+
+		// Cada thread possui suas proprias listas
+		listaAberta = null;
+		listaFechada = null;
+
+		// Se o estado final nao puder ser alcancado, nao ha o que buscar
+		if (!inicial.isAlcancavel(estadoFinal)) {
+			return null; // Solucao nao encontrada!
+		}
+
+		trabalhadores = new Trabalhador[threads];
+		for (int i = 0; i < threads; i++) {
+			trabalhadores[i] = new Trabalhador(inicial, estatisticas.isDetalhada());
+		}
+
+		solucao = null;
+		custoSolucao = Integer.MAX_VALUE;
+		abortada = false;
+		interrupcao = null;
+
+		// Enviar o estado inicial para seu dono
+		inicial.setFuncaoG(0);
+		inicial.setFuncaoH(avaliar(inicial));
+
+		pendentes = new AtomicLong(1);
+		trabalhadores[dono(inicial)].caixaEntrada.offer(inicial);
+
+		if (executor == null) {
+			ThreadPoolExecutor novo = new ThreadPoolExecutor(threads, threads, TEMPO_OCIOSO_EXECUTOR, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+
+				private final ThreadFactory padrao = Executors.defaultThreadFactory();
+
+				@Override
+				public Thread newThread(Runnable tarefa) {
+					Thread thread = padrao.newThread(tarefa);
+					thread.setDaemon(true);
+					return thread;
+				}
+
+			});
+			novo.allowCoreThreadTimeOut(true);
+			executor = novo;
+		}
+
+		List<Future<Void>> resultados = new ArrayList<Future<Void>>(threads);
+
+		for (Trabalhador trabalhador : trabalhadores) {
+			resultados.add(executor.submit(trabalhador));
+		}
+
+		try {
+			// Aguardar todas as threads, mesmo apos uma falha, para que
+			// nenhuma continue ativa na proxima execucao
+			Throwable falha = null;
+
+			for (Future<Void> resultado : resultados) {
+				try {
+					resultado.get();
+				} catch (ExecutionException e) {
+					if (falha == null) {
+						falha = e.getCause();
+					}
+				}
+			}
+
+			if (falha != null) {
+				throw new IllegalStateException("Falha na busca HDA*", falha);
+			}
+		} catch (InterruptedException e) {
+			abortada = true;
+			acordarTodos();
+
+			// As threads podem continuar ativas: descartar o executor
+			executor.shutdownNow();
+			executor = null;
+
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Busca interrompida", e);
+		}
+
+		// Somar as estatisticas de todas as threads
+		for (Trabalhador trabalhador : trabalhadores) {
+			estatisticas.somar(trabalhador.estatisticasLocais);
+		}
+
+		if (interrupcao != null) {
+			// Uma solucao ja encontrada, mas ainda nao confirmada como a mais
+			// curta, e o melhor resultado parcial
+			registrarParcial(solucao);
+
+			for (Trabalhador trabalhador : trabalhadores) {
+				registrarParcial(trabalhador.melhorParcial);
+			}
+
+			interromper(interrupcao);
+		}
+
+		return solucao;
+	}
+
+	/**
+	 * Retorna a thread dona de um estado.
+	 * 
+	 * @param estado
+	 *            O estado.
+	 * @return O indice da thread.
+	 */
+	private int dono(Jogo8 estado) {
+		return (estado.hashCode() & Integer.MAX_VALUE) % threads;
+	}
+
+	/**
+	 * Acorda todas as threads que estiverem aguardando estados, para que
+	 * verifiquem se a busca terminou.
+	 */
+	private void acordarTodos() {
+		for (Trabalhador trabalhador : trabalhadores) {
+			LockSupport.unpark(trabalhador.thread);
+		}
+	}
+
+	/**
+	 * Registra uma solucao, se for mais curta que a melhor conhecida.
+	 * 
+	 * @param estado
+	 *            O estado final encontrado.
+	 */
+	private synchronized void registrarSolucao(Jogo8 estado) {
+		if (estado.getFuncaoG() < custoSolucao) {
+			solucao = estado;
+			custoSolucao = estado.getFuncaoG();
+		}
+	}
+
+	/**
+	 * Verifica o orcamento com os contadores publicados por todas as threads.
+	 * Os contadores sao publicados a cada
+	 * {@link #INTERVALO_VERIFICACAO} expansoes, logo o limite de expansoes e
+	 * de estados armazenados pode ser ultrapassado em ate
+	 * <code>threads * INTERVALO_VERIFICACAO</code>.
+	 * 
+	 * @return A situacao que deve interromper a busca, ou <code>null</code>.
+	 */
+	private ResultadoBusca.Situacao verificarOrcamentoGlobal() {
+		long expandidos = 0;
+		long armazenados = 0;
+
+		for (Trabalhador trabalhador : trabalhadores) {
+			expandidos += trabalhador.expandidosPublicados;
+			armazenados += trabalhador.armazenadosPublicados;
+		}
+
+		return verificarOrcamento(expandidos, armazenados);
+	}
+
+	/**
+	 * Retorna a quantidade de estados expandidos pela ultima execucao.
+	 * 
+	 * @return A soma dos estados expandidos por todas as threads.
+	 */
+	public long getNosExpandidos() {
+		return estatisticas.getNosExpandidos();
+	}
+
+	/**
+	 * Retorna a quantidade de estados expandidos por cada thread na ultima
+	 * execucao. Permite avaliar o balanceamento da distribuicao por hash.
+	 * 
+	 * @return Os estados expandidos por thread.
+	 */
+	public long[] getNosExpandidosPorThread() {
+		long[] resultado = new long[trabalhadores == null ? 0 : trabalhadores.length];
+
+		for (int i = 0; i < resultado.length; i++) {
+			resultado[i] = trabalhadores[i].estatisticasLocais.getNosExpandidos();
+		}
+
+		return resultado;
+	}
+
+	@Override
+	public String toString() {
+		return "Busca HDA* (" + heuristica + ", " + threads + " threads)";
+	}
+
+	/**
+	 * Thread da busca, dona de uma parte dos estados.
+	 */
+	private class Trabalhador implements Callable<Void> {
+
+		/**
+		 * Estados enviados por outras threads. Varios produtores, um unico
+		 * consumidor.
+		 */
+		private final ConcurrentLinkedQueue<Jogo8> caixaEntrada = new ConcurrentLinkedQueue<Jogo8>();
+
+		/**
+		 * Lista aberta desta thread.
+		 */
+		private final PriorityQueue<Jogo8> abertos = new PriorityQueue<Jogo8>();
+
+		/**
+		 * Menor funcao G de cada estado desta thread, pelo codigo.
+		 */
+		private final MapaLongInt melhoresG;
+
+		/**
+		 * Estado com a menor funcao G, se os estados nao possuirem codigo.
+		 */
+		private final Map<Jogo8, Jogo8> melhoresEstados;
+
+		/**
+		 * Indica se esta thread possui estados para analisar, e portanto e
+		 * contabilizada em {@link BuscaHDAEstrela#pendentes}.
+		 */
+		private boolean ativo;
+
+		/**
+		 * Thread que executa este trabalhador, para que possa ser acordada.
+		 */
+		private volatile Thread thread;
+
+		/**
+		 * Indica que esta thread esta aguardando estados e deve ser acordada
+		 * quando receber um.
+		 */
+		private volatile boolean ocioso;
+
+		/**
+		 * Estatisticas desta thread, somadas as da busca ao final.
+		 */
+		private final EstatisticasBusca estatisticasLocais = new EstatisticasBusca();
+
+		/**
+		 * Estados expandidos por esta thread, publicados para a verificacao
+		 * do orcamento.
+		 */
+		private volatile long expandidosPublicados;
+
+		/**
+		 * Estados armazenados por esta thread, publicados para a verificacao
+		 * do orcamento.
+		 */
+		private volatile long armazenadosPublicados;
+
+		/**
+		 * Melhor resultado parcial desta thread.
+		 */
+		private Jogo8 melhorParcial;
+
+		/**
+		 * Movimentos do estado que esta sendo expandido.
+		 */
+		private final int[] movimentos;
+
+		/**
+		 * Rascunho utilizado para avaliar os sucessores antes de cria-los.
+		 */
+		private final Jogo8 rascunho;
+
+		Trabalhador(Jogo8 inicial, boolean detalhada) {
+			estatisticasLocais.setDetalhada(detalhada);
+			melhoresG = inicial.possuiCodigo() ? new MapaLongInt() : null;
+			melhoresEstados = inicial.possuiCodigo() ? null : new HashMap<Jogo8, Jogo8>();
+			movimentos = new int[inicial.getMaximoMovimentos()];
+			rascunho = (Jogo8) inicial.criarRascunho();
+		}
+
+		@Override
+		public Void call() {
+			thread = Thread.currentThread();
+
+			try {
+				analisarEstados();
+			} catch (RuntimeException | Error e) {
+				abortada = true; // Parar as demais threads
+				acordarTodos();
+				throw e;
+			}
+
+			return null;
+		}
+
+		/**
+		 * Analisa os estados desta thread ate que a busca termine.
+		 */
+		private void analisarEstados() {
+			while (!abortada) {
+				receber();
+
+				Jogo8 e = abertos.poll();
+
+				if (e == null || e.getFuncaoF() >= custoSolucao) {
+					// Nenhum estado restante pode levar a uma solucao melhor
+					abertos.clear();
+
+					if (ativo) {
+						ativo = false;
+
+						if (pendentes.decrementAndGet() == 0) {
+							acordarTodos(); // A busca terminou
+						}
+					}
+
+					if (pendentes.get() == 0) {
+						break; // Nao ha mais estados em nenhuma thread
+					}
+
+					esperar();
+					continue;
+				}
+
+				// Se ja existe um caminho mais curto para este estado,
+				// descartar esta copia
+				if (e.getFuncaoG() > obterMelhorG(e)) {
+					estatisticasLocais.registrarDuplicados(1);
+					continue;
+				}
+
+				// Se este estado for o estado final...
+				if (e.equals(estadoFinal)) {
+					registrarSolucao(e);
+					continue;
+				}
+
+				if ((estatisticasLocais.getNosExpandidos() & (INTERVALO_VERIFICACAO - 1)) == 0 && !verificarOrcamento()) {
+					break;
+				}
+
+				if (melhorParcial == null || isMelhorParcial(e, melhorParcial)) {
+					melhorParcial = e;
+				}
+
+				// Avaliar cada movimento no rascunho e criar apenas os
+				// sucessores que serao inseridos ou enviados
+				int quantidade = e.listarMovimentos(movimentos);
+
+				estatisticasLocais.registrarExpansao(e.getFuncaoG(), quantidade);
+
+				for (int i = 0; i < quantidade; i++) {
+					e.aplicarMovimento(movimentos[i], rascunho);
+					rascunho.setFuncaoH(avaliarLocal(rascunho, e.getFuncaoH(), movimentos[i]));
+
+					if (rascunho.getFuncaoF() >= custoSolucao) {
+						continue;
+					}
+
+					Trabalhador destino = trabalhadores[dono(rascunho)];
+
+					if (destino == this && rascunho.getFuncaoG() >= obterMelhorG(rascunho)) {
+						estatisticasLocais.registrarDuplicados(1);
+						continue;
+					}
+
+					Jogo8 filho = e.criarSucessor(movimentos[i]);
+					filho.setFuncaoH(rascunho.getFuncaoH());
+
+					if (destino == this) {
+						inserir(filho);
+					} else {
+						// Contabilizar antes de enviar, para que a busca nao
+						// termine com o estado em transito
+						pendentes.incrementAndGet();
+						destino.caixaEntrada.offer(filho);
+
+						if (destino.ocioso) {
+							LockSupport.unpark(destino.thread);
+						}
+					}
+				}
+
+				estatisticasLocais.registrarFronteira(abertos.size());
+			}
+		}
+
+		/**
+		 * Publica os contadores desta thread e verifica o orcamento. Se ele
+		 * foi ultrapassado, interrompe todas as threads.
+		 * 
+		 * @return <code>true</code> se a busca pode continuar.
+		 */
+		private boolean verificarOrcamento() {
+			expandidosPublicados = estatisticasLocais.getNosExpandidos();
+			armazenadosPublicados = melhoresG != null ? melhoresG.size() : melhoresEstados.size();
+
+			ResultadoBusca.Situacao situacao = verificarOrcamentoGlobal();
+
+			if (situacao == null) {
+				return true;
+			}
+
+			interrupcao = situacao;
+			abortada = true; // Parar as demais threads
+			acordarTodos();
+
+			return false;
+		}
+
+		/**
+		 * Calcula a funcao H de um sucessor a partir da funcao H do seu pai,
+		 * registrando o calculo nas estatisticas desta thread.
+		 * 
+		 * @param sucessor
+		 *            O sucessor.
+		 * @param funcaoHPai
+		 *            A funcao H do pai.
+		 * @param movimento
+		 *            O movimento aplicado ao pai para gerar o sucessor.
+		 * @return O resultado do calculo da funcao H.
+		 */
+		private int avaliarLocal(Jogo8 sucessor, int funcaoHPai, int movimento) {
+			if (!estatisticasLocais.isDetalhada()) {
+				estatisticasLocais.registrarAvaliacaoHeuristica(0);
+				return funcaoH(sucessor, funcaoHPai, movimento);
+			}
+
+			long inicio = System.nanoTime();
+			int resultado = funcaoH(sucessor, funcaoHPai, movimento);
+			estatisticasLocais.registrarAvaliacaoHeuristica(System.nanoTime() - inicio);
+
+			return resultado;
+		}
+
+		/**
+		 * Aguarda ate que esta thread receba um estado, a busca termine ou o
+		 * tempo {@link BuscaHDAEstrela#ESPERA_MAXIMA} se esgote.
+		 */
+		private void esperar() {
+			ocioso = true;
+
+			// Verificar novamente apos sinalizar a espera, para nao perder um
+			// estado enviado nesse intervalo
+			if (caixaEntrada.isEmpty() && pendentes.get() != 0 && !abortada) {
+				LockSupport.parkNanos(this, ESPERA_MAXIMA);
+			}
+
+			ocioso = false;
+		}
+
+		/**
+		 * Move os estados recebidos para a lista aberta.
+		 */
+		private void receber() {
+			Jogo8 recebido;
+
+			while ((recebido = caixaEntrada.poll()) != null) {
+				inserir(recebido);
+
+				// O estado recebido deixa de estar em transito. Se esta thread
+				// estava inativa, passa a ser contabilizada em seu lugar.
+				if (ativo) {
+					pendentes.decrementAndGet();
+				} else {
+					ativo = true;
+				}
+			}
+		}
+
+		/**
+		 * Insere um estado na lista aberta, se nao existir um caminho mais
+		 * curto para ele.
+		 * 
+		 * @param estado
+		 *            O estado.
+		 */
+		private void inserir(Jogo8 estado) {
+			if (estado.getFuncaoG() >= obterMelhorG(estado)) {
+				estatisticasLocais.registrarDuplicados(1);
+				return;
+			}
+
+			if (melhoresG != null) {
+				melhoresG.colocar(estado.getCodigo(), estado.getFuncaoG());
+			} else {
+				melhoresEstados.put(estado, estado);
+			}
+
+			abertos.offer(estado);
+		}
+
+		/**
+		 * Retorna a menor funcao G ja registrada para um estado.
+		 * 
+		 * @param estado
+		 *            O estado que sera procurado.
+		 * @return A menor funcao G conhecida ou {@link Integer#MAX_VALUE}.
+		 */
+		private int obterMelhorG(Jogo8 estado) {
+			if (melhoresG != null) {
+				return melhoresG.obter(estado.getCodigo(), Integer.MAX_VALUE);
+			}
+
+			Jogo8 melhor = melhoresEstados.get(estado);
+
+			return melhor == null ? Integer.MAX_VALUE : melhor.getFuncaoG();
+		}
+
+	}
+
+}
\ No newline at end of file
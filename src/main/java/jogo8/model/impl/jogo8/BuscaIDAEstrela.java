@@ -0,0 +1,236 @@
+package jogo8.model.impl.jogo8;
+
+import jogo8.model.BuscaHeuristica;
+import jogo8.model.Estado;
+
+/**
+ * Classe que define as regras da busca IDA* (A* com aprofundamento iterativo).
+ * A busca realiza sucessivas buscas em profundidade, limitadas pela funcao F,
+ * aumentando o limite a cada iteracao para o menor F que o ultrapassou. Nao
+ * utiliza lista aberta nem lista fechada: os movimentos sao aplicados e
+ * desfeitos sobre um unico estado, de forma que a memoria utilizada e
+ * proporcional a profundidade da solucao.
+ * 
+ * @author Jonathan Henrique de Souza
+ * 
+ */
+public class BuscaIDAEstrela extends BuscaHeuristica {
+
+	/**
+	 * Valor retornado por uma sondagem que encontrou o estado final.
+	 */
+	private static final int ENCONTRADO = -1;
+
+	/**
+	 * A heuristica utilizada para calcular a funcao H dos estados.
+	 */
+	private final BuscaHeuristica heuristica;
+
+	/**
+	 * Estado sobre o qual os movimentos sao aplicados e desfeitos.
+	 */
+	private Jogo8 cursor;
+
+	/**
+	 * Posicoes da celula vazia em cada passo do caminho atual. A posicao
+	 * <code>i</code> contem a posicao da celula vazia apos o passo
+	 * <code>i</code>.
+	 */
+	private int[] caminho;
+
+	/**
+	 * Constroi um novo objeto que realiza a busca IDA*.
+	 * 
+	 * @param heuristica
+	 *            A heuristica que sera utilizada. Os estados inicial e final
+	 *            desta busca sao os mesmos da heuristica.
+	 */
+	public BuscaIDAEstrela(BuscaHeuristica heuristica) {
+		super((Jogo8) heuristica.getEstadoInicial(), (Jogo8) heuristica.getEstadoFinal());
+		this.heuristica = heuristica;
+	}
+
+	@Override
+	public int funcaoH(Estado estado) {
+		return heuristica.funcaoH(estado);
+	}
+
+	@Override
+	public int funcaoH(Estado sucessor, int funcaoHPai, int movimento) {
+		return heuristica.funcaoH(sucessor, funcaoHPai, movimento);
+	}
+
+	@Override
+	protected Estado buscar() {
+		Jogo8 inicial = (Jogo8) estadoInicial;
+
+		// Esta busca nao utiliza listas
+		listaAberta = null;
+		listaFechada = null;
+
+		// Se o estado final nao puder ser alcancado, a busca nunca terminaria
+		if (!inicial.isAlcancavel(estadoFinal)) {
+			return null; // Solucao nao encontrada!
+		}
+
+		cursor = inicial.copiar();
+		if (caminho == null) {
+			caminho = new int[64];
+		}
+
+		// O primeiro limite e a funcao F do estado inicial
+		int funcaoH = avaliar(cursor);
+		int limite = funcaoH;
+
+		while (true) {
+			int resultado = sondar(0, funcaoH, limite, -1);
+
+			if (resultado == ENCONTRADO) {
+				return reconstruirCaminho();
+			}
+
+			// Nenhum estado ultrapassou o limite: solucao nao encontrada!
+			if (resultado == Integer.MAX_VALUE) {
+				return null;
+			}
+
+			limite = resultado;
+		}
+	}
+
+	/**
+	 * Realiza uma busca em profundidade a partir do cursor, limitada pela
+	 * funcao F.
+	 * 
+	 * @param funcaoG
+	 *            A funcao G do cursor.
+	 * @param funcaoH
+	 *            A funcao H do cursor, calculada antes da chamada a partir da
+	 *            funcao H do pai e do movimento aplicado.
+	 * @param limite
+	 *            O maior valor de F que sera explorado.
+	 * @param posVazioAnterior
+	 *            A posicao da celula vazia no estado pai, ou -1 se o cursor for
+	 *            o estado inicial. Mover a peca desta posicao desfaria o ultimo
+	 *            movimento, logo este movimento e ignorado.
+	 * @return {@link #ENCONTRADO} se a solucao foi encontrada, caso contrario,
+	 *         o menor F que ultrapassou o limite.
+	 */
+	private int sondar(int funcaoG, int funcaoH, int limite, int posVazioAnterior) {
+		cursor.setFuncaoG(funcaoG);
+		cursor.setFuncaoH(funcaoH);
+
+		int funcaoF = cursor.getFuncaoF();
+
+		if (funcaoF > limite) {
+			return funcaoF;
+		}
+
+		if (cursor.equals(estadoFinal)) {
+			return ENCONTRADO;
+		}
+
+		if (funcaoG == caminho.length) {
+			int[] novo = new int[caminho.length * 2];
+			System.arraycopy(caminho, 0, novo, 0, caminho.length);
+			caminho = novo;
+		}
+
+		int dimensao = cursor.getDimensao();
+		int posVazio = cursor.getPosVazio();
+		int linha = posVazio / dimensao;
+		int coluna = posVazio % dimensao;
+
+		// Registrar a expansao: todos os movimentos, exceto o que desfaz o
+		// ultimo
+		int movimentos = (linha < dimensao - 1 ? 1 : 0) + (linha > 0 ? 1 : 0) + (coluna < dimensao - 1 ? 1 : 0) + (coluna > 0 ? 1 : 0);
+
+		if (posVazioAnterior >= 0) {
+			movimentos--;
+			estatisticas.registrarDuplicados(1);
+		}
+
+		registrarExpansao(cursor, funcaoG, movimentos);
+		estatisticas.registrarFronteira(funcaoG + 1);
+
+		int menorExcedente = Integer.MAX_VALUE;
+
+		// Pecas que podem ser movidas para a celula vazia. O indice e o
+		// movimento correspondente (ver Jogo8#CIMA)
+		for (int i = 0; i < 4; i++) {
+			int posPeca;
+
+			if (i == 0 && linha < dimensao - 1) {
+				posPeca = posVazio + dimensao; // Movimentar para cima
+			} else if (i == 1 && linha > 0) {
+				posPeca = posVazio - dimensao; // Movimentar para baixo
+			} else if (i == 2 && coluna < dimensao - 1) {
+				posPeca = posVazio + 1; // Movimentar para esquerda
+			} else if (i == 3 && coluna > 0) {
+				posPeca = posVazio - 1; // Movimentar para direita
+			} else {
+				continue;
+			}
+
+			// Nao desfazer o ultimo movimento
+			if (posPeca == posVazioAnterior) {
+				continue;
+			}
+
+			cursor.deslocar(posPeca);
+			caminho[funcaoG] = posPeca;
+
+			int resultado = sondar(funcaoG + 1, avaliar(cursor, funcaoH, i), limite, posVazio);
+
+			if (resultado == ENCONTRADO) {
+				return ENCONTRADO;
+			}
+
+			// Desfazer movimento
+			cursor.deslocar(posVazio);
+
+			if (resultado < menorExcedente) {
+				menorExcedente = resultado;
+			}
+		}
+
+		return menorExcedente;
+	}
+
+	/**
+	 * Cria a cadeia de estados, a partir do estado inicial, correspondente ao
+	 * caminho encontrado.
+	 * 
+	 * @return O estado final encontrado, cujos pais levam ao estado inicial.
+	 */
+	private Jogo8 reconstruirCaminho() {
+		Jogo8 estado = (Jogo8) estadoInicial;
+
+		for (int i = 0; i < cursor.getFuncaoG(); i++) {
+			estado = estado.mover(caminho[i]);
+		}
+
+		return estado;
+	}
+
+	@Override
+	protected Estado obterParcial() {
+		// O cursor e reutilizado: o resultado parcial e o caminho atual
+		return cursor == null ? null : reconstruirCaminho();
+	}
+
+	/**
+	 * Retorna a quantidade de estados expandidos pela ultima execucao.
+	 * 
+	 * @return O valor de {@link jogo8.model.EstatisticasBusca#getNosExpandidos()}
+	 */
+	public long getNosExpandidos() {
+		return estatisticas.getNosExpandidos();
+	}
+
+	@Override
+	public String toString() {
+		return "Busca IDA* (" + heuristica + ")";
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,89 @@
+package jogo8.model.impl.jogo8;
+
+import jogo8.model.BuscaHeuristica;
+import jogo8.model.Estado;
+
+/**
+ * Determina as regras da heuristica de bancos de padroes aditivos. Seu objetivo
+ * é somar, para cada grupo disjunto de pecas, a quantidade minima de movimentos
+ * das pecas do grupo ate o estado final, pre-calculada em um
+ * {@link BancoPadroes}. E uma heuristica admissivel e bem mais informada que a
+ * distancia Manhattan em tabuleiros 4x4 ou maiores.
+ * 
+ * @author Jonathan Henrique de Souza
+ * 
+ */
+public class HeuristicaBancoPadroes extends BuscaHeuristica {
+
+	/**
+	 * Os bancos de padroes de cada grupo de pecas.
+	 */
+	private final BancoPadroes[] bancos;
+
+	/**
+	 * Constroi um novo objeto capaz de realizar a busca heuristica de bancos
+	 * de padroes aditivos.
+	 * 
+	 * @param estadoInicial
+	 *            O estado inicial desta busca.
+	 * @param estadoFinal
+	 *            O estado que esta busca devera encontrar.
+	 * @param bancos
+	 *            Os bancos de padroes, de grupos de pecas disjuntos, gerados
+	 *            para este estado final.
+	 * @throws IllegalArgumentException
+	 *             Caso algum banco nao tenha sido gerado para este estado
+	 *             final ou se os grupos de pecas nao forem disjuntos.
+	 */
+	public HeuristicaBancoPadroes(Jogo8 estadoInicial, Jogo8 estadoFinal, BancoPadroes... bancos) {
+		super(estadoInicial, estadoFinal);
+
+		if (estadoInicial.getDimensao() != estadoFinal.getDimensao()) {
+			throw new IllegalArgumentException("estadoInicial.getDimensao() != estadoFinal.getDimensao()");
+		}
+
+		if (bancos.length == 0) {
+			throw new IllegalArgumentException("Nenhum banco de padroes informado!");
+		}
+
+		int dimensao = estadoFinal.getDimensao();
+		boolean[] utilizadas = new boolean[dimensao * dimensao];
+
+		for (BancoPadroes banco : bancos) {
+			if (!banco.isCompativel(estadoFinal)) {
+				throw new IllegalArgumentException("Banco de padroes nao foi gerado para este estado final!");
+			}
+
+			// Os grupos devem ser disjuntos para que a soma seja admissivel
+			for (int peca : banco.getPecas()) {
+				if (utilizadas[peca]) {
+					throw new IllegalArgumentException("Peca " + peca + " pertence a mais de um grupo!");
+				}
+
+				utilizadas[peca] = true;
+			}
+		}
+
+		this.bancos = bancos.clone();
+	}
+
+	@Override
+	public int funcaoH(Estado estado) {
+		Jogo8 jogo8 = (Jogo8) estado;
+
+		int resultado = 0;
+
+		// Somar as distancias de cada grupo
+		for (int i = 0; i < bancos.length; i++) {
+			resultado += bancos[i].consultar(jogo8);
+		}
+
+		return resultado;
+	}
+
+	@Override
+	public String toString() {
+		return "Busca Heuristica - Bancos de Padroes";
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,206 @@
+package jogo8.model.impl.jogo8;
+
+import jogo8.model.BuscaHeuristica;
+import jogo8.model.Estado;
+
+/**
+ * Heuristica da distancia Manhattan com conflitos lineares. Duas pecas estao
+ * em conflito linear quando ambas estao na linha (ou coluna) em que devem
+ * terminar, mas em ordem invertida: uma delas tera que sair da linha e voltar,
+ * o que custa pelo menos dois movimentos alem da distancia Manhattan. Em cada
+ * linha e coluna e somado 2 para cada peca que precisa sair para que as
+ * restantes fiquem em ordem (o tamanho da linha menos a maior subsequencia
+ * crescente), de forma que a heuristica continua admissivel e nunca e menor
+ * que a distancia Manhattan.
+ * <p>
+ * A quantidade de pecas que precisam sair de cada linha e pre-calculada para
+ * todas as disposicoes de uma linha, de forma que o calculo da funcao H nao
+ * aloca memoria e pode ser feito por varias threads ao mesmo tempo.
+ * 
+ * @author Jonathan Henrique de Souza
+ * 
+ */
+public class HeuristicaConflitoLinear extends BuscaHeuristica {
+
+	/**
+	 * Maior dimensao de tabuleiro suportada. A tabela de conflitos possui
+	 * (N + 1)^N entradas.
+	 */
+	private static final int DIMENSAO_MAXIMA = 6;
+
+	/**
+	 * Quantidade de linhas e colunas do tabuleiro.
+	 */
+	private final int dimensao;
+
+	/**
+	 * Tabela de distancias Manhattan, indexada por <code>[peca][posicao]</code>
+	 * (ver {@link HeuristicaManhattan}).
+	 */
+	private final int[][] distancias;
+
+	/**
+	 * Linha de cada peca no estado final.
+	 */
+	private final int[] linhasFinais;
+
+	/**
+	 * Coluna de cada peca no estado final.
+	 */
+	private final int[] colunasFinais;
+
+	/**
+	 * Quantidade de pecas que precisam sair de uma linha para eliminar os
+	 * conflitos, indexada pela disposicao da linha: cada celula e um digito
+	 * na base N + 1, igual a 0 se a peca nao pertencer a linha ou a posicao
+	 * final da peca na linha mais 1.
+	 */
+	private final byte[] conflitos;
+
+	/**
+	 * Constroi um novo objeto capaz de realizar a busca heuristica da
+	 * distancia Manhattan com conflitos lineares.
+	 * 
+	 * @param estadoInicial
+	 *            O estado inicial desta busca.
+	 * @param estadoFinal
+	 *            O estado que esta busca devera encontrar.
+	 * @throws IllegalArgumentException
+	 *             Caso os estados possuam dimensoes diferentes ou o tabuleiro
+	 *             seja maior que 6x6.
+	 */
+	public HeuristicaConflitoLinear(Jogo8 estadoInicial, Jogo8 estadoFinal) {
+		super(estadoInicial, estadoFinal);
+
+		if (estadoInicial.getDimensao() != estadoFinal.getDimensao()) {
+			throw new IllegalArgumentException("estadoInicial.getDimensao() != estadoFinal.getDimensao()");
+		}
+
+		dimensao = estadoFinal.getDimensao();
+
+		if (dimensao > DIMENSAO_MAXIMA) {
+			throw new IllegalArgumentException("dimensao maior que " + DIMENSAO_MAXIMA + "!");
+		}
+
+		distancias = HeuristicaManhattan.criarTabelaDistancias(estadoFinal);
+
+		int totalCelulas = dimensao * dimensao;
+		linhasFinais = new int[totalCelulas];
+		colunasFinais = new int[totalCelulas];
+
+		for (int posicao = 0; posicao < totalCelulas; posicao++) {
+			int peca = estadoFinal.getCelula(posicao);
+
+			linhasFinais[peca] = posicao / dimensao;
+			colunasFinais[peca] = posicao % dimensao;
+		}
+
+		conflitos = criarTabelaConflitos(dimensao);
+	}
+
+	@Override
+	public int funcaoH(Estado estado) {
+		Jogo8 jogo8 = (Jogo8) estado;
+		int base = dimensao + 1;
+		int resultado = 0;
+		int conflitosTotal = 0;
+
+		// Distancia Manhattan e conflitos de cada linha
+		for (int linha = 0; linha < dimensao; linha++) {
+			int disposicao = 0;
+
+			for (int coluna = 0; coluna < dimensao; coluna++) {
+				int posicao = linha * dimensao + coluna;
+				int peca = jogo8.getCelula(posicao);
+
+				resultado += distancias[peca][posicao];
+
+				disposicao *= base;
+				if (peca != 0 && linhasFinais[peca] == linha) {
+					disposicao += colunasFinais[peca] + 1;
+				}
+			}
+
+			conflitosTotal += conflitos[disposicao];
+		}
+
+		// Conflitos de cada coluna
+		for (int coluna = 0; coluna < dimensao; coluna++) {
+			int disposicao = 0;
+
+			for (int linha = 0; linha < dimensao; linha++) {
+				int peca = jogo8.getCelula(linha * dimensao + coluna);
+
+				disposicao *= base;
+				if (peca != 0 && colunasFinais[peca] == coluna) {
+					disposicao += linhasFinais[peca] + 1;
+				}
+			}
+
+			conflitosTotal += conflitos[disposicao];
+		}
+
+		return resultado + 2 * conflitosTotal;
+	}
+
+	/**
+	 * Cria a tabela com a quantidade de pecas que precisam sair de uma linha
+	 * para eliminar os conflitos, para todas as disposicoes de uma linha.
+	 * 
+	 * @param dimensao
+	 *            A dimensao do tabuleiro.
+	 * @return A tabela de conflitos.
+	 */
+	private static byte[] criarTabelaConflitos(int dimensao) {
+		int base = dimensao + 1;
+		int total = 1;
+
+		for (int i = 0; i < dimensao; i++) {
+			total *= base;
+		}
+
+		byte[] conflitos = new byte[total];
+		int[] valores = new int[dimensao];
+		int[] maiores = new int[dimensao];
+
+		for (int disposicao = 0; disposicao < total; disposicao++) {
+			// Extrair os digitos, da primeira a ultima celula
+			int resto = disposicao;
+			for (int i = dimensao - 1; i >= 0; i--) {
+				valores[i] = resto % base;
+				resto /= base;
+			}
+
+			// Maior subsequencia crescente das pecas que pertencem a linha
+			int pecas = 0;
+			int maiorSubsequencia = 0;
+
+			for (int i = 0; i < dimensao; i++) {
+				if (valores[i] == 0) {
+					continue;
+				}
+
+				pecas++;
+				maiores[i] = 1;
+
+				for (int j = 0; j < i; j++) {
+					if (valores[j] != 0 && valores[j] < valores[i] && maiores[j] + 1 > maiores[i]) {
+						maiores[i] = maiores[j] + 1;
+					}
+				}
+
+				maiorSubsequencia = Math.max(maiorSubsequencia, maiores[i]);
+			}
+
+			conflitos[disposicao] = (byte) (pecas - maiorSubsequencia);
+		}
+
+		return conflitos;
+	}
+
+	@Override
+	public String toString() {
+		return "Busca Heuristica - Distancia Manhattan com Conflitos Lineares";
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,259 @@
+package jogo8.model.impl.jogo8;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import jogo8.model.BuscaHeuristica;
+import jogo8.model.Estado;
+import jogo8.util.MapaLongInt;
+
+/**
+ * Heuristica da distancia caminhada (walking distance). Os movimentos
+ * verticais sao analisados separadamente dos horizontais: para os verticais,
+ * o estado e reduzido a quantidade de pecas de cada linha que devem terminar
+ * em cada linha, e a distancia e a menor quantidade de movimentos verticais
+ * que leva essa contagem a contagem do estado final. Os movimentos
+ * horizontais sao analisados da mesma forma pelas colunas. A soma das duas
+ * distancias e admissivel e nunca e menor que a distancia Manhattan, pois
+ * tambem considera as pecas que disputam a mesma linha.
+ * <p>
+ * As distancias de todas as contagens sao geradas uma unica vez, por busca em
+ * amplitude, para cada dimensao e linha da celula vazia no estado final, e
+ * compartilhadas por todas as instancias. O calculo da funcao H nao aloca
+ * memoria e pode ser feito por varias threads ao mesmo tempo. Disponivel para
+ * tabuleiros de ate 4x4.
+ * 
+ * @author Jonathan Henrique de Souza
+ * 
+ */
+public class HeuristicaDistanciaCaminhada extends BuscaHeuristica {
+
+	/**
+	 * Maior dimensao de tabuleiro suportada. As contagens de pecas sao
+	 * armazenadas com 3 bits cada, em um <code>long</code>.
+	 */
+	private static final int DIMENSAO_MAXIMA = 4;
+
+	/**
+	 * Quantidade de bits utilizados por cada contagem.
+	 */
+	private static final int BITS_CONTAGEM = 3;
+
+	/**
+	 * Posicao, no codigo de uma contagem, da linha da celula vazia.
+	 */
+	private static final int DESLOCAMENTO_VAZIO = DIMENSAO_MAXIMA * DIMENSAO_MAXIMA * BITS_CONTAGEM;
+
+	/**
+	 * Tabelas ja geradas, indexadas por <code>dimensao * DIMENSAO_MAXIMA +
+	 * linha da celula vazia no estado final</code>.
+	 */
+	private static final ConcurrentMap<Integer, MapaLongInt> TABELAS = new ConcurrentHashMap<Integer, MapaLongInt>();
+
+	/**
+	 * Quantidade de linhas e colunas do tabuleiro.
+	 */
+	private final int dimensao;
+
+	/**
+	 * Linha de cada peca no estado final.
+	 */
+	private final int[] linhasFinais;
+
+	/**
+	 * Coluna de cada peca no estado final.
+	 */
+	private final int[] colunasFinais;
+
+	/**
+	 * Distancias dos movimentos verticais, indexadas pelo codigo da contagem
+	 * das linhas.
+	 */
+	private final MapaLongInt tabelaLinhas;
+
+	/**
+	 * Distancias dos movimentos horizontais, indexadas pelo codigo da contagem
+	 * das colunas.
+	 */
+	private final MapaLongInt tabelaColunas;
+
+	/**
+	 * Constroi um novo objeto capaz de realizar a busca heuristica da
+	 * distancia caminhada.
+	 * 
+	 * @param estadoInicial
+	 *            O estado inicial desta busca.
+	 * @param estadoFinal
+	 *            O estado que esta busca devera encontrar.
+	 * @throws IllegalArgumentException
+	 *             Caso os estados possuam dimensoes diferentes ou o tabuleiro
+	 *             seja maior que 4x4.
+	 */
+	public HeuristicaDistanciaCaminhada(Jogo8 estadoInicial, Jogo8 estadoFinal) {
+		super(estadoInicial, estadoFinal);
+
+		if (estadoInicial.getDimensao() != estadoFinal.getDimensao()) {
+			throw new IllegalArgumentException("estadoInicial.getDimensao() != estadoFinal.getDimensao()");
+		}
+
+		dimensao = estadoFinal.getDimensao();
+
+		if (dimensao > DIMENSAO_MAXIMA) {
+			throw new IllegalArgumentException("dimensao maior que " + DIMENSAO_MAXIMA + "!");
+		}
+
+		int totalCelulas = dimensao * dimensao;
+		linhasFinais = new int[totalCelulas];
+		colunasFinais = new int[totalCelulas];
+
+		for (int posicao = 0; posicao < totalCelulas; posicao++) {
+			int peca = estadoFinal.getCelula(posicao);
+
+			linhasFinais[peca] = posicao / dimensao;
+			colunasFinais[peca] = posicao % dimensao;
+		}
+
+		// As colunas sao tratadas como as linhas do tabuleiro transposto
+		tabelaLinhas = obterTabela(dimensao, estadoFinal.getPosLinhaVazio());
+		tabelaColunas = obterTabela(dimensao, estadoFinal.getPosColunaVazio());
+	}
+
+	@Override
+	public int funcaoH(Estado estado) {
+		Jogo8 jogo8 = (Jogo8) estado;
+		int totalCelulas = dimensao * dimensao;
+
+		long contagemLinhas = ((long) jogo8.getPosLinhaVazio()) << DESLOCAMENTO_VAZIO;
+		long contagemColunas = ((long) jogo8.getPosColunaVazio()) << DESLOCAMENTO_VAZIO;
+
+		for (int posicao = 0; posicao < totalCelulas; posicao++) {
+			int peca = jogo8.getCelula(posicao);
+
+			if (peca != 0) {
+				contagemLinhas += 1L << deslocamento(dimensao, posicao / dimensao, linhasFinais[peca]);
+				contagemColunas += 1L << deslocamento(dimensao, posicao % dimensao, colunasFinais[peca]);
+			}
+		}
+
+		return tabelaLinhas.obter(contagemLinhas, 0) + tabelaColunas.obter(contagemColunas, 0);
+	}
+
+	/**
+	 * Calcula a posicao, no codigo de uma contagem, da quantidade de pecas de
+	 * uma linha que devem terminar em outra.
+	 * 
+	 * @param dimensao
+	 *            A dimensao do tabuleiro.
+	 * @param linha
+	 *            A linha atual das pecas.
+	 * @param linhaFinal
+	 *            A linha final das pecas.
+	 * @return A posicao do primeiro bit da contagem.
+	 */
+	private static int deslocamento(int dimensao, int linha, int linhaFinal) {
+		return (linha * dimensao + linhaFinal) * BITS_CONTAGEM;
+	}
+
+	/**
+	 * Retorna a tabela de distancias de uma dimensao e linha da celula vazia no
+	 * estado final, gerando-a na primeira utilizacao.
+	 * 
+	 * @param dimensao
+	 *            A dimensao do tabuleiro.
+	 * @param linhaVazio
+	 *            A linha da celula vazia no estado final.
+	 * @return A tabela de distancias.
+	 */
+	private static MapaLongInt obterTabela(int dimensao, int linhaVazio) {
+		Integer chave = dimensao * DIMENSAO_MAXIMA + linhaVazio;
+		MapaLongInt tabela = TABELAS.get(chave);
+
+		if (tabela == null) {
+			// Geracoes simultaneas produzem tabelas iguais; apenas uma e
+			// mantida
+			MapaLongInt nova = gerarTabela(dimensao, linhaVazio);
+			tabela = TABELAS.putIfAbsent(chave, nova);
+
+			if (tabela == null) {
+				tabela = nova;
+			}
+		}
+
+		return tabela;
+	}
+
+	/**
+	 * Gera, por busca em amplitude a partir da contagem do estado final, a
+	 * menor quantidade de movimentos verticais de cada contagem. Cada
+	 * movimento leva uma peca de uma linha vizinha para a linha da celula
+	 * vazia.
+	 * 
+	 * @param dimensao
+	 *            A dimensao do tabuleiro.
+	 * @param linhaVazio
+	 *            A linha da celula vazia no estado final.
+	 * @return As distancias, indexadas pelo codigo de cada contagem.
+	 */
+	private static MapaLongInt gerarTabela(int dimensao, int linhaVazio) {
+		MapaLongInt distancias = new MapaLongInt();
+
+		// No estado final, cada linha possui apenas as suas pecas
+		long inicial = ((long) linhaVazio) << DESLOCAMENTO_VAZIO;
+
+		for (int linha = 0; linha < dimensao; linha++) {
+			long pecas = (linha == linhaVazio) ? dimensao - 1 : dimensao;
+			inicial += pecas << deslocamento(dimensao, linha, linha);
+		}
+
+		long[] fila = new long[1024];
+		int inicio = 0;
+		int fim = 0;
+
+		distancias.colocar(inicial, 0);
+		fila[fim++] = inicial;
+
+		while (inicio < fim) {
+			long contagem = fila[inicio++];
+			int distancia = distancias.obter(contagem, 0) + 1;
+			int vazio = (int) (contagem >>> DESLOCAMENTO_VAZIO);
+
+			for (int vizinha = vazio - 1; vizinha <= vazio + 1; vizinha += 2) {
+				if (vizinha < 0 || vizinha >= dimensao) {
+					continue;
+				}
+
+				// Mover para a linha vazia uma peca de cada linha final
+				// presente na linha vizinha
+				for (int linhaFinal = 0; linhaFinal < dimensao; linhaFinal++) {
+					int origem = deslocamento(dimensao, vizinha, linhaFinal);
+
+					if (((contagem >>> origem) & ((1 << BITS_CONTAGEM) - 1)) == 0) {
+						continue;
+					}
+
+					long nova = contagem - (1L << origem) + (1L << deslocamento(dimensao, vazio, linhaFinal));
+					nova = (nova & ~(((long) (DIMENSAO_MAXIMA - 1)) << DESLOCAMENTO_VAZIO)) | (((long) vizinha) << DESLOCAMENTO_VAZIO);
+
+					if (!distancias.contem(nova)) {
+						distancias.colocar(nova, distancia);
+
+						if (fim == fila.length) {
+							fila = Arrays.copyOf(fila, fila.length * 2);
+						}
+
+						fila[fim++] = nova;
+					}
+				}
+			}
+		}
+
+		return distancias;
+	}
+
+	@Override
+	public String toString() {
+		return "Busca Heuristica - Distancia Caminhada";
+	}
+
+}
\ No newline at end of file
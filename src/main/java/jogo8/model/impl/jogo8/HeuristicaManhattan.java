@@ -13,6 +13,14 @@ import jogo8.model.Estado;
  */
 public class HeuristicaManhattan extends BuscaHeuristica {
 
+	/**
+	 * Tabela de distancias pre-calculada a partir do estado final. A posicao
+	 * <code>[peca][posicao]</code> contem a distancia Manhattan da peca, se
+	 * estiver na posicao informada, ate sua posicao no estado final. A celula
+	 * vazia (peca 0) nao e contabilizada.
+	 */
+	private final int[][] distancias;
+
 	/**
 	 * Constroi um novo objeto capaz de realizada a busca heuristica da
 	 * distancia Manhattan.
@@ -24,66 +32,71 @@ public class HeuristicaManhattan extends BuscaHeuristica {
 	 */
 	public HeuristicaManhattan(Jogo8 estadoInicial, Jogo8 estadoFinal) {
 		super(estadoInicial, estadoFinal);
+
+		if (estadoInicial.getDimensao() != estadoFinal.getDimensao()) {
+			throw new IllegalArgumentException("estadoInicial.getDimensao() != estadoFinal.getDimensao()");
+		}
+
+		distancias = criarTabelaDistancias(estadoFinal);
 	}
 
 	@Override
 	public int funcaoH(Estado estado) {
-		Jogo8 jogo8Final = (Jogo8) getEstadoFinal();
 		Jogo8 jogo8 = (Jogo8) estado;
+		int resultado = 0;
 
-		// obter matriz do estado atual
-		Integer[][] matrizAtual = jogo8.getMatriz();
-
-		// obter matriz do estado final
-		Integer[][] matrizFinal = jogo8Final.getMatriz();
-
-		if (matrizFinal.length != matrizAtual.length) {
-			throw new IllegalArgumentException("matrizFinal.length != matrizAtual.length");
+		// Somar a distancia de cada peca em relacao ao estado final
+		for (int posicao = 0; posicao < distancias.length; posicao++) {
+			resultado += distancias[jogo8.getCelula(posicao)][posicao];
 		}
 
-		int resultado = 0;
+		return resultado; // Retornar resultado
+	}
 
-		// Iterar sobre a matriz do estado fornecido
-		for (int i = 0; i < matrizAtual.length; i++) {
-			for (int j = 0; j < matrizAtual[i].length; j++) {
-				// Procurar este valor na matriz final
-				int[] posicao = procurar(matrizFinal, matrizAtual[i][j]);
+	/**
+	 * Calcula a funcao H de um sucessor atualizando apenas a contribuicao da
+	 * peca movida.
+	 */
+	@Override
+	public int funcaoH(Estado sucessor, int funcaoHPai, int movimento) {
+		Jogo8 jogo8 = (Jogo8) sucessor;
 
-				// Calcular a distancia deste valor em relacao ao estado final
-				resultado += calcularDistancia(posicao[0], i, posicao[1], j);
-			}
-		}
+		// A peca saiu da posicao que agora esta vazia e foi para a posicao
+		// que estava vazia no pai
+		int origem = jogo8.getPosVazio();
+		int destino = jogo8.posicaoVaziaAnterior(movimento);
+		int peca = jogo8.getCelula(destino);
 
-		return resultado; // Retornar resultado
+		return funcaoHPai - distancias[peca][origem] + distancias[peca][destino];
 	}
 
 	/**
-	 * Procurar um numero e devolver sua posicao na matriz.
+	 * Cria a tabela de distancias de cada peca, em cada posicao, ate sua
+	 * posicao no estado final.
 	 * 
-	 * @param matriz
-	 *            A matriz que sera usada na busca.
-	 * @param numero
-	 *            O numero que devera ser encontrado.
-	 * @return Um vetor contendo as posicoes i e j do numero fornecido nesta
-	 *         matriz.
+	 * @param estadoFinal
+	 *            O estado final da busca.
+	 * @return A tabela de distancias, indexada por <code>[peca][posicao]</code>.
 	 */
-	private int[] procurar(Integer[][] matriz, Integer numero) {
-		for (int i = 0; i < matriz.length; i++) {
-			for (int j = 0; j < matriz[i].length; j++) {
-				if (matriz[i][j] == null) {
-					if (numero == null) {
-						return new int[] { i, j };
-					}
-				} else {
-					if (matriz[i][j] == numero) {
-						return new int[] { i, j };
-					}
-				}
+	static int[][] criarTabelaDistancias(Jogo8 estadoFinal) {
+		int dimensao = estadoFinal.getDimensao();
+		int totalCelulas = dimensao * dimensao;
+
+		int[][] distancias = new int[totalCelulas][totalCelulas];
+
+		for (int posicaoFinal = 0; posicaoFinal < totalCelulas; posicaoFinal++) {
+			int peca = estadoFinal.getCelula(posicaoFinal);
+
+			if (peca == 0) {
+				continue; // A celula vazia nao e contabilizada
+			}
+
+			for (int posicao = 0; posicao < totalCelulas; posicao++) {
+				distancias[peca][posicao] = calcularDistancia(posicao / dimensao, posicaoFinal / dimensao, posicao % dimensao, posicaoFinal % dimensao);
 			}
 		}
 
-		// Numero nao encontrado. Nunca devera chegar aqui!
-		throw new IllegalStateException("numero nao encontrado!");
+		return distancias;
 	}
 
 	/**
@@ -99,8 +112,8 @@ public class HeuristicaManhattan extends BuscaHeuristica {
 	 *            A posicao coluna final.
 	 * @return A distancia das posiscoes fornecidas.
 	 */
-	private int calcularDistancia(int i1, int i2, int j1, int j2) {
-		return Math.abs((i1 + j1) - (i2 + j2));
+	private static int calcularDistancia(int i1, int i2, int j1, int j2) {
+		return Math.abs(i1 - i2) + Math.abs(j1 - j2);
 	}
 
 	@Override
@@ -25,6 +25,10 @@ public class HeuristicaPosicaoIncorretas extends BuscaHeuristica {
 	 */
 	public HeuristicaPosicaoIncorretas(Jogo8 estadoInicial, Jogo8 estadoFinal) {
 		super(estadoInicial, estadoFinal);
+
+		if (estadoInicial.getDimensao() != estadoFinal.getDimensao()) {
+			throw new IllegalArgumentException("estadoInicial.getDimensao() != estadoFinal.getDimensao()");
+		}
 	}
 
 	@Override
@@ -32,23 +36,28 @@ public class HeuristicaPosicaoIncorretas extends BuscaHeuristica {
 		Jogo8 jogo8Final = (Jogo8) getEstadoFinal();
 		Jogo8 jogo8 = (Jogo8) estado;
 
-		// obter matriz do estado atual
-		Integer[][] matrizAtual = jogo8.getMatriz();
+		int resultado = 0;
 
-		// obter matriz do estado final
-		Integer[][] matrizFinal = jogo8Final.getMatriz();
+		if (jogo8.possuiCodigo()) {
+			// As celulas diferentes resultam em grupos de 4 bits nao nulos
+			long diferenca = jogo8.getCodigo() ^ jogo8Final.getCodigo();
 
-		if (matrizFinal.length != matrizAtual.length) {
-			throw new IllegalArgumentException("matrizFinal.length != matrizAtual.length");
-		}
+			// Encontrar posicoes incorretas
+			while (diferenca != 0) {
+				// Se os numeros sao diferentes...
+				if ((diferenca & 0xFL) != 0) {
+					resultado++; // Incrementar resultado
+				}
 
-		int resultado = 0;
+				diferenca >>>= 4; // Proxima celula
+			}
+		} else {
+			int totalCelulas = jogo8.getDimensao() * jogo8.getDimensao();
 
-		// Encontrar posicoes incorretas
-		for (int i = 0; i < matrizAtual.length; i++) {
-			for (int j = 0; j < matrizAtual.length; j++) {
+			// Encontrar posicoes incorretas
+			for (int posicao = 0; posicao < totalCelulas; posicao++) {
 				// Se os numeros sao diferentes...
-				if (!comparar(matrizAtual[i][j], matrizFinal[i][j])) {
+				if (jogo8.getCelula(posicao) != jogo8Final.getCelula(posicao)) {
 					resultado++; // Incrementar resultado
 				}
 			}
@@ -58,33 +67,6 @@ public class HeuristicaPosicaoIncorretas extends BuscaHeuristica {
 		return resultado;
 	}
 
-	/**
-	 * Compara dois numeros. Se <code>true</code>, os numeros sao iguais, caso
-	 * <code>false</code>, os numero sao diferentes.
-	 * 
-	 * @param num1
-	 *            O primeiro numero que sera comparado.
-	 * @param num2
-	 *            O segundo numero que sera comparado.
-	 * @return Um valor booleano que expressara a equivalencia dos dois numeros
-	 *         fornecidos.
-	 */
-	private boolean comparar(Integer num1, Integer num2) {
-		if (num1 == null) {
-			if (num2 == null) {
-				return true;
-			} else {
-				return false;
-			}
-		} else {
-			if (num2 == null) {
-				return false;
-			} else {
-				return num1.equals(num2);
-			}
-		}
-	}
-
 	@Override
 	public String toString() {
 		return "Busca Heuristica - Posicao Incorretas";
@@ -5,46 +5,155 @@ import java.util.Arrays;
 import java.util.Collection;
 
 import jogo8.model.Estado;
+import jogo8.model.EstadoCodificado;
+import jogo8.model.EstadoEnumeravel;
 import jogo8.model.EstadoHeuristica;
+import jogo8.model.EstadoIndexado;
+import jogo8.util.HashUtils;
 import jogo8.util.MatrizUtils;
+import jogo8.util.PermutacaoUtils;
 
 /**
- * Classe que representa um estado do Jogo do 8.
+ * Classe que representa um estado do Jogo do 8 e de suas versoes NxN (Jogo do
+ * 15, Jogo do 24, ...). As celulas sao numeradas por posicao (linha * dimensao
+ * + coluna) e a celula vazia e representada pelo valor 0.
+ * <p>
+ * Tabuleiros de ate 4x4 sao armazenados compactados em um unico
+ * <code>long</code>, utilizando 4 bits por celula. Tabuleiros maiores sao
+ * armazenados em um vetor de <code>byte</code>.
  * 
  * @author Jonathan Henrique de Souza
  * 
  */
-public class Jogo8 implements EstadoHeuristica {
+public class Jogo8 implements EstadoHeuristica, EstadoCodificado, EstadoIndexado, EstadoEnumeravel {
 
 	/**
-	 * Matriz deste estado.
+	 * Dimensao padrao do tabuleiro (Jogo do 8).
 	 */
-	private Integer[][] matriz;
+	public static final int DIMENSAO_PADRAO = 3;
 
 	/**
-	 * Referencia para o estado pai.
+	 * Menor dimensao de tabuleiro aceita.
 	 */
-	private Jogo8 pai;
+	public static final int DIMENSAO_MINIMA = 2;
 
 	/**
-	 * Funcao G deste estado.
+	 * Maior dimensao de tabuleiro aceita, limitada pelo valor maximo de um
+	 * <code>byte</code>.
 	 */
-	private int funcaoG;
+	public static final int DIMENSAO_MAXIMA = 11;
 
 	/**
-	 * Funcao H deste estado.
+	 * Maior dimensao de tabuleiro que pode ser compactada em um
+	 * <code>long</code>.
 	 */
-	private int funcaoH;
+	private static final int DIMENSAO_MAXIMA_CODIGO = 4;
+
+	/**
+	 * Maior dimensao de tabuleiro que pode ser indexada por um mapa de bits de
+	 * tamanho razoavel (9! bits).
+	 */
+	private static final int DIMENSAO_MAXIMA_INDICE = 3;
+
+	/**
+	 * Quantidade de bits utilizados por cada celula no codigo do estado.
+	 */
+	private static final int BITS_CELULA = 4;
+
+	/**
+	 * Mascara para extrair o valor de uma celula do codigo do estado.
+	 */
+	private static final long MASCARA_CELULA = 0xFL;
 
 	/**
-	 * Posicao da coluna onde se encontra a celula vazia.
+	 * Quantidade maxima de movimentos de um estado: a celula vazia possui no
+	 * maximo quatro vizinhas.
 	 */
-	private int posColunaVazio;
+	private static final int MAXIMO_MOVIMENTOS = 4;
+
+	/**
+	 * Movimento da peca abaixo da celula vazia para cima.
+	 */
+	public static final int CIMA = 0;
+
+	/**
+	 * Movimento da peca acima da celula vazia para baixo.
+	 */
+	public static final int BAIXO = 1;
+
+	/**
+	 * Movimento da peca a direita da celula vazia para a esquerda.
+	 */
+	public static final int ESQUERDA = 2;
+
+	/**
+	 * Movimento da peca a esquerda da celula vazia para a direita.
+	 */
+	public static final int DIREITA = 3;
+
+	/**
+	 * Letras que descrevem cada movimento, na ordem das constantes.
+	 */
+	private static final String LETRAS_MOVIMENTOS = "CBED";
+
+	/**
+	 * Pesos de cada posicao no hash dos tabuleiros armazenados em vetor. O hash
+	 * e a soma de <code>peca * PESOS[posicao]</code>, o que permite atualiza-lo
+	 * a cada movimento sem percorrer o tabuleiro.
+	 */
+	private static final long[] PESOS = new long[DIMENSAO_MAXIMA * DIMENSAO_MAXIMA];
+
+	static {
+		long peso = 1;
+		for (int i = 0; i < PESOS.length; i++) {
+			PESOS[i] = peso;
+			peso *= 0x9E3779B97F4A7C15L;
+		}
+	}
 
 	/**
-	 * Posicao da linha ond se encontra a celula vazia.
+	 * Quantidade de linhas e colunas do tabuleiro.
 	 */
-	private int posLinhaVazio;
+	private final int dimensao;
+
+	/**
+	 * Celulas deste estado, compactadas, se o tabuleiro for de ate 4x4. A
+	 * celula da posicao <code>p</code> ocupa os bits a partir de
+	 * <code>4 * p</code>. Em tabuleiros maiores, contem um hash das celulas.
+	 */
+	private long codigo;
+
+	/**
+	 * Celulas deste estado, se o tabuleiro for maior que 4x4. Caso contrario,
+	 * <code>null</code>.
+	 */
+	private byte[] celulas;
+
+	/**
+	 * Posicao (linha * dimensao + coluna) onde se encontra a celula vazia.
+	 */
+	private int posVazio;
+
+	/**
+	 * Referencia para o estado pai, ou <code>null</code> se o caminho for
+	 * armazenado em uma {@link jogo8.util.ArvoreCaminhos}.
+	 */
+	private Jogo8 pai;
+
+	/**
+	 * Indice deste estado na arvore de caminhos da busca, se houver.
+	 */
+	private int indiceCaminho;
+
+	/**
+	 * Funcao G deste estado.
+	 */
+	private int funcaoG;
+
+	/**
+	 * Funcao H deste estado.
+	 */
+	private int funcaoH;
 
 	/**
 	 * Construtor default. Gera uma matriz randomicamente atraves do metodo
@@ -57,7 +166,7 @@ public class Jogo8 implements EstadoHeuristica {
 	}
 
 	/**
-	 * Constroi um novo estado do Jogo do 8.
+	 * Constroi um novo estado do Jogo do 8, ou de um tabuleiro NxN.
 	 * 
 	 * @param matriz
 	 *            A matriz pertencente a este estado.
@@ -65,105 +174,393 @@ public class Jogo8 implements EstadoHeuristica {
 	 * @param pai
 	 * 
 	 * @throws IllegalArgumentException
-	 *             Caso a matriz seja nula ou se a matriz for diferente do
-	 *             formato 3x3.
+	 *             Caso a matriz seja nula, se a matriz nao for quadrada, se sua
+	 *             dimensao estiver fora do intervalo de {@link #DIMENSAO_MINIMA}
+	 *             a {@link #DIMENSAO_MAXIMA} ou se nao possuir exatamente uma
+	 *             celula vazia e uma de cada peca de 1 a N*N - 1.
 	 */
 	public Jogo8(Jogo8 pai, Integer[][] matriz) {
-		this.pai = pai;
+		this(pai, validarDimensao(matriz));
 
-		// Calcular funcao G
-		if (pai != null) {
-			funcaoG = pai.getFuncaoG() + 1;
-		}
+		int totalCelulas = dimensao * dimensao;
 
-		// Verificar se a matriz e nula
-		if (matriz == null) {
-			throw new IllegalArgumentException("matriz nula!");
+		// Pecas ja encontradas na matriz
+		boolean[] encontradas = new boolean[totalCelulas];
+
+		if (dimensao > DIMENSAO_MAXIMA_CODIGO) {
+			celulas = new byte[totalCelulas];
 		}
 
-		// Verificar o tamanho da matriz
-		for (int i = 0; i < matriz.length; i++) {
-			if (matriz[i].length != 3) {
-				throw new IllegalArgumentException("matriz[" + i + "].lenght e diferente de 3!");
+		posVazio = -1;
+
+		for (int i = 0; i < dimensao; i++) {
+			for (int j = 0; j < dimensao; j++) {
+				Integer valor = matriz[i][j];
+				int posicao = i * dimensao + j;
+
+				if (valor == null) {
+					if (posVazio != -1) {
+						throw new IllegalArgumentException("Esta matriz tem mais de uma celula vazia!");
+					}
+
+					posVazio = posicao;
+					continue; // Celula vazia vale 0
+				}
+
+				if (valor < 1 || valor >= totalCelulas) {
+					throw new IllegalArgumentException("matriz[" + i + "][" + j + "] fora do intervalo de 1 a " + (totalCelulas - 1) + "!");
+				}
+
+				if (encontradas[valor]) {
+					throw new IllegalArgumentException("matriz[" + i + "][" + j + "] repetido!");
+				}
+
+				encontradas[valor] = true;
+
+				if (celulas == null) {
+					codigo |= ((long) valor) << (posicao * BITS_CELULA);
+				} else {
+					celulas[posicao] = (byte) (int) valor;
+					codigo += valor * PESOS[posicao];
+				}
 			}
 		}
 
-		// Setar atributo matriz
-		this.matriz = matriz;
+		if (posVazio == -1) {
+			// Celula vazia nao encontrada
+			throw new IllegalArgumentException("Esta matriz nao tem uma celula vazia!");
+		}
+	}
+
+	/**
+	 * Constroi um novo estado com a dimensao informada, sem nenhuma peca.
+	 * 
+	 * @param pai
+	 *            O estado pai.
+	 * @param dimensao
+	 *            A dimensao do tabuleiro.
+	 */
+	private Jogo8(Jogo8 pai, int dimensao) {
+		this.pai = pai;
+		this.dimensao = dimensao;
+
+		// Calcular funcao G
+		if (pai != null) {
+			funcaoG = pai.getFuncaoG() + 1;
+		}
 
 		// Setar atributos default
-		posColunaVazio = -1;
-		posLinhaVazio = -1;
 		funcaoH = -1;
 	}
 
+	/**
+	 * Constroi um novo estado a partir das celulas de outro estado.
+	 * 
+	 * @param pai
+	 *            O estado pai.
+	 * @param origem
+	 *            O estado cujas celulas serao copiadas.
+	 */
+	private Jogo8(Jogo8 pai, Jogo8 origem) {
+		this(pai, origem.dimensao);
+
+		codigo = origem.codigo;
+		posVazio = origem.posVazio;
+
+		if (origem.celulas != null) {
+			celulas = origem.celulas.clone();
+		}
+	}
+
 	@Override
 	public Collection<Estado> aplicarOperadores() {
-		// Procurar pela celula vazia se a mesma ainda nao foi procurada
-		if ((posColunaVazio == -1) || (posLinhaVazio == -1)) {
-			procurarVazio();
-		}
+		int[] movimentos = new int[MAXIMO_MOVIMENTOS];
+		int quantidade = listarMovimentos(movimentos);
 
 		// Lista com os resultados encontrados
-		Collection<Estado> resultado = new ArrayList<Estado>();
+		Collection<Estado> resultado = new ArrayList<Estado>(quantidade);
 
-		// Movimentar para cima
-		if (posLinhaVazio < 2) {
-			Integer[][] copia = MatrizUtils.copiar(matriz);
+		for (int i = 0; i < quantidade; i++) {
+			resultado.add(criarSucessor(movimentos[i]));
+		}
 
-			copia[posLinhaVazio + 1][posColunaVazio] = null;
-			copia[posLinhaVazio][posColunaVazio] = matriz[posLinhaVazio + 1][posColunaVazio];
+		// Retornar resultado
+		return resultado;
+	}
 
-			resultado.add(new Jogo8(this, copia));
+	@Override
+	public int getMaximoMovimentos() {
+		return MAXIMO_MOVIMENTOS;
+	}
+
+	/**
+	 * Lista os movimentos validos neste estado. Cada movimento e uma das
+	 * constantes {@link #CIMA}, {@link #BAIXO}, {@link #ESQUERDA} e
+	 * {@link #DIREITA}, e ocupa apenas 2 bits.
+	 */
+	@Override
+	public int listarMovimentos(int[] movimentos) {
+		int quantidade = 0;
+
+		int posLinhaVazio = posVazio / dimensao;
+		int posColunaVazio = posVazio % dimensao;
+
+		// Movimentar para cima
+		if (posLinhaVazio < dimensao - 1) {
+			movimentos[quantidade++] = CIMA;
 		}
 
 		// Movimentar para baixo
 		if (posLinhaVazio > 0) {
-			Integer[][] copia = MatrizUtils.copiar(matriz);
+			movimentos[quantidade++] = BAIXO;
+		}
 
-			copia[posLinhaVazio - 1][posColunaVazio] = null;
-			copia[posLinhaVazio][posColunaVazio] = matriz[posLinhaVazio - 1][posColunaVazio];
+		// Movimentar para esquerda
+		if (posColunaVazio < dimensao - 1) {
+			movimentos[quantidade++] = ESQUERDA;
+		}
 
-			resultado.add(new Jogo8(this, copia));
+		// Movimentar para direita
+		if (posColunaVazio > 0) {
+			movimentos[quantidade++] = DIREITA;
 		}
 
-		// Movimentar para esquerda
-		if (posColunaVazio < 2) {
-			Integer[][] copia = MatrizUtils.copiar(matriz);
+		return quantidade;
+	}
 
-			copia[posLinhaVazio][posColunaVazio + 1] = null;
-			copia[posLinhaVazio][posColunaVazio] = matriz[posLinhaVazio][posColunaVazio + 1];
+	/**
+	 * Retorna a posicao da peca que um movimento leva para a celula vazia.
+	 * 
+	 * @param movimento
+	 *            O movimento.
+	 * @return A posicao da peca.
+	 */
+	private int posicaoPeca(int movimento) {
+		switch (movimento) {
+		case CIMA:
+			return posVazio + dimensao;
+		case BAIXO:
+			return posVazio - dimensao;
+		case ESQUERDA:
+			return posVazio + 1;
+		default:
+			return posVazio - 1;
+		}
+	}
 
-			resultado.add(new Jogo8(this, copia));
+	/**
+	 * Retorna a posicao que a celula vazia ocupava antes do movimento que
+	 * gerou este estado, ou seja, a posicao para a qual a peca foi movida.
+	 * 
+	 * @param movimento
+	 *            O movimento que gerou este estado.
+	 * @return A posicao da peca movida.
+	 */
+	int posicaoVaziaAnterior(int movimento) {
+		switch (movimento) {
+		case CIMA:
+			return posVazio - dimensao;
+		case BAIXO:
+			return posVazio + dimensao;
+		case ESQUERDA:
+			return posVazio - 1;
+		default:
+			return posVazio + 1;
 		}
+	}
 
-		// Movimentar para direita
-		if (posColunaVazio > 0) {
-			Integer[][] copia = MatrizUtils.copiar(matriz);
+	@Override
+	public EstadoEnumeravel criarRascunho() {
+		return copiar();
+	}
 
-			copia[posLinhaVazio][posColunaVazio - 1] = null;
-			copia[posLinhaVazio][posColunaVazio] = matriz[posLinhaVazio][posColunaVazio - 1];
+	/**
+	 * Copia as celulas deste estado para o rascunho e move a peca informada.
+	 * O rascunho recebe este estado como pai e a funcao G do sucessor, de
+	 * forma que tambem pode ser avaliado por uma heuristica.
+	 */
+	@Override
+	public void aplicarMovimento(int movimento, EstadoEnumeravel rascunho) {
+		Jogo8 destino = (Jogo8) rascunho;
+
+		destino.pai = this;
+		destino.funcaoG = funcaoG + 1;
+		destino.funcaoH = -1;
+		destino.codigo = codigo;
+		destino.posVazio = posVazio;
 
-			resultado.add(new Jogo8(this, copia));
+		if (celulas != null) {
+			System.arraycopy(celulas, 0, destino.celulas, 0, celulas.length);
 		}
 
-		// Retornar resultado
-		return resultado;
+		destino.deslocar(posicaoPeca(movimento));
+	}
+
+	@Override
+	public Jogo8 criarSucessor(int movimento) {
+		return mover(posicaoPeca(movimento));
+	}
+
+	/**
+	 * Retorna os movimentos do caminho ate este estado, seguindo os pais a
+	 * partir do estado inicial. Os movimentos sao deduzidos das posicoes da
+	 * celula vazia de cada par de estados consecutivos.
+	 * 
+	 * @return Os movimentos ({@link #CIMA}, {@link #BAIXO}, {@link #ESQUERDA}
+	 *         ou {@link #DIREITA}), na ordem em que foram aplicados.
+	 */
+	public int[] obterMovimentosCaminho() {
+		int quantidade = 0;
+
+		for (Jogo8 estado = this; estado.pai != null; estado = estado.pai) {
+			quantidade++;
+		}
+
+		int[] movimentos = new int[quantidade];
+
+		for (Jogo8 estado = this; estado.pai != null; estado = estado.pai) {
+			int diferenca = estado.posVazio - estado.pai.posVazio;
+
+			if (diferenca == dimensao) {
+				movimentos[--quantidade] = CIMA;
+			} else if (diferenca == -dimensao) {
+				movimentos[--quantidade] = BAIXO;
+			} else if (diferenca == 1) {
+				movimentos[--quantidade] = ESQUERDA;
+			} else {
+				movimentos[--quantidade] = DIREITA;
+			}
+		}
+
+		return movimentos;
+	}
+
+	/**
+	 * Descreve os movimentos do caminho ate este estado (ver
+	 * {@link #obterMovimentosCaminho()}). Cada movimento e representado por
+	 * uma letra: C (cima), B (baixo), E (esquerda) ou D (direita), indicando
+	 * a direcao em que a peca se move.
+	 * 
+	 * @return Os movimentos, na ordem em que foram aplicados.
+	 */
+	public String descreverCaminho() {
+		int[] movimentos = obterMovimentosCaminho();
+		StringBuilder descricao = new StringBuilder(movimentos.length);
+
+		for (int movimento : movimentos) {
+			descricao.append(LETRAS_MOVIMENTOS.charAt(movimento));
+		}
+
+		return descricao.toString();
+	}
+
+	/**
+	 * Remove a referencia para o estado pai, mantendo a funcao G. Utilizado
+	 * quando o caminho e armazenado em uma {@link jogo8.util.ArvoreCaminhos}
+	 * (ver {@link #setIndiceCaminho(int)}), para que os estados anteriores
+	 * possam ser liberados.
+	 */
+	public void desligarPai() {
+		pai = null;
+	}
+
+	/**
+	 * Retorna o valor do atributo indiceCaminho
+	 * 
+	 * @return O valor do atributo indiceCaminho
+	 */
+	public int getIndiceCaminho() {
+		return indiceCaminho;
+	}
+
+	/**
+	 * Altera o valor do atributo indiceCaminho
+	 * 
+	 * @param indiceCaminho
+	 *            O indice deste estado na arvore de caminhos da busca
+	 */
+	public void setIndiceCaminho(int indiceCaminho) {
+		this.indiceCaminho = indiceCaminho;
+	}
+
+	/**
+	 * Gera o estado filho resultante de mover a peca da posicao informada para
+	 * a celula vazia.
+	 * 
+	 * @param posPeca
+	 *            A posicao da peca que sera movida.
+	 * @return O novo estado.
+	 */
+	Jogo8 mover(int posPeca) {
+		Jogo8 filho = new Jogo8(this, this);
+		filho.deslocar(posPeca);
+		return filho;
+	}
+
+	/**
+	 * Cria uma copia deste estado, sem pai.
+	 * 
+	 * @return A copia deste estado.
+	 */
+	Jogo8 copiar() {
+		return new Jogo8(null, this);
+	}
+
+	/**
+	 * Move, neste proprio estado, a peca da posicao informada para a celula
+	 * vazia. Deve ser utilizado apenas em estados que nao foram armazenados em
+	 * nenhuma lista, pois altera o hash do estado. O movimento e desfeito
+	 * movendo a peca da antiga posicao vazia.
+	 * 
+	 * @param posPeca
+	 *            A posicao da peca que sera movida.
+	 */
+	void deslocar(int posPeca) {
+		if (celulas == null) {
+			long peca = (codigo >>> (posPeca * BITS_CELULA)) & MASCARA_CELULA;
+
+			// A celula vazia vale 0, logo basta retirar a peca da posicao
+			// antiga e soma-la na nova
+			codigo = codigo - (peca << (posPeca * BITS_CELULA)) + (peca << (posVazio * BITS_CELULA));
+		} else {
+			byte peca = celulas[posPeca];
+
+			celulas[posVazio] = peca;
+			celulas[posPeca] = 0;
+			codigo = codigo - peca * PESOS[posPeca] + peca * PESOS[posVazio];
+		}
+
+		posVazio = posPeca;
+	}
+
+	/**
+	 * Verifica, pela paridade das permutacoes (ver
+	 * {@link MatrizUtils#isSolucionavel(Integer[][], Integer[][])}), se o
+	 * destino pode ser alcancado.
+	 */
+	@Override
+	public boolean isAlcancavel(Estado destino) {
+		if (!(destino instanceof Jogo8)) {
+			return true;
+		}
+
+		Jogo8 other = (Jogo8) destino;
+
+		if (dimensao != other.dimensao) {
+			return false;
+		}
+
+		return MatrizUtils.isSolucionavel(getMatriz(), other.getMatriz());
 	}
 
 	@Override
 	public String toString() {
-		return MatrizUtils.print(matriz);
+		return MatrizUtils.print(getMatriz());
 	}
 
 	@Override
 	public int hashCode() {
-		final int prime = 31;
-		int result = 1;
-		for (Integer[] m : matriz) {
-			result = prime * result + Arrays.hashCode(m);
-		}
-		return result;
+		return HashUtils.misturar(codigo);
 	}
 
 	@Override
@@ -182,11 +579,11 @@ public class Jogo8 implements EstadoHeuristica {
 
 		Jogo8 other = (Jogo8) obj;
 
-		if (!MatrizUtils.equals(matriz, other.matriz)) {
+		if (codigo != other.codigo || dimensao != other.dimensao) {
 			return false;
 		}
 
-		return true;
+		return celulas == null || Arrays.equals(celulas, other.celulas);
 	}
 
 	@Override
@@ -197,61 +594,154 @@ public class Jogo8 implements EstadoHeuristica {
 
 		Jogo8 other = (Jogo8) o;
 
-		return getFuncaoF() - other.getFuncaoF();
+		int diferenca = getFuncaoF() - other.getFuncaoF();
+
+		// Em caso de empate, priorizar o estado mais profundo
+		if (diferenca == 0) {
+			return other.funcaoG - funcaoG;
+		}
+
+		return diferenca;
 	}
 
 	/**
-	 * Procura as posicoes linha e coluna da celula vazia e seta-as nos
-	 * atributos apropriados.
+	 * Verifica se a matriz e quadrada e se sua dimensao e suportada.
+	 * 
+	 * @param matriz
+	 *            A matriz que sera verificada.
+	 * @return A dimensao da matriz.
+	 * @throws IllegalArgumentException
+	 *             Caso a matriz seja nula, nao seja quadrada ou sua dimensao
+	 *             nao seja suportada.
 	 */
-	private void procurarVazio() {
+	private static int validarDimensao(Integer[][] matriz) {
+		// Verificar se a matriz e nula
+		if (matriz == null) {
+			throw new IllegalArgumentException("matriz nula!");
+		}
+
+		int dimensao = matriz.length;
+
+		if (dimensao < DIMENSAO_MINIMA || dimensao > DIMENSAO_MAXIMA) {
+			throw new IllegalArgumentException("matriz.lenght fora do intervalo de " + DIMENSAO_MINIMA + " a " + DIMENSAO_MAXIMA + "!");
+		}
+
+		// Verificar o tamanho da matriz
 		for (int i = 0; i < matriz.length; i++) {
-			for (int j = 0; j < matriz[i].length; j++) {
-				if (matriz[i][j] == null) { // Celula encontrada
-					posLinhaVazio = i; // Armazenar linha
-					posColunaVazio = j; // Armazenar coluna
-					return; // Sair do laco
-				}
+			if (matriz[i].length != dimensao) {
+				throw new IllegalArgumentException("matriz[" + i + "].lenght e diferente de " + dimensao + "!");
 			}
 		}
 
-		// Celula vazia nao encontrada
-		throw new IllegalArgumentException("Esta matriz nao tem uma celula vazia!");
+		return dimensao;
 	}
 
 	/**
-	 * Retorna o valor do atributo matriz
+	 * Retorna o valor de uma celula deste estado.
 	 * 
-	 * @return O valor do atributo matriz
+	 * @param posicao
+	 *            A posicao (linha * dimensao + coluna) da celula.
+	 * @return O valor da celula ou 0 se a celula for vazia.
+	 */
+	public int getCelula(int posicao) {
+		if (celulas == null) {
+			return (int) ((codigo >>> (posicao * BITS_CELULA)) & MASCARA_CELULA);
+		}
+
+		return celulas[posicao];
+	}
+
+	/**
+	 * Retorna uma nova matriz representando este estado. Utilizada apenas para
+	 * visualizacao, pois cada chamada cria uma nova matriz.
+	 * 
+	 * @return A matriz deste estado.
 	 */
 	public Integer[][] getMatriz() {
+		Integer[][] matriz = new Integer[dimensao][dimensao];
+
+		for (int i = 0; i < dimensao; i++) {
+			for (int j = 0; j < dimensao; j++) {
+				int valor = getCelula(i * dimensao + j);
+
+				matriz[i][j] = (valor == 0 ? null : valor);
+			}
+		}
+
 		return matriz;
 	}
 
 	/**
-	 * Retorna o valor do atributo posColunaVazio
+	 * Retorna o codigo deste estado. Em tabuleiros de ate 4x4 o codigo contem
+	 * todas as celulas compactadas; em tabuleiros maiores e apenas um hash (ver
+	 * {@link #possuiCodigo()}).
 	 * 
-	 * @return O valor do atributo posColunaVazio
+	 * @return O valor do atributo codigo
 	 */
-	public int getPosColunaVazio() {
-		if (posColunaVazio == -1) {
-			procurarVazio();
-		}
+	@Override
+	public long getCodigo() {
+		return codigo;
+	}
 
-		return posColunaVazio;
+	@Override
+	public boolean possuiCodigo() {
+		return celulas == null;
 	}
 
 	/**
-	 * Retorna o valor do atributo posLinhaVazio
+	 * Retorna o ranking da permutacao das celulas deste estado, no intervalo
+	 * de 0 a (N*N)! - 1. Disponivel apenas para tabuleiros de ate 3x3.
 	 * 
-	 * @return O valor do atributo posLinhaVazio
+	 * @return O indice deste estado.
 	 */
-	public int getPosLinhaVazio() {
-		if (posLinhaVazio == -1) {
-			procurarVazio();
+	@Override
+	public int getIndice() {
+		return (int) PermutacaoUtils.ranquear(codigo, dimensao * dimensao);
+	}
+
+	@Override
+	public int getTotalIndices() {
+		if (dimensao > DIMENSAO_MAXIMA_INDICE) {
+			return 0;
 		}
 
-		return posLinhaVazio;
+		return (int) PermutacaoUtils.fatorial(dimensao * dimensao);
+	}
+
+	/**
+	 * Retorna a quantidade de linhas e colunas do tabuleiro.
+	 * 
+	 * @return A dimensao do tabuleiro.
+	 */
+	public int getDimensao() {
+		return dimensao;
+	}
+
+	/**
+	 * Retorna o valor do atributo posVazio
+	 * 
+	 * @return O valor do atributo posVazio
+	 */
+	public int getPosVazio() {
+		return posVazio;
+	}
+
+	/**
+	 * Retorna a posicao da coluna onde se encontra a celula vazia.
+	 * 
+	 * @return A coluna da celula vazia.
+	 */
+	public int getPosColunaVazio() {
+		return posVazio % dimensao;
+	}
+
+	/**
+	 * Retorna a posicao da linha onde se encontra a celula vazia.
+	 * 
+	 * @return A linha da celula vazia.
+	 */
+	public int getPosLinhaVazio() {
+		return posVazio / dimensao;
 	}
 
 	/**
@@ -0,0 +1,385 @@
+package jogo8.model.impl.jogo8;
+
+import jogo8.model.Simetria;
+
+/**
+ * Grupo de simetria de um estado final do Jogo do 8. Cada simetria combina
+ * uma das oito transformacoes geometricas do tabuleiro (rotacoes e reflexoes)
+ * que mantem a celula vazia do estado final no lugar com a troca de rotulos
+ * das pecas que leva o estado final transformado de volta ao estado final.
+ * Movimentos validos sao levados em movimentos validos, logo um estado e o
+ * seu simetrico possuem a mesma distancia ate o estado final, e a solucao de
+ * um pode ser convertida na solucao do outro (ver
+ * {@link #restaurarMovimentos(int, int[])}).
+ * <p>
+ * O estado final em espiral do Jogo do 8 (ver
+ * {@link jogo8.util.MatrizUtils#criarEstadoFinal()}) possui as oito simetrias;
+ * o estado final ordenado, apenas a identidade e a transposicao. Disponivel
+ * para tabuleiros de ate 4x4, cujos estados possuem codigo (ver
+ * {@link Jogo8#possuiCodigo()}).
+ * 
+ * @author Jonathan Henrique de Souza
+ * 
+ */
+public class SimetriaJogo8 implements Simetria {
+
+	/**
+	 * Quantidade de transformacoes geometricas do tabuleiro.
+	 */
+	private static final int TRANSFORMACOES = 8;
+
+	/**
+	 * Quantidade de linhas e colunas do tabuleiro.
+	 */
+	private final int dimensao;
+
+	/**
+	 * Codigo do estado final.
+	 */
+	private final long codigoFinal;
+
+	/**
+	 * Quantidade de simetrias do estado final. As simetrias ocupam as
+	 * primeiras posicoes dos vetores abaixo; a identidade e a de indice 0.
+	 */
+	private final int ordem;
+
+	/**
+	 * Nova posicao de cada posicao do tabuleiro, para cada simetria.
+	 */
+	private final int[][] posicoes;
+
+	/**
+	 * Novo rotulo de cada peca, para cada simetria. A celula vazia mantem o
+	 * rotulo 0.
+	 */
+	private final int[][] rotulos;
+
+	/**
+	 * Movimento correspondente a cada movimento, para cada simetria.
+	 */
+	private final int[][] movimentos;
+
+	/**
+	 * Indice da simetria inversa de cada simetria.
+	 */
+	private final int[] inversas;
+
+	/**
+	 * Constroi o grupo de simetria de um estado final.
+	 * 
+	 * @param estadoFinal
+	 *            O estado final.
+	 * @throws IllegalArgumentException
+	 *             Caso o tabuleiro seja maior que 4x4.
+	 */
+	public SimetriaJogo8(Jogo8 estadoFinal) {
+		if (!estadoFinal.possuiCodigo()) {
+			throw new IllegalArgumentException("Simetrias disponiveis apenas para tabuleiros de ate 4x4!");
+		}
+
+		dimensao = estadoFinal.getDimensao();
+		codigoFinal = estadoFinal.getCodigo();
+
+		int totalCelulas = dimensao * dimensao;
+		int ultima = dimensao - 1;
+
+		// Posicao de cada peca no estado final
+		int[] posicoesFinais = new int[totalCelulas];
+
+		for (int posicao = 0; posicao < totalCelulas; posicao++) {
+			posicoesFinais[estadoFinal.getCelula(posicao)] = posicao;
+		}
+
+		int[][] todasPosicoes = new int[TRANSFORMACOES][];
+		int[][] todosRotulos = new int[TRANSFORMACOES][];
+		int[][] todosMovimentos = new int[TRANSFORMACOES][];
+		int quantidade = 0;
+
+		for (int t = 0; t < TRANSFORMACOES; t++) {
+			int[] destino = new int[totalCelulas];
+
+			for (int posicao = 0; posicao < totalCelulas; posicao++) {
+				int[] coordenadas = mapear(t, posicao / dimensao, posicao % dimensao, ultima);
+				destino[posicao] = coordenadas[0] * dimensao + coordenadas[1];
+			}
+
+			// A troca de rotulos nao move a celula vazia
+			if (destino[estadoFinal.getPosVazio()] != estadoFinal.getPosVazio()) {
+				continue;
+			}
+
+			// A peca que ocupava a posicao p no estado final passa a ser a
+			// peca que ocupa a posicao transformada de p
+			int[] rotulo = new int[totalCelulas];
+
+			for (int peca = 0; peca < totalCelulas; peca++) {
+				rotulo[peca] = estadoFinal.getCelula(destino[posicoesFinais[peca]]);
+			}
+
+			// Cada movimento desloca a celula vazia em uma direcao
+			int[][] deslocamentos = { { 1, 0 }, { -1, 0 }, { 0, 1 }, { 0, -1 } };
+			int[] movimento = new int[deslocamentos.length];
+
+			for (int m = 0; m < deslocamentos.length; m++) {
+				int[] deslocamento = mapear(t, deslocamentos[m][0], deslocamentos[m][1], 0);
+				movimento[m] = direcao(deslocamento[0], deslocamento[1]);
+			}
+
+			todasPosicoes[quantidade] = destino;
+			todosRotulos[quantidade] = rotulo;
+			todosMovimentos[quantidade] = movimento;
+			quantidade++;
+		}
+
+		ordem = quantidade;
+		posicoes = new int[ordem][];
+		rotulos = new int[ordem][];
+		movimentos = new int[ordem][];
+		System.arraycopy(todasPosicoes, 0, posicoes, 0, ordem);
+		System.arraycopy(todosRotulos, 0, rotulos, 0, ordem);
+		System.arraycopy(todosMovimentos, 0, movimentos, 0, ordem);
+
+		// A inversa de uma simetria e a que desfaz o seu movimento das
+		// posicoes
+		inversas = new int[ordem];
+
+		for (int s = 0; s < ordem; s++) {
+			for (int i = 0; i < ordem; i++) {
+				boolean inversa = true;
+
+				for (int posicao = 0; posicao < totalCelulas && inversa; posicao++) {
+					inversa = posicoes[i][posicoes[s][posicao]] == posicao;
+				}
+
+				if (inversa) {
+					inversas[s] = i;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Aplica uma das oito transformacoes geometricas as coordenadas de uma
+	 * celula. Com <code>ultima</code> igual a 0, transforma um deslocamento.
+	 * 
+	 * @param transformacao
+	 *            A transformacao, de 0 a 7.
+	 * @param linha
+	 *            A linha.
+	 * @param coluna
+	 *            A coluna.
+	 * @param ultima
+	 *            A ultima linha ou coluna do tabuleiro.
+	 * @return A nova linha e a nova coluna.
+	 */
+	private static int[] mapear(int transformacao, int linha, int coluna, int ultima) {
+		switch (transformacao) {
+		case 0: // Identidade
+			return new int[] { linha, coluna };
+		case 1: // Rotacao de 90 graus
+			return new int[] { coluna, ultima - linha };
+		case 2: // Rotacao de 180 graus
+			return new int[] { ultima - linha, ultima - coluna };
+		case 3: // Rotacao de 270 graus
+			return new int[] { ultima - coluna, linha };
+		case 4: // Reflexao horizontal
+			return new int[] { linha, ultima - coluna };
+		case 5: // Reflexao vertical
+			return new int[] { ultima - linha, coluna };
+		case 6: // Transposicao
+			return new int[] { coluna, linha };
+		default: // Transposicao pela diagonal secundaria
+			return new int[] { ultima - coluna, ultima - linha };
+		}
+	}
+
+	/**
+	 * Retorna o movimento que desloca a celula vazia na direcao informada.
+	 * 
+	 * @param linha
+	 *            O deslocamento nas linhas.
+	 * @param coluna
+	 *            O deslocamento nas colunas.
+	 * @return O movimento.
+	 */
+	private static int direcao(int linha, int coluna) {
+		if (linha == 1) {
+			return Jogo8.CIMA;
+		} else if (linha == -1) {
+			return Jogo8.BAIXO;
+		} else if (coluna == 1) {
+			return Jogo8.ESQUERDA;
+		} else {
+			return Jogo8.DIREITA;
+		}
+	}
+
+	/**
+	 * Aplica uma simetria ao codigo de um estado.
+	 * 
+	 * @param simetria
+	 *            O indice da simetria, de 0 a {@link #getOrdem()} - 1.
+	 * @param codigo
+	 *            O codigo do estado.
+	 * @return O codigo do estado simetrico.
+	 */
+	public long transformar(int simetria, long codigo) {
+		int[] destino = posicoes[simetria];
+		int[] rotulo = rotulos[simetria];
+		long resultado = 0;
+
+		for (int posicao = 0; posicao < destino.length; posicao++) {
+			int peca = (int) ((codigo >>> (posicao * 4)) & 0xFL);
+
+			resultado |= ((long) rotulo[peca]) << (destino[posicao] * 4);
+		}
+
+		return resultado;
+	}
+
+	@Override
+	public long canonizar(long codigo) {
+		long canonico = codigo;
+
+		for (int s = 1; s < ordem; s++) {
+			long simetrico = transformar(s, codigo);
+
+			if (simetrico < canonico) {
+				canonico = simetrico;
+			}
+		}
+
+		return canonico;
+	}
+
+	/**
+	 * Retorna a simetria que leva um estado ao seu representante canonico
+	 * (ver {@link #canonizar(long)}).
+	 * 
+	 * @param codigo
+	 *            O codigo do estado.
+	 * @return O indice da simetria.
+	 */
+	public int obterSimetriaCanonica(long codigo) {
+		long canonico = codigo;
+		int resultado = 0;
+
+		for (int s = 1; s < ordem; s++) {
+			long simetrico = transformar(s, codigo);
+
+			if (simetrico < canonico) {
+				canonico = simetrico;
+				resultado = s;
+			}
+		}
+
+		return resultado;
+	}
+
+	/**
+	 * Cria o representante canonico de um estado.
+	 * 
+	 * @param estado
+	 *            O estado.
+	 * @return Um novo estado, sem pai, simetrico ao estado informado.
+	 */
+	public Jogo8 canonizar(Jogo8 estado) {
+		return transformar(obterSimetriaCanonica(estado.getCodigo()), estado);
+	}
+
+	/**
+	 * Aplica uma simetria a um estado.
+	 * 
+	 * @param simetria
+	 *            O indice da simetria.
+	 * @param estado
+	 *            O estado.
+	 * @return Um novo estado, sem pai, simetrico ao estado informado.
+	 */
+	public Jogo8 transformar(int simetria, Jogo8 estado) {
+		Integer[][] matriz = new Integer[dimensao][dimensao];
+		long codigo = transformar(simetria, estado.getCodigo());
+
+		for (int posicao = 0; posicao < dimensao * dimensao; posicao++) {
+			int peca = (int) ((codigo >>> (posicao * 4)) & 0xFL);
+
+			matriz[posicao / dimensao][posicao % dimensao] = (peca == 0 ? null : peca);
+		}
+
+		return new Jogo8(null, matriz);
+	}
+
+	/**
+	 * Converte um movimento de um estado no movimento correspondente do
+	 * estado simetrico.
+	 * 
+	 * @param simetria
+	 *            O indice da simetria.
+	 * @param movimento
+	 *            O movimento (ver {@link Jogo8#CIMA}).
+	 * @return O movimento no estado simetrico.
+	 */
+	public int transformarMovimento(int simetria, int movimento) {
+		return movimentos[simetria][movimento];
+	}
+
+	/**
+	 * Converte os movimentos da solucao de um estado simetrico nos movimentos
+	 * da solucao do estado original.
+	 * 
+	 * @param simetria
+	 *            O indice da simetria que leva o estado original ao estado
+	 *            simetrico.
+	 * @param solucao
+	 *            Os movimentos da solucao do estado simetrico.
+	 * @return Os movimentos da solucao do estado original.
+	 */
+	public int[] restaurarMovimentos(int simetria, int[] solucao) {
+		int[] inversa = movimentos[inversas[simetria]];
+		int[] resultado = new int[solucao.length];
+
+		for (int i = 0; i < solucao.length; i++) {
+			resultado[i] = inversa[solucao[i]];
+		}
+
+		return resultado;
+	}
+
+	/**
+	 * Retorna o indice da simetria inversa de uma simetria.
+	 * 
+	 * @param simetria
+	 *            O indice da simetria.
+	 * @return O indice da simetria inversa.
+	 */
+	public int inverter(int simetria) {
+		return inversas[simetria];
+	}
+
+	/**
+	 * Verifica se este grupo foi calculado para o estado final informado.
+	 * 
+	 * @param estadoFinal
+	 *            O estado final.
+	 * @return <code>true</code> se o estado final for o mesmo utilizado na
+	 *         construcao, <code>false</code> caso contrario.
+	 */
+	public boolean isCompativel(Jogo8 estadoFinal) {
+		return estadoFinal.getDimensao() == dimensao && estadoFinal.getCodigo() == codigoFinal;
+	}
+
+	/**
+	 * Retorna o valor do atributo codigoFinal
+	 * 
+	 * @return O valor do atributo codigoFinal
+	 */
+	public long getCodigoFinal() {
+		return codigoFinal;
+	}
+
+	@Override
+	public int getOrdem() {
+		return ordem;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,389 @@
+package jogo8.model.impl.jogo8;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+
+import jogo8.util.PermutacaoUtils;
+
+/**
+ * Tabela com a distancia exata de todos os estados ate um estado final,
+ * disponivel para tabuleiros de ate 3x3. Cada estado ocupa um byte, indexado
+ * pelo ranking da sua permutacao (ver {@link Jogo8#getIndice()}); no Jogo do 8
+ * a tabela possui 9! = 362.880 entradas, das quais 181.440 sao alcancaveis.
+ * <p>
+ * A tabela e gerada uma unica vez por uma busca em amplitude a partir do
+ * estado final (ver {@link #gerar(Jogo8)}) e gravada em arquivo. Ao ser
+ * carregada (ver {@link #carregar(File)}), o arquivo e mapeado em memoria,
+ * assim como os arquivos de {@link BancoPadroes}. Com a tabela, a solucao
+ * otima de qualquer estado e obtida sem executar nenhuma busca, seguindo a
+ * cada passo um vizinho com distancia menor (ver
+ * {@link #resolverMovimentos(Jogo8)}).
+ * 
+ * @author Jonathan Henrique de Souza
+ * 
+ */
+public class TabelaDistancias {
+
+	/**
+	 * Identificador dos arquivos de tabelas de distancias ("TDS1").
+	 */
+	private static final int ASSINATURA = 0x54445331;
+
+	/**
+	 * Tamanho do cabecalho do arquivo: assinatura, dimensao e codigo do
+	 * estado final.
+	 */
+	private static final int TAMANHO_CABECALHO = 4 + 1 + 8;
+
+	/**
+	 * Valor que marca um estado que nao pode alcancar o estado final.
+	 */
+	private static final byte NAO_ALCANCAVEL = (byte) 0xFF;
+
+	/**
+	 * Maior dimensao de tabuleiro suportada: a tabela do Jogo do 15 teria 16!
+	 * entradas.
+	 */
+	private static final int DIMENSAO_MAXIMA = 3;
+
+	/**
+	 * Quantidade de linhas e colunas do tabuleiro.
+	 */
+	private final int dimensao;
+
+	/**
+	 * Codigo do estado final.
+	 */
+	private final long codigoFinal;
+
+	/**
+	 * Tabela de distancias, indexada pelo ranking dos estados.
+	 */
+	private final ByteBuffer tabela;
+
+	/**
+	 * Posicao do inicio da tabela dentro de {@link #tabela}.
+	 */
+	private final int inicioTabela;
+
+	/**
+	 * Constroi uma nova tabela de distancias.
+	 * 
+	 * @param dimensao
+	 *            A dimensao do tabuleiro.
+	 * @param codigoFinal
+	 *            O codigo do estado final.
+	 * @param tabela
+	 *            A tabela de distancias.
+	 * @param inicioTabela
+	 *            A posicao do inicio da tabela.
+	 */
+	private TabelaDistancias(int dimensao, long codigoFinal, ByteBuffer tabela, int inicioTabela) {
+		this.dimensao = dimensao;
+		this.codigoFinal = codigoFinal;
+		this.tabela = tabela;
+		this.inicioTabela = inicioTabela;
+	}
+
+	/**
+	 * Gera a tabela de distancias de um estado final atraves de uma busca em
+	 * amplitude. Os estados da busca sao apenas os codigos compactados, de
+	 * forma que nenhum {@link Jogo8} e criado.
+	 * 
+	 * @param estadoFinal
+	 *            O estado final.
+	 * @return A tabela gerada, mantida em memoria.
+	 * @throws IllegalArgumentException
+	 *             Caso o tabuleiro seja maior que 3x3.
+	 */
+	public static TabelaDistancias gerar(Jogo8 estadoFinal) {
+		int dimensao = estadoFinal.getDimensao();
+		int totalEstados = estadoFinal.getTotalIndices();
+
+		if (dimensao > DIMENSAO_MAXIMA) {
+			throw new IllegalArgumentException("Tabela de distancias disponivel apenas para tabuleiros de ate " + DIMENSAO_MAXIMA + "x" + DIMENSAO_MAXIMA + "!");
+		}
+
+		int totalCelulas = dimensao * dimensao;
+
+		byte[] distancias = new byte[totalEstados];
+		Arrays.fill(distancias, NAO_ALCANCAVEL);
+
+		// Apenas metade dos estados possui a mesma paridade do estado final.
+		// Cada estado entra na fila uma unica vez, logo a fila nao precisa ser
+		// circular.
+		long[] fila = new long[totalEstados / 2];
+		int inicio = 0;
+		int fim = 0;
+
+		distancias[estadoFinal.getIndice()] = 0;
+		fila[fim++] = estadoFinal.getCodigo();
+
+		while (inicio < fim) {
+			long codigo = fila[inicio++];
+			int distancia = distancias[(int) PermutacaoUtils.ranquear(codigo, totalCelulas)] + 1;
+
+			int posVazio = localizarVazio(codigo, totalCelulas);
+			int linha = posVazio / dimensao;
+			int coluna = posVazio % dimensao;
+
+			for (int i = 0; i < 4; i++) {
+				int posPeca;
+
+				if (i == 0 && linha < dimensao - 1) {
+					posPeca = posVazio + dimensao;
+				} else if (i == 1 && linha > 0) {
+					posPeca = posVazio - dimensao;
+				} else if (i == 2 && coluna < dimensao - 1) {
+					posPeca = posVazio + 1;
+				} else if (i == 3 && coluna > 0) {
+					posPeca = posVazio - 1;
+				} else {
+					continue;
+				}
+
+				// A celula vazia vale 0, logo basta retirar a peca da posicao
+				// antiga e soma-la na nova
+				long peca = (codigo >>> (posPeca * 4)) & 0xFL;
+				long vizinho = codigo - (peca << (posPeca * 4)) + (peca << (posVazio * 4));
+				int indice = (int) PermutacaoUtils.ranquear(vizinho, totalCelulas);
+
+				if (distancias[indice] == NAO_ALCANCAVEL) {
+					distancias[indice] = (byte) distancia;
+					fila[fim++] = vizinho;
+				}
+			}
+		}
+
+		return new TabelaDistancias(dimensao, estadoFinal.getCodigo(), ByteBuffer.wrap(distancias), 0);
+	}
+
+	/**
+	 * Localiza a celula vazia de um codigo compactado.
+	 * 
+	 * @param codigo
+	 *            O codigo do estado.
+	 * @param totalCelulas
+	 *            A quantidade de celulas do tabuleiro.
+	 * @return A posicao da celula vazia.
+	 */
+	private static int localizarVazio(long codigo, int totalCelulas) {
+		for (int posicao = 0; posicao < totalCelulas; posicao++) {
+			if (((codigo >>> (posicao * 4)) & 0xFL) == 0) {
+				return posicao;
+			}
+		}
+
+		throw new IllegalArgumentException("Codigo sem celula vazia: " + Long.toHexString(codigo));
+	}
+
+	/**
+	 * Grava esta tabela em um arquivo.
+	 * 
+	 * @param arquivo
+	 *            O arquivo que sera gravado.
+	 * @throws IOException
+	 *             Caso ocorra um erro ao gravar o arquivo.
+	 */
+	public void salvar(File arquivo) throws IOException {
+		DataOutputStream saida = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(arquivo)));
+
+		try {
+			// Cabecalho
+			saida.writeInt(ASSINATURA);
+			saida.writeByte(dimensao);
+			saida.writeLong(codigoFinal);
+
+			// Tabela
+			int tamanho = getTamanho();
+			for (int i = 0; i < tamanho; i++) {
+				saida.writeByte(tabela.get(inicioTabela + i));
+			}
+		} finally {
+			saida.close();
+		}
+	}
+
+	/**
+	 * Carrega uma tabela de um arquivo gravado por {@link #salvar(File)}. O
+	 * arquivo e mapeado em memoria, somente para leitura.
+	 * 
+	 * @param arquivo
+	 *            O arquivo que sera carregado.
+	 * @return A tabela de distancias.
+	 * @throws IOException
+	 *             Caso ocorra um erro ao ler o arquivo ou se o arquivo nao for
+	 *             uma tabela de distancias valida.
+	 */
+	public static TabelaDistancias carregar(File arquivo) throws IOException {
+		RandomAccessFile entrada = new RandomAccessFile(arquivo, "r");
+
+		try {
+			FileChannel canal = entrada.getChannel();
+			ByteBuffer tabela = canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size());
+
+			if (tabela.remaining() < TAMANHO_CABECALHO || tabela.getInt() != ASSINATURA) {
+				throw new IOException("Arquivo nao e uma tabela de distancias: " + arquivo);
+			}
+
+			int dimensao = tabela.get();
+			long codigoFinal = tabela.getLong();
+
+			if (dimensao < Jogo8.DIMENSAO_MINIMA || dimensao > DIMENSAO_MAXIMA) {
+				throw new IOException("Dimensao invalida: " + arquivo);
+			}
+
+			TabelaDistancias resultado = new TabelaDistancias(dimensao, codigoFinal, tabela, tabela.position());
+
+			if (tabela.remaining() != resultado.getTamanho()) {
+				throw new IOException("Tamanho da tabela invalido: " + arquivo);
+			}
+
+			return resultado;
+		} finally {
+			// O mapeamento continua valido apos o fechamento do arquivo
+			entrada.close();
+		}
+	}
+
+	/**
+	 * Consulta a quantidade minima de movimentos de um estado ate o estado
+	 * final. Nao aloca memoria.
+	 * 
+	 * @param estado
+	 *            O estado que sera consultado, com a mesma dimensao desta
+	 *            tabela.
+	 * @return A distancia ate o estado final ou -1 se o estado final nao puder
+	 *         ser alcancado.
+	 * @throws IllegalArgumentException
+	 *             Caso a dimensao do estado seja diferente da dimensao desta
+	 *             tabela.
+	 */
+	public int consultar(Jogo8 estado) {
+		if (estado.getDimensao() != dimensao) {
+			throw new IllegalArgumentException("Tabela de distancias nao foi gerada para esta dimensao!");
+		}
+
+		byte distancia = tabela.get(inicioTabela + estado.getIndice());
+
+		return distancia == NAO_ALCANCAVEL ? -1 : distancia;
+	}
+
+	/**
+	 * Calcula uma solucao otima de um estado, escolhendo a cada passo um
+	 * vizinho cuja distancia ate o estado final seja uma unidade menor. Cria
+	 * apenas dois estados auxiliares, independentemente do tamanho da
+	 * solucao.
+	 * 
+	 * @param estado
+	 *            O estado inicial, com a mesma dimensao desta tabela.
+	 * @return Os movimentos da solucao (ver {@link Jogo8#CIMA},
+	 *         {@link Jogo8#BAIXO}, {@link Jogo8#ESQUERDA} e
+	 *         {@link Jogo8#DIREITA}), na ordem em que devem ser aplicados.
+	 * @throws IllegalArgumentException
+	 *             Caso a dimensao do estado seja diferente da dimensao desta
+	 *             tabela ou o estado final nao possa ser alcancado a partir do
+	 *             estado informado.
+	 */
+	public int[] resolverMovimentos(Jogo8 estado) {
+		int distancia = consultar(estado);
+
+		if (distancia < 0) {
+			throw new IllegalArgumentException("O estado final nao pode ser alcancado a partir do estado informado!");
+		}
+
+		int[] solucao = new int[distancia];
+		int[] movimentos = new int[estado.getMaximoMovimentos()];
+
+		Jogo8 atual = estado.copiar();
+		Jogo8 rascunho = estado.copiar();
+
+		for (int passo = 0; passo < solucao.length; passo++) {
+			int quantidade = atual.listarMovimentos(movimentos);
+			int escolhido = -1;
+
+			// Algum vizinho sempre esta uma unidade mais proximo do final
+			for (int i = 0; i < quantidade && escolhido < 0; i++) {
+				atual.aplicarMovimento(movimentos[i], rascunho);
+
+				if (consultar(rascunho) == distancia - 1) {
+					escolhido = movimentos[i];
+				}
+			}
+
+			if (escolhido < 0) {
+				throw new IllegalStateException("Tabela de distancias inconsistente!");
+			}
+
+			solucao[passo] = escolhido;
+			distancia--;
+
+			// O rascunho passa a ser o estado atual
+			Jogo8 temp = atual;
+			atual = rascunho;
+			rascunho = temp;
+		}
+
+		return solucao;
+	}
+
+	/**
+	 * Calcula uma solucao otima de um estado (ver
+	 * {@link #resolverMovimentos(Jogo8)}) e cria os estados do caminho.
+	 * 
+	 * @param estado
+	 *            O estado inicial, com a mesma dimensao desta tabela.
+	 * @return O estado final, ligado aos estados anteriores do caminho ate o
+	 *         estado informado.
+	 * @throws IllegalArgumentException
+	 *             Caso a dimensao do estado seja diferente da dimensao desta
+	 *             tabela ou o estado final nao possa ser alcancado a partir do
+	 *             estado informado.
+	 */
+	public Jogo8 resolver(Jogo8 estado) {
+		Jogo8 atual = estado;
+
+		for (int movimento : resolverMovimentos(estado)) {
+			atual = atual.criarSucessor(movimento);
+		}
+
+		return atual;
+	}
+
+	/**
+	 * Verifica se esta tabela foi gerada para o estado final informado.
+	 * 
+	 * @param estadoFinal
+	 *            O estado final.
+	 * @return <code>true</code> se o estado final for o mesmo utilizado na
+	 *         geracao da tabela, <code>false</code> caso contrario.
+	 */
+	public boolean isCompativel(Jogo8 estadoFinal) {
+		return estadoFinal.getDimensao() == dimensao && estadoFinal.getCodigo() == codigoFinal;
+	}
+
+	/**
+	 * Retorna a quantidade de entradas da tabela.
+	 * 
+	 * @return O tamanho da tabela.
+	 */
+	public int getTamanho() {
+		return (int) PermutacaoUtils.fatorial(dimensao * dimensao);
+	}
+
+	/**
+	 * Retorna o valor do atributo dimensao
+	 * 
+	 * @return O valor do atributo dimensao
+	 */
+	public int getDimensao() {
+		return dimensao;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,122 @@
+package jogo8.util;
+
+import java.util.Arrays;
+
+/**
+ * Arvore de caminhos armazenada em um unico vetor de <code>int</code>. Cada no
+ * guarda apenas o indice do seu pai e o movimento (de 0 a 3) que leva do pai
+ * ate ele, de forma que os estados de uma busca nao precisam manter uma
+ * referencia para o estado pai. O caminho ate qualquer no e reconstruido a
+ * partir da raiz, que e sempre o no 0.
+ * <p>
+ * Os nos nunca sao removidos: cada no ocupa 4 bytes ate a arvore ser limpa.
+ * 
+ * @author Jonathan Henrique de Souza
+ * 
+ */
+public class ArvoreCaminhos {
+
+	/**
+	 * Capacidade inicial default da arvore.
+	 */
+	private static final int CAPACIDADE_DEFAULT = 1024;
+
+	/**
+	 * Quantidade de bits utilizados pelo movimento em cada no.
+	 */
+	private static final int BITS_MOVIMENTO = 2;
+
+	/**
+	 * Mascara para extrair o movimento de um no.
+	 */
+	private static final int MASCARA_MOVIMENTO = (1 << BITS_MOVIMENTO) - 1;
+
+	/**
+	 * Maior quantidade de nos, limitada pelos bits restantes para o indice do
+	 * pai.
+	 */
+	private static final int MAXIMO_NOS = 1 << (31 - BITS_MOVIMENTO);
+
+	/**
+	 * Nos da arvore. A posicao <code>i</code> contem
+	 * <code>(pai &lt;&lt; 2) | movimento</code> do no <code>i</code>.
+	 */
+	private int[] nos;
+
+	/**
+	 * Quantidade de nos, incluindo a raiz.
+	 */
+	private int tamanho;
+
+	/**
+	 * Constroi uma nova arvore contendo apenas a raiz.
+	 */
+	public ArvoreCaminhos() {
+		nos = new int[CAPACIDADE_DEFAULT];
+		tamanho = 1;
+	}
+
+	/**
+	 * Adiciona um no na arvore.
+	 * 
+	 * @param pai
+	 *            O indice do no pai.
+	 * @param movimento
+	 *            O movimento que leva do pai ate o novo no, de 0 a 3.
+	 * @return O indice do novo no.
+	 */
+	public int adicionar(int pai, int movimento) {
+		if (tamanho == nos.length) {
+			if (tamanho == MAXIMO_NOS) {
+				throw new IllegalStateException("Arvore de caminhos cheia: " + tamanho + " nos");
+			}
+
+			nos = Arrays.copyOf(nos, (int) Math.min(MAXIMO_NOS, tamanho * 2L));
+		}
+
+		nos[tamanho] = (pai << BITS_MOVIMENTO) | movimento;
+
+		return tamanho++;
+	}
+
+	/**
+	 * Reconstroi os movimentos da raiz ate um no.
+	 * 
+	 * @param indice
+	 *            O indice do no.
+	 * @return Os movimentos, na ordem em que devem ser aplicados a partir da
+	 *         raiz.
+	 */
+	public int[] reconstruir(int indice) {
+		// Contar a profundidade do no
+		int profundidade = 0;
+		for (int i = indice; i != 0; i = nos[i] >>> BITS_MOVIMENTO) {
+			profundidade++;
+		}
+
+		int[] movimentos = new int[profundidade];
+
+		for (int i = indice; i != 0; i = nos[i] >>> BITS_MOVIMENTO) {
+			movimentos[--profundidade] = nos[i] & MASCARA_MOVIMENTO;
+		}
+
+		return movimentos;
+	}
+
+	/**
+	 * Retorna a quantidade de nos da arvore, incluindo a raiz.
+	 * 
+	 * @return O tamanho da arvore.
+	 */
+	public int size() {
+		return tamanho;
+	}
+
+	/**
+	 * Remove todos os nos, exceto a raiz, mantendo a memoria ja alocada.
+	 */
+	public void limpar() {
+		tamanho = 1;
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,215 @@
+package jogo8.util;
+
+import java.util.Arrays;
+
+/**
+ * Conjunto de valores <code>long</code> implementado como uma tabela hash de
+ * enderecamento aberto com sondagem linear. Os valores sao armazenados
+ * diretamente em um vetor primitivo, sem nenhum objeto por elemento.
+ * 
+ * @author Jonathan Henrique de Souza
+ * 
+ */
+public class ConjuntoLong {
+
+	/**
+	 * Capacidade inicial default da tabela.
+	 */
+	private static final int CAPACIDADE_DEFAULT = 1024;
+
+	/**
+	 * Fracao maxima da tabela que pode ser ocupada antes de redimensiona-la.
+	 */
+	private static final float FATOR_CARGA = 0.5f;
+
+	/**
+	 * Valor usado para marcar uma posicao livre da tabela. O proprio valor 0 e
+	 * armazenado separadamente em {@link #contemZero}.
+	 */
+	private static final long LIVRE = 0L;
+
+	/**
+	 * Tabela de valores.
+	 */
+	private long[] tabela;
+
+	/**
+	 * Indica se o valor 0 pertence ao conjunto.
+	 */
+	private boolean contemZero;
+
+	/**
+	 * Quantidade de valores armazenados.
+	 */
+	private int tamanho;
+
+	/**
+	 * Quantidade de valores a partir da qual a tabela sera redimensionada.
+	 */
+	private int limite;
+
+	/**
+	 * Constroi um novo conjunto vazio.
+	 */
+	public ConjuntoLong() {
+		this(CAPACIDADE_DEFAULT);
+	}
+
+	/**
+	 * Constroi um novo conjunto vazio capaz de armazenar a quantidade de
+	 * valores informada sem precisar ser redimensionado.
+	 * 
+	 * @param capacidade
+	 *            A quantidade de valores esperada.
+	 */
+	public ConjuntoLong(int capacidade) {
+		if (capacidade < 0) {
+			throw new IllegalArgumentException("capacidade negativa!");
+		}
+
+		alocar(calcularTamanhoTabela(capacidade));
+	}
+
+	/**
+	 * Adiciona um valor no conjunto.
+	 * 
+	 * @param valor
+	 *            O valor que sera adicionado.
+	 * @return <code>true</code> se o valor ainda nao pertencia ao conjunto,
+	 *         <code>false</code> caso contrario.
+	 */
+	public boolean adicionar(long valor) {
+		if (valor == LIVRE) {
+			if (contemZero) {
+				return false;
+			}
+
+			contemZero = true;
+			tamanho++;
+			return true;
+		}
+
+		int mascara = tabela.length - 1;
+		int i = HashUtils.misturar(valor) & mascara;
+
+		// Sondar ate encontrar o valor ou uma posicao livre
+		while (tabela[i] != LIVRE) {
+			if (tabela[i] == valor) {
+				return false;
+			}
+
+			i = (i + 1) & mascara;
+		}
+
+		tabela[i] = valor;
+
+		if (++tamanho > limite) {
+			redimensionar();
+		}
+
+		return true;
+	}
+
+	/**
+	 * Verifica se um valor pertence ao conjunto.
+	 * 
+	 * @param valor
+	 *            O valor que sera procurado.
+	 * @return <code>true</code> se o valor pertencer ao conjunto,
+	 *         <code>false</code> caso contrario.
+	 */
+	public boolean contem(long valor) {
+		if (valor == LIVRE) {
+			return contemZero;
+		}
+
+		int mascara = tabela.length - 1;
+		int i = HashUtils.misturar(valor) & mascara;
+
+		while (tabela[i] != LIVRE) {
+			if (tabela[i] == valor) {
+				return true;
+			}
+
+			i = (i + 1) & mascara;
+		}
+
+		return false;
+	}
+
+	/**
+	 * Retorna a quantidade de valores armazenados.
+	 * 
+	 * @return O tamanho do conjunto.
+	 */
+	public int size() {
+		return tamanho;
+	}
+
+	/**
+	 * Remove todos os valores do conjunto, mantendo a tabela ja alocada.
+	 */
+	public void limpar() {
+		Arrays.fill(tabela, LIVRE);
+		contemZero = false;
+		tamanho = 0;
+	}
+
+	/**
+	 * Dobra o tamanho da tabela, reinserindo todos os valores.
+	 */
+	private void redimensionar() {
+		long[] antiga = tabela;
+
+		alocar(antiga.length * 2);
+
+		int mascara = tabela.length - 1;
+
+		for (long valor : antiga) {
+			if (valor != LIVRE) {
+				int i = HashUtils.misturar(valor) & mascara;
+
+				while (tabela[i] != LIVRE) {
+					i = (i + 1) & mascara;
+				}
+
+				tabela[i] = valor;
+			}
+		}
+	}
+
+	/**
+	 * Aloca uma nova tabela vazia.
+	 * 
+	 * @param tamanhoTabela
+	 *            O tamanho da tabela, sempre uma potencia de 2.
+	 */
+	private void alocar(int tamanhoTabela) {
+		if (tamanhoTabela <= 0) {
+			throw new IllegalStateException("Capacidade maxima do conjunto excedida!");
+		}
+
+		tabela = new long[tamanhoTabela];
+		limite = (int) (tamanhoTabela * FATOR_CARGA);
+	}
+
+	/**
+	 * Calcula o tamanho da tabela necessario para armazenar uma quantidade de
+	 * valores.
+	 * 
+	 * @param capacidade
+	 *            A quantidade de valores esperada.
+	 * @return Uma potencia de 2 capaz de armazenar os valores.
+	 */
+	private static int calcularTamanhoTabela(int capacidade) {
+		long minimo = Math.max(2L, (long) Math.ceil(capacidade / FATOR_CARGA) + 1);
+
+		long tamanhoTabela = Long.highestOneBit(minimo - 1) << 1;
+
+		if (tamanhoTabela > (1 << 30)) {
+			throw new IllegalArgumentException("capacidade muito grande!");
+		}
+
+		return (int) tamanhoTabela;
+	}
+}
\ No newline at end of file
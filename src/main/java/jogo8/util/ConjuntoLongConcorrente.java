@@ -0,0 +1,113 @@
+package jogo8.util;
+
+/**
+ * Conjunto de valores <code>long</code> que pode ser utilizado por varias
+ * threads ao mesmo tempo. Os valores sao distribuidos entre varias faixas,
+ * cada uma um {@link ConjuntoLong} protegido por seu proprio bloqueio, de
+ * forma que threads que acessam faixas diferentes nao disputam o mesmo
+ * bloqueio.
+ * 
+ * @author Jonathan Henrique de Souza
+ * 
+ */
+public class ConjuntoLongConcorrente {
+
+	/**
+	 * Faixas do conjunto. A quantidade e sempre uma potencia de 2.
+	 */
+	private final ConjuntoLong[] faixas;
+
+	/**
+	 * Deslocamento aplicado ao hash para escolher a faixa. Utiliza os bits
+	 * mais altos, pois os mais baixos escolhem a posicao dentro da faixa.
+	 */
+	private final int deslocamento;
+
+	/**
+	 * Constroi um novo conjunto vazio.
+	 * 
+	 * @param quantidadeFaixas
+	 *            A quantidade minima de faixas. Recomenda-se algumas vezes a
+	 *            quantidade de threads.
+	 */
+	public ConjuntoLongConcorrente(int quantidadeFaixas) {
+		if (quantidadeFaixas < 1) {
+			throw new IllegalArgumentException("quantidadeFaixas < 1");
+		}
+
+		int bits = 32 - Integer.numberOfLeadingZeros(quantidadeFaixas - 1);
+
+		faixas = new ConjuntoLong[1 << bits];
+		deslocamento = 64 - bits;
+
+		for (int i = 0; i < faixas.length; i++) {
+			faixas[i] = new ConjuntoLong();
+		}
+	}
+
+	/**
+	 * Adiciona um valor no conjunto.
+	 * 
+	 * @param valor
+	 *            O valor que sera adicionado.
+	 * @return <code>true</code> se o valor ainda nao pertencia ao conjunto,
+	 *         <code>false</code> caso contrario.
+	 */
+	public boolean adicionar(long valor) {
+		ConjuntoLong faixa = faixa(valor);
+
+		synchronized (faixa) {
+			return faixa.adicionar(valor);
+		}
+	}
+
+	/**
+	 * Verifica se um valor pertence ao conjunto.
+	 * 
+	 * @param valor
+	 *            O valor que sera procurado.
+	 * @return <code>true</code> se o valor ja foi adicionado,
+	 *         <code>false</code> caso contrario.
+	 */
+	public boolean contem(long valor) {
+		ConjuntoLong faixa = faixa(valor);
+
+		synchronized (faixa) {
+			return faixa.contem(valor);
+		}
+	}
+
+	/**
+	 * Retorna a quantidade de valores presentes no conjunto. O resultado so e
+	 * exato se nenhuma outra thread estiver adicionando valores.
+	 * 
+	 * @return O tamanho do conjunto.
+	 */
+	public long size() {
+		long tamanho = 0;
+
+		for (ConjuntoLong faixa : faixas) {
+			synchronized (faixa) {
+				tamanho += faixa.size();
+			}
+		}
+
+		return tamanho;
+	}
+
+	/**
+	 * Retorna a faixa responsavel por um valor.
+	 * 
+	 * @param valor
+	 *            O valor.
+	 * @return A faixa.
+	 */
+	private ConjuntoLong faixa(long valor) {
+		if (deslocamento == 64) {
+			return faixas[0]; // Uma unica faixa
+		}
+
+		return faixas[(int) (HashUtils.misturar64(valor) >>> deslocamento)];
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,38 @@
+package jogo8.util;
+
+/**
+ * Classe utilitaria para calculo de hashes a partir de codigos compactados.
+ * 
+ * @author Jonathan Henrique de Souza
+ * 
+ */
+public class HashUtils {
+
+	/**
+	 * Espalha os bits de um codigo (finalizador do MurmurHash3), de forma que
+	 * codigos parecidos gerem hashes bem distribuidos.
+	 * 
+	 * @param codigo
+	 *            O codigo que sera misturado.
+	 * @return O codigo com os bits espalhados.
+	 */
+	public static long misturar64(long codigo) {
+		codigo ^= codigo >>> 33;
+		codigo *= 0xff51afd7ed558ccdL;
+		codigo ^= codigo >>> 33;
+		codigo *= 0xc4ceb9fe1a85ec53L;
+		codigo ^= codigo >>> 33;
+		return codigo;
+	}
+
+	/**
+	 * Calcula um hash de 32 bits a partir de um codigo de 64 bits.
+	 * 
+	 * @param codigo
+	 *            O codigo que sera misturado.
+	 * @return O hash do codigo.
+	 */
+	public static int misturar(long codigo) {
+		return (int) misturar64(codigo);
+	}
+}
\ No newline at end of file
@@ -0,0 +1,47 @@
+package jogo8.util;
+
+import java.lang.management.ManagementFactory;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Classe utilitaria para publicar objetos no servidor JMX da plataforma, de
+ * forma que possam ser acompanhados por ferramentas como o JConsole.
+ * 
+ * @author Jonathan Henrique de Souza
+ * 
+ */
+public class JmxUtils {
+
+	/**
+	 * Registra um MBean com o nome <code>jogo8:type=Busca,name=nome</code>. Se
+	 * ja existir um MBean com o mesmo nome, ele e substituido.
+	 * 
+	 * @param mbean
+	 *            O objeto que sera registrado. Deve implementar uma interface
+	 *            com o sufixo <code>MBean</code>.
+	 * @param nome
+	 *            O nome do objeto.
+	 * @return O nome completo do objeto registrado.
+	 */
+	public static ObjectName registrar(Object mbean, String nome) {
+		MBeanServer servidor = ManagementFactory.getPlatformMBeanServer();
+
+		try {
+			ObjectName nomeObjeto = new ObjectName("jogo8:type=Busca,name=" + ObjectName.quote(nome));
+
+			if (servidor.isRegistered(nomeObjeto)) {
+				servidor.unregisterMBean(nomeObjeto);
+			}
+
+			servidor.registerMBean(mbean, nomeObjeto);
+
+			return nomeObjeto;
+		} catch (JMException e) {
+			throw new IllegalArgumentException("Nao foi possivel registrar o MBean " + nome, e);
+		}
+	}
+
+}
\ No newline at end of file
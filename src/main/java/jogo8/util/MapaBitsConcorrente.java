@@ -0,0 +1,65 @@
+package jogo8.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Mapa de bits de tamanho fixo que pode ser marcado por varias threads ao
+ * mesmo tempo, sem bloqueios.
+ * 
+ * @author Jonathan Henrique de Souza
+ * 
+ */
+public class MapaBitsConcorrente {
+
+	/**
+	 * Bits do mapa, 64 por posicao.
+	 */
+	private final AtomicLongArray bits;
+
+	/**
+	 * Constroi um novo mapa com todos os bits desmarcados.
+	 * 
+	 * @param tamanho
+	 *            A quantidade de bits.
+	 */
+	public MapaBitsConcorrente(long tamanho) {
+		bits = new AtomicLongArray((int) ((tamanho + 63) >>> 6));
+	}
+
+	/**
+	 * Marca um bit.
+	 * 
+	 * @param indice
+	 *            O indice do bit.
+	 * @return <code>true</code> se o bit foi marcado por esta chamada,
+	 *         <code>false</code> se ja estava marcado.
+	 */
+	public boolean marcar(long indice) {
+		int posicao = (int) (indice >>> 6);
+		long mascara = 1L << indice;
+
+		while (true) {
+			long atual = bits.get(posicao);
+
+			if ((atual & mascara) != 0) {
+				return false;
+			}
+
+			if (bits.compareAndSet(posicao, atual, atual | mascara)) {
+				return true;
+			}
+		}
+	}
+
+	/**
+	 * Verifica se um bit esta marcado.
+	 * 
+	 * @param indice
+	 *            O indice do bit.
+	 * @return <code>true</code> se o bit esta marcado.
+	 */
+	public boolean isMarcado(long indice) {
+		return (bits.get((int) (indice >>> 6)) & (1L << indice)) != 0;
+	}
+
+}
\ No newline at end of file
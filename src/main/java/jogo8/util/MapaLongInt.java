@@ -0,0 +1,243 @@
+package jogo8.util;
+
+import java.util.Arrays;
+
+/**
+ * Mapa de chaves <code>long</code> para valores <code>int</code> implementado
+ * como uma tabela hash de enderecamento aberto com sondagem linear. Chaves e
+ * valores sao armazenados em vetores primitivos, sem nenhum objeto por
+ * elemento.
+ * 
+ * @author Jonathan Henrique de Souza
+ * 
+ */
+public class MapaLongInt {
+
+	/**
+	 * Capacidade inicial default da tabela.
+	 */
+	private static final int CAPACIDADE_DEFAULT = 1024;
+
+	/**
+	 * Fracao maxima da tabela que pode ser ocupada antes de redimensiona-la.
+	 */
+	private static final float FATOR_CARGA = 0.5f;
+
+	/**
+	 * Valor usado para marcar uma posicao livre da tabela. O valor associado a
+	 * chave 0 e armazenado separadamente em {@link #valorZero}.
+	 */
+	private static final long LIVRE = 0L;
+
+	/**
+	 * Tabela de chaves.
+	 */
+	private long[] chaves;
+
+	/**
+	 * Tabela de valores, paralela a tabela de chaves.
+	 */
+	private int[] valores;
+
+	/**
+	 * Indica se a chave 0 pertence ao mapa.
+	 */
+	private boolean contemZero;
+
+	/**
+	 * Valor associado a chave 0.
+	 */
+	private int valorZero;
+
+	/**
+	 * Quantidade de chaves armazenadas.
+	 */
+	private int tamanho;
+
+	/**
+	 * Quantidade de chaves a partir da qual a tabela sera redimensionada.
+	 */
+	private int limite;
+
+	/**
+	 * Constroi um novo mapa vazio.
+	 */
+	public MapaLongInt() {
+		this(CAPACIDADE_DEFAULT);
+	}
+
+	/**
+	 * Constroi um novo mapa vazio capaz de armazenar a quantidade de chaves
+	 * informada sem precisar ser redimensionado.
+	 * 
+	 * @param capacidade
+	 *            A quantidade de chaves esperada.
+	 */
+	public MapaLongInt(int capacidade) {
+		if (capacidade < 0) {
+			throw new IllegalArgumentException("capacidade negativa!");
+		}
+
+		long minimo = Math.max(2L, (long) Math.ceil(capacidade / FATOR_CARGA) + 1);
+		long tamanhoTabela = Long.highestOneBit(minimo - 1) << 1;
+
+		if (tamanhoTabela > (1 << 30)) {
+			throw new IllegalArgumentException("capacidade muito grande!");
+		}
+
+		alocar((int) tamanhoTabela);
+	}
+
+	/**
+	 * Retorna o valor associado a uma chave.
+	 * 
+	 * @param chave
+	 *            A chave que sera procurada.
+	 * @param padrao
+	 *            O valor retornado caso a chave nao pertenca ao mapa.
+	 * @return O valor associado a chave ou <code>padrao</code>.
+	 */
+	public int obter(long chave, int padrao) {
+		if (chave == LIVRE) {
+			return contemZero ? valorZero : padrao;
+		}
+
+		int mascara = chaves.length - 1;
+		int i = HashUtils.misturar(chave) & mascara;
+
+		while (chaves[i] != LIVRE) {
+			if (chaves[i] == chave) {
+				return valores[i];
+			}
+
+			i = (i + 1) & mascara;
+		}
+
+		return padrao;
+	}
+
+	/**
+	 * Verifica se uma chave pertence ao mapa.
+	 * 
+	 * @param chave
+	 *            A chave que sera procurada.
+	 * @return <code>true</code> se a chave pertencer ao mapa,
+	 *         <code>false</code> caso contrario.
+	 */
+	public boolean contem(long chave) {
+		if (chave == LIVRE) {
+			return contemZero;
+		}
+
+		int mascara = chaves.length - 1;
+		int i = HashUtils.misturar(chave) & mascara;
+
+		while (chaves[i] != LIVRE) {
+			if (chaves[i] == chave) {
+				return true;
+			}
+
+			i = (i + 1) & mascara;
+		}
+
+		return false;
+	}
+
+	/**
+	 * Associa um valor a uma chave, substituindo o valor anterior se houver.
+	 * 
+	 * @param chave
+	 *            A chave.
+	 * @param valor
+	 *            O valor que sera associado a chave.
+	 */
+	public void colocar(long chave, int valor) {
+		if (chave == LIVRE) {
+			if (!contemZero) {
+				contemZero = true;
+				tamanho++;
+			}
+
+			valorZero = valor;
+			return;
+		}
+
+		int mascara = chaves.length - 1;
+		int i = HashUtils.misturar(chave) & mascara;
+
+		while (chaves[i] != LIVRE) {
+			if (chaves[i] == chave) {
+				valores[i] = valor;
+				return;
+			}
+
+			i = (i + 1) & mascara;
+		}
+
+		chaves[i] = chave;
+		valores[i] = valor;
+
+		if (++tamanho > limite) {
+			redimensionar();
+		}
+	}
+
+	/**
+	 * Retorna a quantidade de chaves armazenadas.
+	 * 
+	 * @return O tamanho do mapa.
+	 */
+	public int size() {
+		return tamanho;
+	}
+
+	/**
+	 * Remove todas as chaves do mapa, mantendo a tabela ja alocada.
+	 */
+	public void limpar() {
+		Arrays.fill(chaves, LIVRE);
+		contemZero = false;
+		tamanho = 0;
+	}
+
+	/**
+	 * Dobra o tamanho da tabela, reinserindo todas as chaves.
+	 */
+	private void redimensionar() {
+		long[] chavesAntigas = chaves;
+		int[] valoresAntigos = valores;
+
+		alocar(chavesAntigas.length * 2);
+
+		int mascara = chaves.length - 1;
+
+		for (int j = 0; j < chavesAntigas.length; j++) {
+			if (chavesAntigas[j] != LIVRE) {
+				int i = HashUtils.misturar(chavesAntigas[j]) & mascara;
+
+				while (chaves[i] != LIVRE) {
+					i = (i + 1) & mascara;
+				}
+
+				chaves[i] = chavesAntigas[j];
+				valores[i] = valoresAntigos[j];
+			}
+		}
+	}
+
+	/**
+	 * Aloca novas tabelas vazias.
+	 * 
+	 * @param tamanhoTabela
+	 *            O tamanho das tabelas, sempre uma potencia de 2.
+	 */
+	private void alocar(int tamanhoTabela) {
+		if (tamanhoTabela <= 0) {
+			throw new IllegalStateException("Capacidade maxima do mapa excedida!");
+		}
+
+		chaves = new long[tamanhoTabela];
+		valores = new int[tamanhoTabela];
+		limite = (int) (tamanhoTabela * FATOR_CARGA);
+	}
+}
\ No newline at end of file
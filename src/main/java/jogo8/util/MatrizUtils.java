@@ -13,6 +13,11 @@ import java.util.List;
  */
 public class MatrizUtils {
 
+	/**
+	 * Dimensao das matrizes do Jogo do 8.
+	 */
+	private static final int DIMENSAO_JOGO8 = 3;
+
 	/**
 	 * Criar uma matriz 3x3. Suas celular terao valores de 1 a 8 e mais uma
 	 * celula vazia. Suas posicoes serao randomicas.
@@ -20,31 +25,139 @@ public class MatrizUtils {
 	 * @return Uma matriz 3x3 com valores randomicos.
 	 */
 	public static Integer[][] gerarMatrizRandomica() {
-		// Lista contendo os valores do jogo do 8
+		return MatrizUtils.gerarMatrizRandomica(DIMENSAO_JOGO8);
+	}
+
+	/**
+	 * Criar uma matriz NxN. Suas celulas terao valores de 1 a N*N - 1 e mais
+	 * uma celula vazia. Suas posicoes serao randomicas.
+	 * 
+	 * @param dimensao
+	 *            A quantidade de linhas e colunas da matriz.
+	 * @return Uma matriz NxN com valores randomicos.
+	 */
+	public static Integer[][] gerarMatrizRandomica(int dimensao) {
+		// Lista contendo os valores do jogo
 		List<Integer> numeros = new ArrayList<Integer>();
 
-		// Adicionar possiveis valores presentes no Jogo do 8
-		numeros.add(1);
-		numeros.add(2);
-		numeros.add(3);
-		numeros.add(4);
-		numeros.add(5);
-		numeros.add(6);
-		numeros.add(7);
-		numeros.add(8);
+		// Adicionar possiveis valores presentes no jogo
+		for (int i = 1; i < dimensao * dimensao; i++) {
+			numeros.add(i);
+		}
 		numeros.add(null); // Celula vazia
 
 		// Embaralahar lista
 		Collections.shuffle(numeros);
 
-		// Transformar lista em array
-		Integer[] matriz = numeros.toArray(new Integer[numeros.size()]);
+		// Criar e retornar matriz
+		return MatrizUtils.criarMatriz(numeros, dimensao);
+	}
 
-		// Criar matriz
-		Integer[][] resultado = new Integer[][] { { matriz[0], matriz[1], matriz[2] }, { matriz[3], matriz[4], matriz[5] }, { matriz[6], matriz[7], matriz[8] } };
+	/**
+	 * Criar uma matriz randomica, com as mesmas dimensoes do estado final,
+	 * garantindo que o estado final possa ser alcancado a partir dela (ver
+	 * {@link #isSolucionavel(Integer[][], Integer[][])}).
+	 * 
+	 * @param estadoFinal
+	 *            O estado final que devera ser alcancavel.
+	 * @return Uma matriz NxN com valores randomicos e solucionavel.
+	 */
+	public static Integer[][] gerarMatrizRandomicaSolucionavel(Integer[][] estadoFinal) {
+		int dimensao = estadoFinal.length;
 
-		// Retornar resultado
-		return resultado;
+		Integer[][] matriz = MatrizUtils.gerarMatrizRandomica(dimensao);
+
+		if (!MatrizUtils.isSolucionavel(matriz, estadoFinal)) {
+			// Trocar duas pecas de lugar inverte a paridade da matriz. As duas
+			// primeiras celulas nao vazias sao trocadas.
+			int primeira = -1;
+
+			for (int posicao = 0; posicao < dimensao * dimensao; posicao++) {
+				if (matriz[posicao / dimensao][posicao % dimensao] == null) {
+					continue;
+				}
+
+				if (primeira == -1) {
+					primeira = posicao;
+				} else {
+					Integer temp = matriz[primeira / dimensao][primeira % dimensao];
+					matriz[primeira / dimensao][primeira % dimensao] = matriz[posicao / dimensao][posicao % dimensao];
+					matriz[posicao / dimensao][posicao % dimensao] = temp;
+					break;
+				}
+			}
+		}
+
+		return matriz;
+	}
+
+	/**
+	 * Verifica se o estado final pode ser alcancado a partir do estado inicial.
+	 * Cada movimento altera a paridade da permutacao das pecas de acordo com a
+	 * dimensao do tabuleiro: em dimensoes impares a paridade das inversoes
+	 * nunca muda; em dimensoes pares, a paridade das inversoes somada a linha
+	 * da celula vazia nunca muda. Os dois estados sao solucionaveis entre si
+	 * se, e somente se, possuem o mesmo invariante.
+	 * 
+	 * @param inicial
+	 *            A matriz do estado inicial.
+	 * @param estadoFinal
+	 *            A matriz do estado final.
+	 * @return <code>true</code> se o estado final puder ser alcancado,
+	 *         <code>false</code> caso contrario.
+	 * @throws IllegalArgumentException
+	 *             Caso as matrizes sejam nulas, nao sejam quadradas ou possuam
+	 *             dimensoes diferentes.
+	 */
+	public static boolean isSolucionavel(Integer[][] inicial, Integer[][] estadoFinal) {
+		MatrizUtils.validar(inicial);
+		MatrizUtils.validar(estadoFinal);
+
+		if (inicial.length != estadoFinal.length) {
+			throw new IllegalArgumentException("inicial.length != estadoFinal.length");
+		}
+
+		return MatrizUtils.calcularInvariante(inicial) == MatrizUtils.calcularInvariante(estadoFinal);
+	}
+
+	/**
+	 * Calcula o invariante de paridade de uma matriz (ver
+	 * {@link #isSolucionavel(Integer[][], Integer[][])}).
+	 * 
+	 * @param matriz
+	 *            A matriz que sera analisada.
+	 * @return 0 ou 1.
+	 */
+	private static int calcularInvariante(Integer[][] matriz) {
+		int dimensao = matriz.length;
+		int totalCelulas = dimensao * dimensao;
+
+		int inversoes = 0;
+		int linhaVazio = 0;
+
+		for (int i = 0; i < totalCelulas; i++) {
+			Integer valor = matriz[i / dimensao][i % dimensao];
+
+			if (valor == null) {
+				linhaVazio = i / dimensao;
+				continue;
+			}
+
+			// Contar as pecas seguintes menores que esta
+			for (int j = i + 1; j < totalCelulas; j++) {
+				Integer outro = matriz[j / dimensao][j % dimensao];
+
+				if (outro != null && outro < valor) {
+					inversoes++;
+				}
+			}
+		}
+
+		if (dimensao % 2 == 0) {
+			return (inversoes + linhaVazio) % 2;
+		}
+
+		return inversoes % 2;
 	}
 
 	/**
@@ -54,41 +167,42 @@ public class MatrizUtils {
 	 *            A matriz que sera transformada em {@link String}.
 	 * @return Uma {@link String} que representara visualmente a matriz.
 	 * @throws IllegalArgumentException
-	 *             Caso a matriz seja nula ou se a matriz for diferente do
-	 *             formato 3x3.
+	 *             Caso a matriz seja nula ou nao seja quadrada.
 	 */
 	public static String print(Integer[][] matriz) {
-		// Verificar se a matriz e nula
-		if (matriz == null) {
-			throw new IllegalArgumentException("matriz nula!");
-		}
+		MatrizUtils.validar(matriz);
 
-		// Verificar o tamanho da matriz
-		for (int i = 0; i < matriz.length; i++) {
-			if (matriz[i].length != 3) {
-				throw new IllegalArgumentException("matriz[" + i + "].lenght e diferente de 3!");
+		int dimensao = matriz.length;
+
+		// Largura das celulas: quantidade de digitos do maior numero
+		int largura = String.valueOf(dimensao * dimensao - 1).length();
+
+		// Criar linha separadora
+		StringBuilder separador = new StringBuilder("+");
+		for (int j = 0; j < dimensao; j++) {
+			for (int k = 0; k < largura + 2; k++) {
+				separador.append('-');
 			}
+			separador.append('+');
 		}
 
 		// Criar StringBuilder
 		StringBuilder stringBuilder = new StringBuilder();
 
 		// Criar string resultado
-		stringBuilder.append("+---+---+---+");
-		stringBuilder.append("\n");
-		stringBuilder.append(String.format("| %1s | %1s | %1s |", MatrizUtils.transformarCelula(matriz[0][0]), MatrizUtils.transformarCelula(matriz[0][1]), MatrizUtils.transformarCelula(matriz[0][2])));
-		stringBuilder.append("\n");
-		stringBuilder.append("+---+---+---+");
-		stringBuilder.append("\n");
-		stringBuilder.append(String.format("| %1s | %1s | %1s |", MatrizUtils.transformarCelula(matriz[1][0]), MatrizUtils.transformarCelula(matriz[1][1]), MatrizUtils.transformarCelula(matriz[1][2])));
-		stringBuilder.append("\n");
-		stringBuilder.append("+---+---+---+");
-		stringBuilder.append("\n");
-		stringBuilder.append(String.format("| %1s | %1s | %1s |", MatrizUtils.transformarCelula(matriz[2][0]), MatrizUtils.transformarCelula(matriz[2][1]), MatrizUtils.transformarCelula(matriz[2][2])));
-		stringBuilder.append("\n");
-		stringBuilder.append("+---+---+---+");
+		stringBuilder.append(separador);
 		stringBuilder.append("\n");
 
+		for (int i = 0; i < dimensao; i++) {
+			stringBuilder.append("|");
+			for (int j = 0; j < dimensao; j++) {
+				stringBuilder.append(String.format(" %" + largura + "s |", MatrizUtils.transformarCelula(matriz[i][j])));
+			}
+			stringBuilder.append("\n");
+			stringBuilder.append(separador);
+			stringBuilder.append("\n");
+		}
+
 		// Retornar resultado
 		return stringBuilder.toString();
 	}
@@ -119,24 +233,18 @@ public class MatrizUtils {
 	 *            A matriz que sera copiada.
 	 * @return Uma copia da matriz informada.
 	 * @throws IllegalArgumentException
-	 *             Caso a matriz seja nula ou se a matriz for diferente do
-	 *             formato 3x3.
+	 *             Caso a matriz seja nula ou nao seja quadrada.
 	 */
 	public static Integer[][] copiar(Integer[][] matriz) {
-		// Verificar se a matriz e nula
-		if (matriz == null) {
-			throw new IllegalArgumentException("matriz nula!");
-		}
+		MatrizUtils.validar(matriz);
 
-		// Verificar o tamanho da matriz
+		// Construir e retornar matriz resultado
+		Integer[][] copia = new Integer[matriz.length][];
 		for (int i = 0; i < matriz.length; i++) {
-			if (matriz[i].length != 3) {
-				throw new IllegalArgumentException("matriz[" + i + "].lenght e diferente de 3!");
-			}
+			copia[i] = matriz[i].clone();
 		}
 
-		// Construir e retornar matriz resultado
-		return new Integer[][] { { matriz[0][0], matriz[0][1], matriz[0][2] }, { matriz[1][0], matriz[1][1], matriz[1][2] }, { matriz[2][0], matriz[2][1], matriz[2][2] } };
+		return copia;
 	}
 
 	/**
@@ -177,4 +285,148 @@ public class MatrizUtils {
 		Integer[][] estadoFinal = { { 1, 2, 3 }, { 8, null, 4 }, { 7, 6, 5 } };
 		return estadoFinal;
 	}
+
+	/**
+	 * Cria um estado final NxN em espiral: os numeros sao dispostos no sentido
+	 * horario a partir do canto superior esquerdo e a celula vazia ocupa a
+	 * ultima posicao da espiral. Para N = 3, e o mesmo estado de
+	 * {@link #criarEstadoFinal()}.
+	 * 
+	 * @param dimensao
+	 *            A quantidade de linhas e colunas da matriz.
+	 * @return Uma matriz representando o estado final.
+	 */
+	public static Integer[][] criarEstadoFinal(int dimensao) {
+		Integer[][] estadoFinal = new Integer[dimensao][dimensao];
+
+		// Deslocamentos na ordem: direita, baixo, esquerda, cima
+		int[] deslocamentoLinha = { 0, 1, 0, -1 };
+		int[] deslocamentoColuna = { 1, 0, -1, 0 };
+
+		int linha = 0;
+		int coluna = 0;
+		int direcao = 0;
+
+		for (int numero = 1; numero < dimensao * dimensao; numero++) {
+			estadoFinal[linha][coluna] = numero;
+
+			int proximaLinha = linha + deslocamentoLinha[direcao];
+			int proximaColuna = coluna + deslocamentoColuna[direcao];
+
+			// Virar ao encontrar a borda ou uma celula ja preenchida
+			if (proximaLinha < 0 || proximaLinha >= dimensao || proximaColuna < 0 || proximaColuna >= dimensao || estadoFinal[proximaLinha][proximaColuna] != null) {
+				direcao = (direcao + 1) % 4;
+				proximaLinha = linha + deslocamentoLinha[direcao];
+				proximaColuna = coluna + deslocamentoColuna[direcao];
+			}
+
+			linha = proximaLinha;
+			coluna = proximaColuna;
+		}
+
+		// A ultima celula da espiral permanece vazia
+		return estadoFinal;
+	}
+
+	/**
+	 * Cria um estado final NxN ordenado: os numeros sao dispostos linha a
+	 * linha e a celula vazia ocupa o canto inferior direito. E o estado final
+	 * usual do Jogo do 15.
+	 * 
+	 * @param dimensao
+	 *            A quantidade de linhas e colunas da matriz.
+	 * @return Uma matriz representando o estado final.
+	 */
+	public static Integer[][] criarEstadoFinalOrdenado(int dimensao) {
+		List<Integer> numeros = new ArrayList<Integer>();
+
+		for (int i = 1; i < dimensao * dimensao; i++) {
+			numeros.add(i);
+		}
+		numeros.add(null); // Celula vazia
+
+		return MatrizUtils.criarMatriz(numeros, dimensao);
+	}
+
+	/**
+	 * Cria uma matriz a partir de uma linha de texto contendo os valores das
+	 * celulas, linha a linha, separados por espacos ou virgulas. A celula vazia
+	 * e representada por <code>0</code>. Exemplo: <code>1 2 3 8 0 4 7 6
+	 * 5</code>.
+	 * 
+	 * @param linha
+	 *            A linha de texto.
+	 * @return A matriz criada.
+	 * @throws IllegalArgumentException
+	 *             Caso a quantidade de valores nao seja um quadrado perfeito ou
+	 *             algum valor nao seja numerico.
+	 */
+	public static Integer[][] lerMatriz(String linha) {
+		String[] valores = linha.trim().split("[\\s,]+");
+
+		int dimensao = (int) Math.round(Math.sqrt(valores.length));
+
+		if (dimensao * dimensao != valores.length) {
+			throw new IllegalArgumentException("Quantidade de valores nao forma uma matriz quadrada: " + valores.length);
+		}
+
+		List<Integer> numeros = new ArrayList<Integer>(valores.length);
+
+		for (String valor : valores) {
+			int numero;
+
+			try {
+				numero = Integer.parseInt(valor);
+			} catch (NumberFormatException e) {
+				throw new IllegalArgumentException("Valor invalido: " + valor, e);
+			}
+
+			numeros.add(numero == 0 ? null : numero); // 0 representa a celula vazia
+		}
+
+		return MatrizUtils.criarMatriz(numeros, dimensao);
+	}
+
+	/**
+	 * Distribui uma lista de valores, linha a linha, em uma matriz NxN.
+	 * 
+	 * @param numeros
+	 *            Os valores da matriz.
+	 * @param dimensao
+	 *            A quantidade de linhas e colunas da matriz.
+	 * @return A matriz criada.
+	 */
+	private static Integer[][] criarMatriz(List<Integer> numeros, int dimensao) {
+		Integer[][] resultado = new Integer[dimensao][dimensao];
+
+		for (int i = 0; i < dimensao; i++) {
+			for (int j = 0; j < dimensao; j++) {
+				resultado[i][j] = numeros.get(i * dimensao + j);
+			}
+		}
+
+		return resultado;
+	}
+
+	/**
+	 * Verifica se uma matriz nao e nula e se e quadrada.
+	 * 
+	 * @param matriz
+	 *            A matriz que sera verificada.
+	 * @throws IllegalArgumentException
+	 *             Caso a matriz seja nula ou nao seja quadrada.
+	 */
+	private static void validar(Integer[][] matriz) {
+		// Verificar se a matriz e nula
+		if (matriz == null) {
+			throw new IllegalArgumentException("matriz nula!");
+		}
+
+		// Verificar o tamanho da matriz
+		for (int i = 0; i < matriz.length; i++) {
+			if (matriz[i].length != matriz.length) {
+				throw new IllegalArgumentException("matriz[" + i + "].lenght e diferente de " + matriz.length + "!");
+			}
+		}
+	}
 }
\ No newline at end of file
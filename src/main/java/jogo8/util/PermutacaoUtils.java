@@ -0,0 +1,66 @@
+package jogo8.util;
+
+/**
+ * Classe utilitaria para o calculo do ranking (codigo de Lehmer) de
+ * permutacoes compactadas em um <code>long</code>, com 4 bits por elemento.
+ * 
+ * @author Jonathan Henrique de Souza
+ * 
+ */
+public class PermutacaoUtils {
+
+	/**
+	 * Fatoriais de 0 a 16.
+	 */
+	private static final long[] FATORIAIS = new long[17];
+
+	static {
+		FATORIAIS[0] = 1;
+		for (int i = 1; i < FATORIAIS.length; i++) {
+			FATORIAIS[i] = FATORIAIS[i - 1] * i;
+		}
+	}
+
+	/**
+	 * Retorna o fatorial de um numero.
+	 * 
+	 * @param n
+	 *            Um numero de 0 a 16.
+	 * @return O fatorial de <code>n</code>.
+	 */
+	public static long fatorial(int n) {
+		return FATORIAIS[n];
+	}
+
+	/**
+	 * Calcula o ranking de uma permutacao dos valores de 0 a
+	 * <code>n - 1</code>, compactada com 4 bits por elemento (o elemento da
+	 * posicao <code>i</code> ocupa os bits a partir de <code>4 * i</code>). O
+	 * ranking e o indice da permutacao na ordem lexicografica, no intervalo
+	 * <code>[0, n!)</code>.
+	 * 
+	 * @param codigo
+	 *            A permutacao compactada.
+	 * @param n
+	 *            A quantidade de elementos da permutacao (no maximo 16).
+	 * @return O ranking da permutacao.
+	 */
+	public static long ranquear(long codigo, int n) {
+		long ranking = 0;
+
+		// Valores ja utilizados pelas posicoes anteriores
+		int utilizados = 0;
+
+		for (int i = 0; i < n; i++) {
+			int valor = (int) ((codigo >>> (i * 4)) & 0xFL);
+
+			// Quantidade de valores menores que ainda nao foram utilizados
+			int menores = valor - Integer.bitCount(utilizados & ((1 << valor) - 1));
+
+			ranking += menores * FATORIAIS[n - 1 - i];
+			utilizados |= 1 << valor;
+		}
+
+		return ranking;
+	}
+}
\ No newline at end of file